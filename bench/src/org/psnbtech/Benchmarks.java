@@ -0,0 +1,40 @@
+package org.psnbtech;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@code Benchmarks} class runs the benchmark suite. It takes the same
+ * command line options as JMH itself, but unless told otherwise it also writes
+ * the results as JSON, so that runs from different commits can be compared by
+ * a script.
+ */
+public class Benchmarks {
+
+	/**
+	 * The file the results are written to if no other file is given.
+	 */
+	private static final String DEFAULT_RESULT_FILE = "bench-results.json";
+
+	/**
+	 * Entry-point of the benchmarks.
+	 * @param args The JMH command line options, for example a regular
+	 * expression that picks which benchmarks to run.
+	 * @throws Exception If the options are invalid or a benchmark fails.
+	 */
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions options = new CommandLineOptions(args);
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(options);
+		if(!options.getResultFormat().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+		}
+		if(!options.getResult().hasValue()) {
+			builder.result(DEFAULT_RESULT_FILE);
+		}
+		new Runner(builder.build()).run();
+	}
+
+}
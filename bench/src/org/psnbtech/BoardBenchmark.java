@@ -0,0 +1,162 @@
+package org.psnbtech;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code BoardBenchmark} class measures the collision checks and piece
+ * placement that the engine runs every frame, on an empty board, a board from
+ * early in a game, and a nearly full one.
+ * <p>
+ * Each call looks at the next of a fixed set of random placements, so that the
+ * JIT can't fold the work away and branch prediction sees a realistic mix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+	/**
+	 * The number of placements to cycle through. This must be a power of two.
+	 */
+	private static final int PLACEMENT_COUNT = 1024;
+
+	/**
+	 * The board to run against.
+	 */
+	@Param({"empty", "sparse", "dense"})
+	public String fixture;
+
+	/**
+	 * The board that is reset before each placement.
+	 */
+	private Board original;
+
+	/**
+	 * The board that the benchmarks run on.
+	 */
+	private Board board;
+
+	/**
+	 * The type of piece of each placement.
+	 */
+	private TileType[] types;
+
+	/**
+	 * The column of each placement.
+	 */
+	private int[] cols;
+
+	/**
+	 * The row of each placement.
+	 */
+	private int[] rows;
+
+	/**
+	 * The rotation of each placement.
+	 */
+	private int[] rotations;
+
+	/**
+	 * The index of the next placement.
+	 */
+	private int next;
+
+	/**
+	 * Builds the board and picks every placement. Each placement is within the
+	 * board, but may overlap the stack.
+	 */
+	@Setup
+	public void setup() {
+		this.original = BoardFixtures.create(fixture);
+		this.board = BoardFixtures.create(fixture);
+		this.types = new TileType[PLACEMENT_COUNT];
+		this.cols = new int[PLACEMENT_COUNT];
+		this.rows = new int[PLACEMENT_COUNT];
+		this.rotations = new int[PLACEMENT_COUNT];
+
+		SplittableRandom random = new SplittableRandom(1L);
+		TileType[] values = TileType.values();
+		for(int i = 0; i < PLACEMENT_COUNT; i++) {
+			TileType type = values[random.nextInt(values.length)];
+			int rotation = random.nextInt(4);
+			PieceShape shape = type.getShape(rotation);
+			types[i] = type;
+			rotations[i] = rotation;
+			cols[i] = random.nextInt(shape.getMinCol(), shape.getMaxCol() + 1);
+			rows[i] = random.nextInt(shape.getMinRow(), shape.getMaxRow() + 1);
+		}
+	}
+
+	/**
+	 * Moves on to the next placement.
+	 * @return The index of the placement.
+	 */
+	private int nextPlacement() {
+		int i = next;
+		this.next = (i + 1) & (PLACEMENT_COUNT - 1);
+		return i;
+	}
+
+	/**
+	 * Measures a single collision check.
+	 * @return Whether or not the placement was valid.
+	 */
+	@Benchmark
+	public boolean isValidAndEmpty() {
+		int i = nextPlacement();
+		return board.isValidAndEmpty(types[i], cols[i], rows[i], rotations[i]);
+	}
+
+	/**
+	 * Measures finding the row a piece lands on, as the ghost piece and hard
+	 * drop do.
+	 * @return The landing row.
+	 */
+	@Benchmark
+	public int getDropRow() {
+		int i = nextPlacement();
+		return board.getDropRow(types[i], cols[i], rows[i], rotations[i]);
+	}
+
+	/**
+	 * Measures resetting the board on its own, as a baseline for
+	 * {@link #addPiece()}.
+	 * @return The board.
+	 */
+	@Benchmark
+	public Board reset() {
+		board.copyFrom(original);
+		return board;
+	}
+
+	/**
+	 * Measures locking a piece onto the board. The board is reset first so that
+	 * every placement sees the same stack; subtract {@link #reset()} to get the
+	 * cost of the placement alone.
+	 * @return The board.
+	 */
+	@Benchmark
+	public Board addPiece() {
+		int i = nextPlacement();
+		board.copyFrom(original);
+		board.addPiece(types[i], cols[i], rows[i], rotations[i]);
+		return board;
+	}
+
+}
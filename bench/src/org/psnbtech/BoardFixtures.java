@@ -0,0 +1,109 @@
+package org.psnbtech;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code BoardFixtures} class builds the boards that the benchmarks are run
+ * against. Every fixture is built from a fixed seed, so a benchmark sees exactly
+ * the same board on every run and results can be compared between commits.
+ */
+final class BoardFixtures {
+
+	/**
+	 * The seed that the random fixtures are built from.
+	 */
+	private static final long SEED = 0x5EEDL;
+
+	/**
+	 * The column that is left empty in the rows of a line clear fixture, so that
+	 * a vertical I piece dropped into it completes them.
+	 */
+	static final int WELL_COL = Board.COL_COUNT - 1;
+
+	/**
+	 * The column that a vertical I piece is placed at to fill the well. The I
+	 * piece only occupies the third column of its box when it is upright.
+	 */
+	static final int WELL_PIECE_COL = WELL_COL - 2;
+
+	/**
+	 * The row that a vertical I piece is placed at to rest on the floor.
+	 */
+	static final int WELL_PIECE_ROW = Board.ROW_COUNT - 4;
+
+	/**
+	 * The rotation of an upright I piece.
+	 */
+	static final int WELL_PIECE_ROTATION = 1;
+
+	/**
+	 * This class only holds static methods.
+	 */
+	private BoardFixtures() {
+	}
+
+	/**
+	 * Builds a board by name.
+	 * @param name The name of the board; one of "empty", "sparse" or "dense".
+	 * @return The board.
+	 * @throws IllegalArgumentException If there is no board with that name.
+	 */
+	static Board create(String name) {
+		switch(name) {
+		case "empty":
+			return new Board();
+		case "sparse":
+			return createStack(6, 0.4);
+		case "dense":
+			return createStack(16, 0.8);
+		default:
+			throw new IllegalArgumentException("Unknown board: " + name);
+		}
+	}
+
+	/**
+	 * Builds a board with a random stack of tiles at the bottom, like one from
+	 * the middle of a game. No row of the stack is ever complete.
+	 * @param height The number of rows in the stack.
+	 * @param density The chance of each tile in the stack being filled.
+	 * @return The board.
+	 */
+	static Board createStack(int height, double density) {
+		SplittableRandom random = new SplittableRandom(SEED);
+		TileType[] types = TileType.values();
+		Board board = new Board();
+		for(int y = Board.ROW_COUNT - height; y < Board.ROW_COUNT; y++) {
+			//Leave one random tile of every row empty so that the row is never complete.
+			int gap = random.nextInt(Board.COL_COUNT);
+			for(int x = 0; x < Board.COL_COUNT; x++) {
+				if(x != gap && random.nextDouble() < density) {
+					board.setTileForTest(x, y, types[random.nextInt(types.length)]);
+				}
+			}
+		}
+		board.checkLines();
+		return board;
+	}
+
+	/**
+	 * Builds a board that loses exactly {@code lines} lines when an upright I
+	 * piece is dropped into the well on its right side. The four rows the piece
+	 * lands in are all filled apart from the well, except that the ones that
+	 * shouldn't be cleared also have a gap on the left.
+	 * @param lines The number of lines to clear, from 0 to 4.
+	 * @return The board.
+	 */
+	static Board createLineClear(int lines) {
+		Board board = createStack(12, 0.6);
+		for(int y = Board.ROW_COUNT - 4; y < Board.ROW_COUNT; y++) {
+			boolean isCleared = (y >= Board.ROW_COUNT - lines);
+			for(int x = 0; x < Board.COL_COUNT; x++) {
+				boolean isGap = (x == WELL_COL) || (x == 0 && !isCleared);
+				board.setTileForTest(x, y, isGap ? null : TileType.TypeO);
+			}
+		}
+		board.checkLines();
+		return board;
+	}
+
+}
@@ -0,0 +1,571 @@
+package org.psnbtech;
+
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * The {@code CountingGraphics} class is responsible for counting the Java2D
+ * calls that the panels make while they draw a frame. Every call is passed on
+ * to another graphics object unchanged, so the frame is drawn exactly as it
+ * would have been without the counter.
+ * <p>
+ * Calls that touch pixels are also counted separately as draw calls, since
+ * those are where nearly all of the time goes. Graphics objects made with
+ * {@link #create()} add to the counts of the one they were made from.
+ */
+public class CountingGraphics extends Graphics2D {
+
+	/**
+	 * The graphics object that the calls are passed on to.
+	 */
+	private final Graphics2D delegate;
+
+	/**
+	 * The graphics object that keeps the counts. This is {@code this} unless
+	 * this object was made with {@link #create()}.
+	 */
+	private final CountingGraphics root;
+
+	/**
+	 * The number of calls made since the counts were last reset.
+	 */
+	private long callCount;
+
+	/**
+	 * The number of draw calls made since the counts were last reset.
+	 */
+	private long drawCount;
+
+	/**
+	 * Creates a new CountingGraphics.
+	 * @param delegate The graphics object to pass the calls on to.
+	 */
+	public CountingGraphics(Graphics2D delegate) {
+		this.delegate = delegate;
+		this.root = this;
+	}
+
+	/**
+	 * Creates a new CountingGraphics that adds to the counts of another.
+	 * @param delegate The graphics object to pass the calls on to.
+	 * @param root The graphics object that keeps the counts.
+	 */
+	private CountingGraphics(Graphics2D delegate, CountingGraphics root) {
+		this.delegate = delegate;
+		this.root = root;
+	}
+
+	/**
+	 * Gets the number of calls made since the counts were last reset.
+	 * @return The number of calls.
+	 */
+	public long getCallCount() {
+		return root.callCount;
+	}
+
+	/**
+	 * Gets the number of calls that touched pixels since the counts were last
+	 * reset.
+	 * @return The number of draw calls.
+	 */
+	public long getDrawCount() {
+		return root.drawCount;
+	}
+
+	/**
+	 * Sets both of the counts back to zero.
+	 */
+	public void reset() {
+		root.callCount = 0;
+		root.drawCount = 0;
+	}
+
+	/**
+	 * Counts a call.
+	 * @param isDraw Whether or not the call touches pixels.
+	 */
+	private void count(boolean isDraw) {
+		root.callCount++;
+		if(isDraw) {
+			root.drawCount++;
+		}
+	}
+
+	@Override
+	public Graphics create() {
+		count(false);
+		return new CountingGraphics((Graphics2D)delegate.create(), root);
+	}
+
+	@Override
+	public FontMetrics getFontMetrics() {
+		count(false);
+		return delegate.getFontMetrics();
+	}
+
+	@Override
+	public void translate(int x, int y) {
+		count(false);
+		delegate.translate(x, y);
+	}
+
+	@Override
+	public Color getColor() {
+		count(false);
+		return delegate.getColor();
+	}
+
+	@Override
+	public void setColor(Color c) {
+		count(false);
+		delegate.setColor(c);
+	}
+
+	@Override
+	public void setPaintMode() {
+		count(false);
+		delegate.setPaintMode();
+	}
+
+	@Override
+	public void setXORMode(Color c) {
+		count(false);
+		delegate.setXORMode(c);
+	}
+
+	@Override
+	public Font getFont() {
+		count(false);
+		return delegate.getFont();
+	}
+
+	@Override
+	public void setFont(Font font) {
+		count(false);
+		delegate.setFont(font);
+	}
+
+	@Override
+	public FontMetrics getFontMetrics(Font f) {
+		count(false);
+		return delegate.getFontMetrics(f);
+	}
+
+	@Override
+	public Rectangle getClipBounds() {
+		count(false);
+		return delegate.getClipBounds();
+	}
+
+	@Override
+	public void clipRect(int x, int y, int width, int height) {
+		count(false);
+		delegate.clipRect(x, y, width, height);
+	}
+
+	@Override
+	public void setClip(int x, int y, int width, int height) {
+		count(false);
+		delegate.setClip(x, y, width, height);
+	}
+
+	@Override
+	public Shape getClip() {
+		count(false);
+		return delegate.getClip();
+	}
+
+	@Override
+	public void setClip(Shape clip) {
+		count(false);
+		delegate.setClip(clip);
+	}
+
+	@Override
+	public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+		count(true);
+		delegate.copyArea(x, y, width, height, dx, dy);
+	}
+
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		count(true);
+		delegate.drawLine(x1, y1, x2, y2);
+	}
+
+	@Override
+	public void fillRect(int x, int y, int width, int height) {
+		count(true);
+		delegate.fillRect(x, y, width, height);
+	}
+
+	@Override
+	public void drawRect(int x, int y, int width, int height) {
+		count(true);
+		delegate.drawRect(x, y, width, height);
+	}
+
+	@Override
+	public void clearRect(int x, int y, int width, int height) {
+		count(true);
+		delegate.clearRect(x, y, width, height);
+	}
+
+	@Override
+	public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+		count(true);
+		delegate.drawRoundRect(x, y, width, height, arcWidth, arcHeight);
+	}
+
+	@Override
+	public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+		count(true);
+		delegate.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
+	}
+
+	@Override
+	public void draw3DRect(int x, int y, int width, int height, boolean raised) {
+		count(true);
+		delegate.draw3DRect(x, y, width, height, raised);
+	}
+
+	@Override
+	public void fill3DRect(int x, int y, int width, int height, boolean raised) {
+		count(true);
+		delegate.fill3DRect(x, y, width, height, raised);
+	}
+
+	@Override
+	public void drawOval(int x, int y, int width, int height) {
+		count(true);
+		delegate.drawOval(x, y, width, height);
+	}
+
+	@Override
+	public void fillOval(int x, int y, int width, int height) {
+		count(true);
+		delegate.fillOval(x, y, width, height);
+	}
+
+	@Override
+	public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+		count(true);
+		delegate.drawArc(x, y, width, height, startAngle, arcAngle);
+	}
+
+	@Override
+	public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+		count(true);
+		delegate.fillArc(x, y, width, height, startAngle, arcAngle);
+	}
+
+	@Override
+	public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+		count(true);
+		delegate.drawPolyline(xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		count(true);
+		delegate.drawPolygon(xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		count(true);
+		delegate.fillPolygon(xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void drawChars(char[] data, int offset, int length, int x, int y) {
+		count(true);
+		delegate.drawChars(data, offset, length, x, y);
+	}
+
+	@Override
+	public void drawBytes(byte[] data, int offset, int length, int x, int y) {
+		count(true);
+		delegate.drawBytes(data, offset, length, x, y);
+	}
+
+	@Override
+	public void drawString(String str, int x, int y) {
+		count(true);
+		delegate.drawString(str, x, y);
+	}
+
+	@Override
+	public void drawString(String str, float x, float y) {
+		count(true);
+		delegate.drawString(str, x, y);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+		count(true);
+		delegate.drawString(iterator, x, y);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+		count(true);
+		delegate.drawString(iterator, x, y);
+	}
+
+	@Override
+	public void drawGlyphVector(GlyphVector glyphs, float x, float y) {
+		count(true);
+		delegate.drawGlyphVector(glyphs, x, y);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+		count(true);
+		return delegate.drawImage(img, x, y, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+		count(true);
+		return delegate.drawImage(img, x, y, width, height, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+		count(true);
+		return delegate.drawImage(img, x, y, bgcolor, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+		count(true);
+		return delegate.drawImage(img, x, y, width, height, bgcolor, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+		count(true);
+		return delegate.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+		count(true);
+		return delegate.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgcolor, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+		count(true);
+		return delegate.drawImage(img, xform, obs);
+	}
+
+	@Override
+	public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+		count(true);
+		delegate.drawImage(img, op, x, y);
+	}
+
+	@Override
+	public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+		count(true);
+		delegate.drawRenderedImage(img, xform);
+	}
+
+	@Override
+	public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+		count(true);
+		delegate.drawRenderableImage(img, xform);
+	}
+
+	@Override
+	public void draw(Shape s) {
+		count(true);
+		delegate.draw(s);
+	}
+
+	@Override
+	public void fill(Shape s) {
+		count(true);
+		delegate.fill(s);
+	}
+
+	@Override
+	public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+		count(false);
+		return delegate.hit(rect, s, onStroke);
+	}
+
+	@Override
+	public GraphicsConfiguration getDeviceConfiguration() {
+		count(false);
+		return delegate.getDeviceConfiguration();
+	}
+
+	@Override
+	public void setComposite(Composite comp) {
+		count(false);
+		delegate.setComposite(comp);
+	}
+
+	@Override
+	public void setPaint(Paint paint) {
+		count(false);
+		delegate.setPaint(paint);
+	}
+
+	@Override
+	public void setStroke(Stroke s) {
+		count(false);
+		delegate.setStroke(s);
+	}
+
+	@Override
+	public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+		count(false);
+		delegate.setRenderingHint(hintKey, hintValue);
+	}
+
+	@Override
+	public Object getRenderingHint(RenderingHints.Key hintKey) {
+		count(false);
+		return delegate.getRenderingHint(hintKey);
+	}
+
+	@Override
+	public void setRenderingHints(Map<?, ?> hints) {
+		count(false);
+		delegate.setRenderingHints(hints);
+	}
+
+	@Override
+	public void addRenderingHints(Map<?, ?> hints) {
+		count(false);
+		delegate.addRenderingHints(hints);
+	}
+
+	@Override
+	public RenderingHints getRenderingHints() {
+		count(false);
+		return delegate.getRenderingHints();
+	}
+
+	@Override
+	public void translate(double tx, double ty) {
+		count(false);
+		delegate.translate(tx, ty);
+	}
+
+	@Override
+	public void rotate(double theta) {
+		count(false);
+		delegate.rotate(theta);
+	}
+
+	@Override
+	public void rotate(double theta, double x, double y) {
+		count(false);
+		delegate.rotate(theta, x, y);
+	}
+
+	@Override
+	public void scale(double sx, double sy) {
+		count(false);
+		delegate.scale(sx, sy);
+	}
+
+	@Override
+	public void shear(double shx, double shy) {
+		count(false);
+		delegate.shear(shx, shy);
+	}
+
+	@Override
+	public void transform(AffineTransform tx) {
+		count(false);
+		delegate.transform(tx);
+	}
+
+	@Override
+	public void setTransform(AffineTransform tx) {
+		count(false);
+		delegate.setTransform(tx);
+	}
+
+	@Override
+	public AffineTransform getTransform() {
+		count(false);
+		return delegate.getTransform();
+	}
+
+	@Override
+	public Paint getPaint() {
+		count(false);
+		return delegate.getPaint();
+	}
+
+	@Override
+	public Composite getComposite() {
+		count(false);
+		return delegate.getComposite();
+	}
+
+	@Override
+	public void setBackground(Color color) {
+		count(false);
+		delegate.setBackground(color);
+	}
+
+	@Override
+	public Color getBackground() {
+		count(false);
+		return delegate.getBackground();
+	}
+
+	@Override
+	public Stroke getStroke() {
+		count(false);
+		return delegate.getStroke();
+	}
+
+	@Override
+	public void clip(Shape s) {
+		count(false);
+		delegate.clip(s);
+	}
+
+	@Override
+	public FontRenderContext getFontRenderContext() {
+		count(false);
+		return delegate.getFontRenderContext();
+	}
+
+	@Override
+	public void dispose() {
+		count(false);
+		delegate.dispose();
+	}
+
+}
@@ -0,0 +1,97 @@
+package org.psnbtech;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code GameBenchmark} class measures how many whole games can be played
+ * per second on a single thread, on simulated time. Every game is played from
+ * the next seed, so each iteration plays the same games on every run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+	/**
+	 * The most pieces a game can last, so that a good policy can't play forever.
+	 */
+	private static final int MAX_PIECES = 1000;
+
+	/**
+	 * The policy that plays the games; one of "random", "scripted" or "bot".
+	 */
+	@Param({"random", "bot"})
+	public String policy;
+
+	/**
+	 * The simulator that plays the games.
+	 */
+	private BatchSimulator simulator;
+
+	/**
+	 * The seed of the next game.
+	 */
+	private long seed;
+
+	/**
+	 * The {@code Counters} class reports the number of pieces locked per second
+	 * alongside the number of games.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+
+		/**
+		 * The number of pieces locked this iteration.
+		 */
+		public long pieces;
+
+		/**
+		 * Resets the count at the start of each iteration.
+		 */
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.pieces = 0;
+		}
+
+	}
+
+	/**
+	 * Creates the simulator.
+	 */
+	@Setup
+	public void setup() {
+		this.simulator = new BatchSimulator(BatchSimulator.getPolicy(policy), 1, MAX_PIECES);
+	}
+
+	/**
+	 * Measures playing a single game from start to finish.
+	 * @param counters The counters to add the game's pieces to.
+	 * @return The result of the game.
+	 */
+	@Benchmark
+	public BatchResult playGame(Counters counters) {
+		BatchResult result = new BatchResult();
+		simulator.playGame(seed++, result);
+		counters.pieces += result.getTotalPieces();
+		return result;
+	}
+
+}
@@ -0,0 +1,82 @@
+package org.psnbtech;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code LineClearBenchmark} class measures locking an upright I piece into
+ * a well and clearing the lines it completes, from none up to a Tetris.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineClearBenchmark {
+
+	/**
+	 * The number of lines the piece completes.
+	 */
+	@Param({"0", "1", "2", "3", "4"})
+	public int lines;
+
+	/**
+	 * The board that is reset before each drop.
+	 */
+	private Board original;
+
+	/**
+	 * The board that the benchmarks run on.
+	 */
+	private Board board;
+
+	/**
+	 * Builds the board, and checks that it clears the expected number of lines.
+	 * @throws IllegalStateException If the fixture is wrong.
+	 */
+	@Setup
+	public void setup() {
+		this.original = BoardFixtures.createLineClear(lines);
+		this.board = BoardFixtures.createLineClear(lines);
+		int cleared = lockAndClear();
+		if(cleared != lines) {
+			throw new IllegalStateException("Expected " + lines + " lines, cleared " + cleared);
+		}
+	}
+
+	/**
+	 * Measures resetting the board and locking the piece, as a baseline for
+	 * {@link #lockAndClear()}.
+	 * @return The board.
+	 */
+	@Benchmark
+	public Board lock() {
+		board.copyFrom(original);
+		board.addPiece(TileType.TypeI, BoardFixtures.WELL_PIECE_COL, BoardFixtures.WELL_PIECE_ROW, BoardFixtures.WELL_PIECE_ROTATION);
+		return board;
+	}
+
+	/**
+	 * Measures resetting the board, locking the piece and clearing the lines it
+	 * completes. Subtract {@link #lock()} to get the cost of {@code checkLines}.
+	 * @return The number of lines cleared.
+	 */
+	@Benchmark
+	public int lockAndClear() {
+		lock();
+		return board.checkLines();
+	}
+
+}
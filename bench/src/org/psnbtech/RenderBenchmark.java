@@ -0,0 +1,134 @@
+package org.psnbtech;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code RenderBenchmark} class measures the time it takes each panel to
+ * draw a frame into an off-screen image, without a display. Run it with
+ * {@code -prof gc} to also see the bytes allocated per frame; the number of
+ * Java2D calls per frame is reported by {@code RenderProfile}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+	/**
+	 * The frame to draw; one of {@code RenderFixtures.NAMES}.
+	 */
+	@Param({"title", "empty", "half", "floor", "lock", "paused", "gameover"})
+	public String fixture;
+
+	/**
+	 * The frames that are drawn in turn.
+	 */
+	private FrameSnapshot[] frames;
+
+	/**
+	 * The index of the next frame.
+	 */
+	private int next;
+
+	/**
+	 * The board panel being drawn.
+	 */
+	private BoardPanel boardPanel;
+
+	/**
+	 * The side panel being drawn.
+	 */
+	private SidePanel sidePanel;
+
+	/**
+	 * The image that the board panel is drawn into.
+	 */
+	private BufferedImage boardImage;
+
+	/**
+	 * The image that the side panel is drawn into.
+	 */
+	private BufferedImage sideImage;
+
+	/**
+	 * The graphics object of {@code boardImage}.
+	 */
+	private Graphics2D boardGraphics;
+
+	/**
+	 * The graphics object of {@code sideImage}.
+	 */
+	private Graphics2D sideGraphics;
+
+	/**
+	 * Builds the frames and the panels. The panels never talk to a {@code Tetris}
+	 * window here, because the frames are handed to them directly.
+	 */
+	@Setup
+	public void setup() {
+		this.frames = RenderFixtures.create(fixture);
+		this.boardPanel = new BoardPanel(null);
+		this.sidePanel = new SidePanel(null);
+		this.boardImage = new BufferedImage(BoardPanel.PANEL_WIDTH, BoardPanel.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		this.sideImage = new BufferedImage(SidePanel.PANEL_WIDTH, BoardPanel.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		this.boardGraphics = boardImage.createGraphics();
+		this.sideGraphics = sideImage.createGraphics();
+	}
+
+	/**
+	 * Releases the graphics objects.
+	 */
+	@TearDown
+	public void tearDown() {
+		boardGraphics.dispose();
+		sideGraphics.dispose();
+	}
+
+	/**
+	 * Moves on to the next frame.
+	 * @return The frame.
+	 */
+	private FrameSnapshot nextFrame() {
+		FrameSnapshot frame = frames[next];
+		this.next = (next + 1) % frames.length;
+		return frame;
+	}
+
+	/**
+	 * Measures drawing a frame of the board panel.
+	 * @return The image that was drawn into.
+	 */
+	@Benchmark
+	public BufferedImage boardPanel() {
+		RenderFixtures.paint(boardPanel, boardGraphics, nextFrame());
+		return boardImage;
+	}
+
+	/**
+	 * Measures drawing a frame of the side panel.
+	 * @return The image that was drawn into.
+	 */
+	@Benchmark
+	public BufferedImage sidePanel() {
+		RenderFixtures.paint(sidePanel, sideGraphics, nextFrame());
+		return sideImage;
+	}
+
+}
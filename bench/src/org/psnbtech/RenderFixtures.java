@@ -0,0 +1,126 @@
+package org.psnbtech;
+
+import java.awt.Graphics2D;
+
+/**
+ * The {@code RenderFixtures} class builds the frames that the rendering
+ * benchmarks draw, and draws them the same way that Swing paints the panels.
+ * Like the board fixtures, every frame is built from a fixed seed so that it
+ * looks exactly the same on every run.
+ */
+final class RenderFixtures {
+
+	/**
+	 * The names of every fixture, in the order they are reported.
+	 */
+	static final String[] NAMES = {"title", "empty", "half", "floor", "lock", "paused", "gameover"};
+
+	/**
+	 * The type of piece that is falling in every fixture.
+	 */
+	private static final TileType PIECE_TYPE = TileType.TypeT;
+
+	/**
+	 * The type of piece that is shown in the preview.
+	 */
+	private static final TileType NEXT_TYPE = TileType.TypeL;
+
+	/**
+	 * This class only holds static methods.
+	 */
+	private RenderFixtures() {
+	}
+
+	/**
+	 * Builds the frames of a fixture by name. Most fixtures are a single frame
+	 * that is drawn over and over. The "lock" fixture alternates between two
+	 * boards, so that the locked tiles have to be redrawn on every frame, like
+	 * on the frame after a piece locks.
+	 * @param name The name of the fixture; one of {@link #NAMES}.
+	 * @return The frames, to be drawn in order and then repeated.
+	 * @throws IllegalArgumentException If there is no fixture with that name.
+	 */
+	static FrameSnapshot[] create(String name) {
+		switch(name) {
+		case "title":
+			return new FrameSnapshot[] {createFrame(new Board(), false, true, false, false)};
+		case "empty":
+			return new FrameSnapshot[] {createFrame(new Board(), false, false, false, false)};
+		case "half":
+			return new FrameSnapshot[] {createFrame(createHalfBoard(), false, false, false, false)};
+		case "floor":
+			return new FrameSnapshot[] {createFrame(createHalfBoard(), false, false, false, true)};
+		case "lock":
+			Board board = createHalfBoard();
+			FrameSnapshot before = createFrame(board, false, false, false, false);
+			board.addPiece(PIECE_TYPE, 0, board.getDropRow(PIECE_TYPE, 0, 0, 0), 0);
+			return new FrameSnapshot[] {before, createFrame(board, false, false, false, false)};
+		case "paused":
+			return new FrameSnapshot[] {createFrame(createHalfBoard(), true, false, false, false)};
+		case "gameover":
+			return new FrameSnapshot[] {createFrame(BoardFixtures.create("dense"), false, false, true, false)};
+		default:
+			throw new IllegalArgumentException("Unknown fixture: " + name);
+		}
+	}
+
+	/**
+	 * Builds a board whose stack reaches halfway up the visible rows.
+	 * @return The board.
+	 */
+	private static Board createHalfBoard() {
+		return BoardFixtures.createStack(Board.VISIBLE_ROW_COUNT / 2, 0.7);
+	}
+
+	/**
+	 * Builds a single frame, with the piece either where it spawns or just
+	 * above where it lands, so that it overlaps its own ghost.
+	 * @param board The board to copy.
+	 * @param isPaused Whether or not the game is paused.
+	 * @param isNewGame Whether or not we've played a game yet.
+	 * @param isGameOver Whether or not the game is over.
+	 * @param isNearFloor Whether or not the piece is just above where it lands.
+	 * @return The frame.
+	 */
+	private static FrameSnapshot createFrame(Board board, boolean isPaused, boolean isNewGame, boolean isGameOver, boolean isNearFloor) {
+		int col = PIECE_TYPE.getSpawnColumn();
+		int row = PIECE_TYPE.getSpawnRow();
+		int ghostRow = board.getDropRow(PIECE_TYPE, col, row, 0);
+		if(isNearFloor) {
+			row = Math.max(row, ghostRow - 1);
+		}
+
+		FrameSnapshot frame = new FrameSnapshot();
+		frame.captureBoard(board);
+		frame.capturePiece(PIECE_TYPE, col, row, 0, ghostRow);
+		frame.captureState(0, isPaused, isNewGame, isGameOver, 12345, 3, 27, NEXT_TYPE);
+		return frame;
+	}
+
+	/**
+	 * Draws a frame of the board the same way that {@code paintComponent} does:
+	 * the background is cleared and the frame is drawn over it.
+	 * @param panel The panel to draw.
+	 * @param g The graphics object to draw with.
+	 * @param frame The frame to draw.
+	 */
+	static void paint(BoardPanel panel, Graphics2D g, FrameSnapshot frame) {
+		g.setColor(panel.getBackground());
+		g.fillRect(0, 0, BoardPanel.PANEL_WIDTH, BoardPanel.PANEL_HEIGHT);
+		panel.drawFrame(g, frame);
+	}
+
+	/**
+	 * Draws a frame of the side panel the same way that {@code paintComponent}
+	 * does.
+	 * @param panel The panel to draw.
+	 * @param g The graphics object to draw with.
+	 * @param frame The frame to draw.
+	 */
+	static void paint(SidePanel panel, Graphics2D g, FrameSnapshot frame) {
+		g.setColor(panel.getBackground());
+		g.fillRect(0, 0, SidePanel.PANEL_WIDTH, BoardPanel.PANEL_HEIGHT);
+		panel.drawFrame(g, frame);
+	}
+
+}
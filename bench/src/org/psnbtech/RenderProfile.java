@@ -0,0 +1,115 @@
+package org.psnbtech;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * The {@code RenderProfile} class draws every rendering fixture into an
+ * off-screen image and prints the time, Java2D calls and bytes allocated per
+ * frame of each panel. It runs without JMH or a display, so it can be used on
+ * the machines the game is shown on to compare one change against another.
+ * <p>
+ * Only the calls made on the frame's graphics object are counted, not the ones
+ * that redraw the board panel's cached layers. The times here are only a rough
+ * guide; {@code RenderBenchmark} measures them properly.
+ */
+public class RenderProfile {
+
+	/**
+	 * The number of frames drawn before anything is measured.
+	 */
+	private static final int WARMUP_FRAMES = 5000;
+
+	/**
+	 * The number of frames that are measured.
+	 */
+	private static final int MEASURED_FRAMES = 5000;
+
+	/**
+	 * The thread bean, which counts the bytes that each thread allocates.
+	 */
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+	/**
+	 * The {@code Painter} interface draws a single frame of one of the panels.
+	 */
+	private interface Painter {
+
+		/**
+		 * Draws a frame.
+		 * @param g The graphics object to draw with.
+		 * @param frame The frame to draw.
+		 */
+		void paint(Graphics2D g, FrameSnapshot frame);
+
+	}
+
+	/**
+	 * Entry-point of the profile.
+	 * @param args Unused.
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		BoardPanel boardPanel = new BoardPanel(null);
+		SidePanel sidePanel = new SidePanel(null);
+		Painter board = (g, frame) -> RenderFixtures.paint(boardPanel, g, frame);
+		Painter side = (g, frame) -> RenderFixtures.paint(sidePanel, g, frame);
+
+		System.out.println(String.format(Locale.ROOT, "%-10s %-6s %12s %12s %12s %12s", "fixture", "panel", "ns/frame", "calls/frame", "draws/frame", "bytes/frame"));
+		for(String name : RenderFixtures.NAMES) {
+			FrameSnapshot[] frames = RenderFixtures.create(name);
+			profile(name, "board", board, frames, BoardPanel.PANEL_WIDTH);
+			profile(name, "side", side, frames, SidePanel.PANEL_WIDTH);
+		}
+	}
+
+	/**
+	 * Profiles one panel drawing one fixture, and prints a line of results.
+	 * @param name The name of the fixture.
+	 * @param panel The name of the panel.
+	 * @param painter Draws the panel.
+	 * @param frames The frames of the fixture.
+	 * @param width The width of the panel.
+	 */
+	private static void profile(String name, String panel, Painter painter, FrameSnapshot[] frames, int width) {
+		BufferedImage image = new BufferedImage(width, BoardPanel.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+
+		/*
+		 * The calls are counted separately, so that the counting doesn't add to
+		 * the time or the allocations.
+		 */
+		CountingGraphics counter = new CountingGraphics(g);
+		for(int i = 0; i < frames.length; i++) {
+			painter.paint(counter, frames[i]);
+		}
+		counter.reset();
+		for(int i = 0; i < frames.length; i++) {
+			painter.paint(counter, frames[i]);
+		}
+
+		for(int i = 0; i < WARMUP_FRAMES; i++) {
+			painter.paint(g, frames[i % frames.length]);
+		}
+
+		long thread = Thread.currentThread().threadId();
+		long startBytes = THREADS.getThreadAllocatedBytes(thread);
+		long startTime = System.nanoTime();
+		for(int i = 0; i < MEASURED_FRAMES; i++) {
+			painter.paint(g, frames[i % frames.length]);
+		}
+		long elapsed = System.nanoTime() - startTime;
+		long bytes = THREADS.getThreadAllocatedBytes(thread) - startBytes;
+		g.dispose();
+
+		System.out.println(String.format(Locale.ROOT, "%-10s %-6s %12d %12.1f %12.1f %12.1f", name, panel,
+				elapsed / MEASURED_FRAMES,
+				(double)counter.getCallCount() / frames.length,
+				(double)counter.getDrawCount() / frames.length,
+				(double)bytes / MEASURED_FRAMES));
+	}
+
+}
@@ -0,0 +1,72 @@
+package org.psnbtech;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code RotationBenchmark} class measures rotating the current piece, both
+ * in the open and pushed up against the left wall, where the rotation has to
+ * move the piece away from the edge before it fits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RotationBenchmark {
+
+	/**
+	 * The type of piece to rotate.
+	 */
+	@Param({"TypeI", "TypeT", "TypeO"})
+	public TileType piece;
+
+	/**
+	 * Where the piece is rotated; "center" or "wall".
+	 */
+	@Param({"center", "wall"})
+	public String position;
+
+	/**
+	 * The engine that the piece is rotated in.
+	 */
+	private TetrisEngine engine;
+
+	/**
+	 * Starts a game with only the chosen type of piece, and moves the piece into
+	 * position. The game is never ticked, so the piece never falls.
+	 */
+	@Setup
+	public void setup() {
+		this.engine = new TetrisEngine(() -> piece, 1, new ManualTimeSource());
+		engine.handleInput(Input.START);
+		if(position.equals("wall")) {
+			for(int i = 0; i < Board.COL_COUNT; i++) {
+				engine.handleInput(Input.MOVE_LEFT);
+			}
+		}
+	}
+
+	/**
+	 * Measures a single clockwise rotation.
+	 * @return The new rotation.
+	 */
+	@Benchmark
+	public int rotate() {
+		engine.handleInput(Input.ROTATE_CLOCKWISE);
+		return engine.getPieceRotation();
+	}
+
+}
@@ -0,0 +1,91 @@
+package org.psnbtech;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The {@code TileTypeBenchmark} class measures the shape lookups that rotation,
+ * rendering and the bot make for every piece they look at.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileTypeBenchmark {
+
+	/**
+	 * The types of tile, in the order they are cycled through.
+	 */
+	private final TileType[] types = TileType.values();
+
+	/**
+	 * The index of the next type and rotation. The low two bits are the rotation.
+	 */
+	private int next;
+
+	/**
+	 * Measures reading all four insets of a rotation through {@code TileType}.
+	 * @param blackhole Consumes the insets.
+	 */
+	@Benchmark
+	public void insets(Blackhole blackhole) {
+		int i = next;
+		this.next = (i + 1) % (types.length * 4);
+		TileType type = types[i >> 2];
+		int rotation = i & 3;
+		blackhole.consume(type.getLeftInset(rotation));
+		blackhole.consume(type.getRightInset(rotation));
+		blackhole.consume(type.getTopInset(rotation));
+		blackhole.consume(type.getBottomInset(rotation));
+	}
+
+	/**
+	 * Measures reading all four insets of a rotation from its shape.
+	 * @param blackhole Consumes the insets.
+	 */
+	@Benchmark
+	public void shapeInsets(Blackhole blackhole) {
+		int i = next;
+		this.next = (i + 1) % (types.length * 4);
+		PieceShape shape = types[i >> 2].getShape(i & 3);
+		blackhole.consume(shape.getLeftInset());
+		blackhole.consume(shape.getRightInset());
+		blackhole.consume(shape.getTopInset());
+		blackhole.consume(shape.getBottomInset());
+	}
+
+	/**
+	 * Measures looking up every tile of a rotation with {@code isTile}, as the
+	 * preview panel does.
+	 * @return The number of tiles found.
+	 */
+	@Benchmark
+	public int isTile() {
+		int i = next;
+		this.next = (i + 1) % (types.length * 4);
+		TileType type = types[i >> 2];
+		int rotation = i & 3;
+		int count = 0;
+		for(int y = 0; y < type.getDimension(); y++) {
+			for(int x = 0; x < type.getDimension(); x++) {
+				if(type.isTile(x, y, rotation)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+}
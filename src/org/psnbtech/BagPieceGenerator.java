@@ -0,0 +1,83 @@
+package org.psnbtech;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code BagPieceGenerator} class deals pieces from a shuffled "bag" that
+ * holds one of each type. When the bag is empty it is refilled and shuffled
+ * again, so every type is dealt exactly once in each run of seven pieces.
+ */
+public class BagPieceGenerator implements PieceGenerator {
+
+	/**
+	 * The random number generator that shuffles the bag.
+	 */
+	private final SplittableRandom random;
+
+	/**
+	 * The pieces in the bag, in the order they will be dealt.
+	 */
+	private final TileType[] bag;
+
+	/**
+	 * The index of the next piece to deal from the bag.
+	 */
+	private int index;
+
+	/**
+	 * Creates a new BagPieceGenerator with an unpredictable seed.
+	 */
+	public BagPieceGenerator() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Creates a new BagPieceGenerator.
+	 * @param seed The seed of the random number generator.
+	 */
+	public BagPieceGenerator(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	/**
+	 * Creates a new BagPieceGenerator.
+	 * @param random The random number generator that shuffles the bag.
+	 */
+	private BagPieceGenerator(SplittableRandom random) {
+		this.random = random;
+		this.bag = TileType.values();
+		this.index = bag.length;
+	}
+
+	@Override
+	public TileType next() {
+		if(index == bag.length) {
+			shuffle();
+			index = 0;
+		}
+		return bag[index++];
+	}
+
+	/**
+	 * Creates a new generator whose pieces are independent of this one's. Splitting
+	 * the same generator in the same order always gives the same generators, so
+	 * parallel workers can each be handed a reproducible stream of pieces.
+	 * @return The new generator.
+	 */
+	public BagPieceGenerator split() {
+		return new BagPieceGenerator(random.split());
+	}
+
+	/**
+	 * Shuffles the bag with a Fisher-Yates shuffle.
+	 */
+	private void shuffle() {
+		for(int i = bag.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			TileType swap = bag[i];
+			bag[i] = bag[j];
+			bag[j] = swap;
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package org.psnbtech;
+
+/**
+ * The {@code BatchResult} class is responsible for the totals of a batch of
+ * simulated games. Each worker fills in its own result, and the results are
+ * merged together once the workers are done, so no locking is needed.
+ */
+public class BatchResult {
+
+	/**
+	 * The number of games played.
+	 */
+	private int games;
+
+	/**
+	 * The sum of the scores of every game.
+	 */
+	private long totalScore;
+
+	/**
+	 * The lowest score of any game.
+	 */
+	private int minScore = Integer.MAX_VALUE;
+
+	/**
+	 * The highest score of any game.
+	 */
+	private int maxScore = Integer.MIN_VALUE;
+
+	/**
+	 * The sum of the lines cleared in every game.
+	 */
+	private long totalLines;
+
+	/**
+	 * The sum of the pieces placed in every game.
+	 */
+	private long totalPieces;
+
+	/**
+	 * The wall-clock time that the batch took to run, in nanoseconds.
+	 */
+	private long elapsedNanos;
+
+	/**
+	 * Adds a finished game to the totals.
+	 * @param score The score of the game.
+	 * @param lines The lines cleared in the game.
+	 * @param pieces The pieces placed in the game.
+	 */
+	public void addGame(int score, int lines, int pieces) {
+		games++;
+		totalScore += score;
+		minScore = Math.min(minScore, score);
+		maxScore = Math.max(maxScore, score);
+		totalLines += lines;
+		totalPieces += pieces;
+	}
+
+	/**
+	 * Adds the games of another result to this one.
+	 * @param other The other result.
+	 * @return This result.
+	 */
+	public BatchResult merge(BatchResult other) {
+		games += other.games;
+		totalScore += other.totalScore;
+		minScore = Math.min(minScore, other.minScore);
+		maxScore = Math.max(maxScore, other.maxScore);
+		totalLines += other.totalLines;
+		totalPieces += other.totalPieces;
+		return this;
+	}
+
+	/**
+	 * Sets the wall-clock time that the batch took to run.
+	 * @param elapsedNanos The elapsed time, in nanoseconds.
+	 */
+	public void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of games played.
+	 * @return The number of games.
+	 */
+	public int getGames() {
+		return games;
+	}
+
+	/**
+	 * Gets the sum of the scores of every game.
+	 * @return The total score.
+	 */
+	public long getTotalScore() {
+		return totalScore;
+	}
+
+	/**
+	 * Gets the lowest score of any game.
+	 * @return The lowest score, or 0 if no games were played.
+	 */
+	public int getMinScore() {
+		return (games == 0) ? 0 : minScore;
+	}
+
+	/**
+	 * Gets the highest score of any game.
+	 * @return The highest score, or 0 if no games were played.
+	 */
+	public int getMaxScore() {
+		return (games == 0) ? 0 : maxScore;
+	}
+
+	/**
+	 * Gets the average score of a game.
+	 * @return The average score, or 0 if no games were played.
+	 */
+	public double getMeanScore() {
+		return (games == 0) ? 0.0 : (double)totalScore / games;
+	}
+
+	/**
+	 * Gets the sum of the lines cleared in every game.
+	 * @return The total lines.
+	 */
+	public long getTotalLines() {
+		return totalLines;
+	}
+
+	/**
+	 * Gets the sum of the pieces placed in every game.
+	 * @return The total pieces.
+	 */
+	public long getTotalPieces() {
+		return totalPieces;
+	}
+
+	/**
+	 * Gets the wall-clock time that the batch took to run.
+	 * @return The elapsed time, in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Gets the number of games played per second of wall-clock time.
+	 * @return The games per second.
+	 */
+	public double getGamesPerSecond() {
+		return perSecond(games);
+	}
+
+	/**
+	 * Gets the number of pieces placed per second of wall-clock time.
+	 * @return The pieces per second.
+	 */
+	public double getPiecesPerSecond() {
+		return perSecond(totalPieces);
+	}
+
+	/**
+	 * Converts a count into a rate over the elapsed time.
+	 * @param count The count.
+	 * @return The count per second, or 0 if no time has elapsed.
+	 */
+	private double perSecond(long count) {
+		return (elapsedNanos == 0) ? 0.0 : count * 1.0e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("games=%d score[min=%d mean=%.1f max=%d] lines=%d pieces=%d time=%.3fs games/s=%.1f pieces/s=%.1f",
+				games, getMinScore(), getMeanScore(), getMaxScore(), totalLines, totalPieces,
+				elapsedNanos / 1.0e9, getGamesPerSecond(), getPiecesPerSecond());
+	}
+
+}
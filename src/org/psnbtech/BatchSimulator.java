@@ -0,0 +1,185 @@
+package org.psnbtech;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * The {@code BatchSimulator} class is responsible for playing many headless games
+ * as fast as possible. Each game is played on simulated time through
+ * {@link TetrisEngine#stepVirtual(Input)}, so it behaves exactly as it would in
+ * real time without ever sleeping, and the games are split across a fork/join pool so that
+ * every core is kept busy. Game {@code n} of a batch is played with seed
+ * {@code firstSeed + n}, so a batch can be reproduced exactly.
+ */
+public class BatchSimulator {
+
+	/**
+	 * The maximum number of pieces a game is allowed to place by default. A good
+	 * policy may never lose, so every game needs a limit.
+	 */
+	public static final int DEFAULT_MAX_PIECES = 10000;
+
+	/**
+	 * The number of games below which a range of games is no longer split up.
+	 */
+	private static final int SPLIT_THRESHOLD = 4;
+
+	/**
+	 * Creates the policy for each game from that game's seed.
+	 */
+	private final LongFunction<Policy> policies;
+
+	/**
+	 * The number of threads to play games on.
+	 */
+	private final int threads;
+
+	/**
+	 * The maximum number of pieces a game is allowed to place.
+	 */
+	private final int maxPieces;
+
+	/**
+	 * Creates a new BatchSimulator.
+	 * @param policies Creates the policy for each game from that game's seed.
+	 * @param threads The number of threads to play games on.
+	 * @param maxPieces The maximum number of pieces a game is allowed to place.
+	 * @throws IllegalArgumentException If threads or maxPieces isn't positive.
+	 */
+	public BatchSimulator(LongFunction<Policy> policies, int threads, int maxPieces) {
+		if(threads <= 0) {
+			throw new IllegalArgumentException("Thread count must be positive: " + threads);
+		}
+		if(maxPieces <= 0) {
+			throw new IllegalArgumentException("Piece limit must be positive: " + maxPieces);
+		}
+		this.policies = policies;
+		this.threads = threads;
+		this.maxPieces = maxPieces;
+	}
+
+	/**
+	 * Plays a batch of games.
+	 * @param firstSeed The seed of the first game.
+	 * @param gameCount The number of games to play.
+	 * @return The totals of the batch.
+	 */
+	public BatchResult run(long firstSeed, int gameCount) {
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			BatchResult result = pool.invoke(new GameRange(firstSeed, gameCount));
+			result.setElapsedNanos(System.nanoTime() - start);
+			return result;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a single game until it is lost or reaches the piece limit.
+	 * @param seed The seed of the game.
+	 * @param result The result to add the game to.
+	 */
+	void playGame(long seed, BatchResult result) {
+		TetrisEngine engine = new TetrisEngine(seed);
+		Policy policy = policies.apply(seed);
+
+		engine.handleInput(Input.START);
+		while(!engine.isGameOver() && engine.getPieces() < maxPieces) {
+			engine.stepVirtual(policy.nextInput(engine));
+		}
+
+		result.addGame(engine.getScore(), engine.getLines(), engine.getPieces());
+	}
+
+	/**
+	 * Gets the policy with the given name.
+	 * @param name The name of the policy; one of "random", "scripted" or "bot".
+	 * @return Creates the policy for each game from that game's seed.
+	 * @throws IllegalArgumentException If there is no policy with the name.
+	 */
+	public static LongFunction<Policy> getPolicy(String name) {
+		switch(name) {
+		case "random":
+			return RandomPolicy::new;
+		case "scripted":
+			return seed -> new ScriptedPolicy(ScriptedPolicy.DEFAULT_SCRIPT);
+		case "bot":
+			return seed -> new BotPolicy();
+		default:
+			throw new IllegalArgumentException("Unknown policy: " + name);
+		}
+	}
+
+	/**
+	 * Entry point of the batch simulator.
+	 * <p>
+	 * Usage: {@code BatchSimulator <games> <first seed> <random|scripted|bot> [threads] [max pieces]}
+	 * @param args The command line arguments.
+	 */
+	public static void main(String[] args) {
+		if(args.length < 3) {
+			System.err.println("Usage: BatchSimulator <games> <first seed> <random|scripted|bot> [threads] [max pieces]");
+			System.exit(1);
+		}
+
+		int games = Integer.parseInt(args[0]);
+		long firstSeed = Long.parseLong(args[1]);
+		LongFunction<Policy> policies = getPolicy(args[2]);
+		int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		int maxPieces = (args.length > 4) ? Integer.parseInt(args[4]) : DEFAULT_MAX_PIECES;
+
+		BatchSimulator simulator = new BatchSimulator(policies, threads, maxPieces);
+		System.out.println(simulator.run(firstSeed, games));
+	}
+
+	/**
+	 * The {@code GameRange} class plays a range of seeds, splitting it in half
+	 * until the ranges are small enough to play directly.
+	 */
+	private class GameRange extends RecursiveTask<BatchResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The seed of the first game in the range.
+		 */
+		private final long firstSeed;
+
+		/**
+		 * The number of games in the range.
+		 */
+		private final int count;
+
+		/**
+		 * Creates a new GameRange.
+		 * @param firstSeed The seed of the first game in the range.
+		 * @param count The number of games in the range.
+		 */
+		private GameRange(long firstSeed, int count) {
+			this.firstSeed = firstSeed;
+			this.count = count;
+		}
+
+		@Override
+		protected BatchResult compute() {
+			if(count <= SPLIT_THRESHOLD) {
+				BatchResult result = new BatchResult();
+				for(int i = 0; i < count; i++) {
+					playGame(firstSeed + i, result);
+				}
+				return result;
+			}
+
+			int half = count / 2;
+			GameRange left = new GameRange(firstSeed, half);
+			GameRange right = new GameRange(firstSeed + half, count - half);
+			left.fork();
+			return right.compute().merge(left.join());
+		}
+
+	}
+
+}
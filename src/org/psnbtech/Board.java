@@ -0,0 +1,409 @@
+package org.psnbtech;
+
+import java.util.Arrays;
+
+/**
+ * The {@code Board} class is responsible for the state of the game grid and the
+ * rules that govern it, such as collision and clearing lines. It has no
+ * dependency on AWT or Swing so that games can be simulated without a display.
+ */
+public class Board {
+
+	/**
+	 * The number of columns on the board.
+	 */
+	public static final int COL_COUNT = 10;
+		
+	/**
+	 * The number of visible rows on the board.
+	 */
+	public static final int VISIBLE_ROW_COUNT = 20;
+	
+	/**
+	 * The number of rows that are hidden from view.
+	 */
+	public static final int HIDDEN_ROW_COUNT = 2;
+	
+	/**
+	 * The total number of rows that the board contains.
+	 */
+	public static final int ROW_COUNT = VISIBLE_ROW_COUNT + HIDDEN_ROW_COUNT;
+	
+	/**
+	 * The occupancy mask of a row that has every column filled.
+	 */
+	public static final int FULL_ROW = (1 << COL_COUNT) - 1;
+	
+	/**
+	 * The tiles that make up the board, indexed by row slot rather than by
+	 * row. This is only used to determine what color each tile should be
+	 * drawn in, collision is handled by {@code rows}.
+	 */
+	private TileType[][] tiles;
+	
+	/**
+	 * The occupancy bit masks for each row slot. Bit {@code n} of a mask is
+	 * set if column {@code n} of the row stored in that slot contains a tile.
+	 */
+	private int[] rows;
+	
+	/**
+	 * A circular buffer that maps each row of the board to the slot that holds
+	 * its data. Row {@code r} is stored in slot {@code rowSlots[(head + r) % ROW_COUNT]}.
+	 */
+	private int[] rowSlots;
+	
+	/**
+	 * The position in {@code rowSlots} of the top row of the board.
+	 */
+	private int head;
+	
+	/**
+	 * Scratch space for the slots of completed lines while they are removed.
+	 */
+	private int[] freeSlots;
+	
+	/**
+	 * The topmost row that has changed since lines were last checked.
+	 */
+	private int dirtyTop;
+	
+	/**
+	 * The bottommost row that has changed since lines were last checked.
+	 */
+	private int dirtyBottom;
+	
+	/**
+	 * The number of times the tiles of the board have changed.
+	 */
+	private long version;
+
+	/**
+	 * Helper function that places a tile. Useful for testing.
+	 * @param x
+	 * @param y
+	 * @param t
+	 */
+	void setTileForTest(int x, int y, TileType t) {
+		setTile(x, y, t);
+	}
+
+	/**
+	 * Creates a new, empty Board instance.
+	 */
+	public Board() {
+		this.tiles = new TileType[ROW_COUNT][COL_COUNT];
+		this.rows = new int[ROW_COUNT];
+		this.rowSlots = new int[ROW_COUNT];
+		this.freeSlots = new int[ROW_COUNT];
+		clear();
+	}
+	
+	/**
+	 * Resets the board and clears away any tiles.
+	 */
+	public void clear() {
+		/*
+		 * Loop through every tile index and set it's value
+		 * to null to clear the board, and put every row back
+		 * in its own slot.
+		 */
+		for(int i = 0; i < ROW_COUNT; i++) {
+			for(int j = 0; j < COL_COUNT; j++) {
+				tiles[i][j] = null;
+			}
+			rows[i] = 0;
+			rowSlots[i] = i;
+		}
+		this.head = 0;
+		resetDirtyRows();
+		version++;
+	}
+	
+	/**
+	 * Copies every tile of another board into this one. This puts a board
+	 * back into a known position far faster than placing its tiles again.
+	 * @param other The board to copy.
+	 */
+	void copyFrom(Board other) {
+		for(int i = 0; i < ROW_COUNT; i++) {
+			System.arraycopy(other.tiles[i], 0, tiles[i], 0, COL_COUNT);
+		}
+		System.arraycopy(other.rows, 0, rows, 0, ROW_COUNT);
+		System.arraycopy(other.rowSlots, 0, rowSlots, 0, ROW_COUNT);
+		this.head = other.head;
+		this.dirtyTop = other.dirtyTop;
+		this.dirtyBottom = other.dirtyBottom;
+		version++;
+	}
+	
+	/**
+	 * Determines whether or not a piece can be placed at the coordinates.
+	 * @param type THe type of piece to use.
+	 * @param x The x coordinate of the piece.
+	 * @param y The y coordinate of the piece.
+	 * @param rotation The rotation of the piece.
+	 * @return Whether or not the position is valid.
+	 */
+	public boolean isValidAndEmpty(TileType type, int x, int y, int rotation) {
+		PieceShape shape = type.getShape(rotation);
+		
+		//Ensure the piece is in a valid column.
+		if(x < shape.getMinCol() || x > shape.getMaxCol()) {
+			return false;
+		}
+		
+		//Ensure the piece is in a valid row.
+		if(y < shape.getMinRow() || y > shape.getMaxRow()) {
+			return false;
+		}
+		
+		/*
+		 * Loop through every occupied row in the piece and see if it conflicts with an existing
+		 * tile. Each row of the piece is shifted into board columns and tested against the row's
+		 * occupancy mask, so a whole row is checked at once.
+		 * 
+		 * Note: It's fine to do this even though it allows for shifting bits off of the mask
+		 * because we've already checked to make sure the piece is in a valid location.
+		 */
+		int end = shape.getDimension() - shape.getBottomInset();
+		for(int row = shape.getTopInset(); row <= end; row++) {
+			if((rows[getSlot(y + row)] & shiftMask(shape.getRowMask(row), x)) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Adds a piece to the game board. Note: Doesn't check for existing pieces,
+	 * and will overwrite them if they exist.
+	 * @param type The type of piece to place.
+	 * @param x The x coordinate of the piece.
+	 * @param y The y coordinate of the piece.
+	 * @param rotation The rotation of the piece.
+	 */
+	public void addPiece(TileType type, int x, int y, int rotation) {
+		PieceShape shape = type.getShape(rotation);
+		
+		/*
+		 * Loop through every occupied row within the piece and merge its
+		 * mask into the board, then record the type of each tile that was
+		 * added so that it can be drawn in the correct color.
+		 */
+		int end = shape.getDimension() - shape.getBottomInset();
+		for(int row = shape.getTopInset(); row <= end; row++) {
+			rows[getSlot(y + row)] |= shiftMask(shape.getRowMask(row), x);
+		}
+		markDirtyRows(y + shape.getTopInset(), y + end);
+		for(int cell = 0; cell < shape.getCellCount(); cell++) {
+			tiles[getSlot(y + shape.getCellRow(cell))][x + shape.getCellCol(cell)] = type;
+		}
+		version++;
+	}
+	
+	/**
+	 * Checks the board to see if any lines have been cleared, and
+	 * removes them from the game. Only the rows that have changed since
+	 * the last check can have been completed, so only those are checked.
+	 * @return The number of lines that were cleared.
+	 */
+	public int checkLines() {
+		int top = dirtyTop;
+		int bottom = dirtyBottom;
+		resetDirtyRows();
+		
+		/*
+		 * Find the highest and lowest completed lines. If there aren't any,
+		 * there is nothing to remove and we can leave the board as is.
+		 */
+		int highest = -1;
+		int lowest = -1;
+		for(int row = top; row <= bottom; row++) {
+			if(isFull(row)) {
+				if(highest < 0) {
+					highest = row;
+				}
+				lowest = row;
+			}
+		}
+		if(lowest < 0) {
+			return 0;
+		}
+		
+		/*
+		 * Removing a line only re-points row slots, the tiles themselves never
+		 * move. Either the slots of the rows above the completed lines are
+		 * moved down, or the slots of the rows below them are moved up and the
+		 * head of the buffer is moved back, whichever moves fewer slots. In both
+		 * cases the slots of the completed lines are recycled as the new empty
+		 * rows at the top of the board.
+		 */
+		int completedLines = 0;
+		if(lowest + 1 <= ROW_COUNT - highest) {
+			int write = lowest;
+			for(int read = lowest; read >= 0; read--) {
+				int slot = getSlot(read);
+				if(read >= highest && rows[slot] == FULL_ROW) {
+					freeSlots[completedLines++] = slot;
+				} else {
+					rowSlots[getPosition(write--)] = slot;
+				}
+			}
+		} else {
+			int write = highest;
+			for(int read = highest; read < ROW_COUNT; read++) {
+				int slot = getSlot(read);
+				if(read <= lowest && rows[slot] == FULL_ROW) {
+					freeSlots[completedLines++] = slot;
+				} else {
+					rowSlots[getPosition(write++)] = slot;
+				}
+			}
+			this.head = getPosition(ROW_COUNT - completedLines);
+		}
+		
+		/*
+		 * Empty out the recycled slots and place them at the top of the board.
+		 */
+		for(int i = 0; i < completedLines; i++) {
+			int slot = freeSlots[i];
+			rows[slot] = 0;
+			Arrays.fill(tiles[slot], null);
+			rowSlots[getPosition(i)] = slot;
+		}
+		version++;
+		return completedLines;
+	}
+	
+	/**
+	 * Checks whether or not {@code row} is full.
+	 * @param row The row to check.
+	 * @return Whether or not this row is full.
+	 */
+	private boolean isFull(int row) {
+		return rows[getSlot(row)] == FULL_ROW;
+	}
+	
+	/**
+	 * Gets the position within {@code rowSlots} of a row.
+	 * @param row The row.
+	 * @return The position in the circular buffer.
+	 */
+	private int getPosition(int row) {
+		int position = head + row;
+		return (position < ROW_COUNT) ? position : position - ROW_COUNT;
+	}
+	
+	/**
+	 * Gets the slot that holds the data of a row.
+	 * @param row The row.
+	 * @return The slot.
+	 */
+	private int getSlot(int row) {
+		return rowSlots[getPosition(row)];
+	}
+	
+	/**
+	 * Expands the range of rows that need to be checked for completed lines.
+	 * @param top The topmost row that changed.
+	 * @param bottom The bottommost row that changed.
+	 */
+	private void markDirtyRows(int top, int bottom) {
+		this.dirtyTop = Math.min(dirtyTop, top);
+		this.dirtyBottom = Math.max(dirtyBottom, bottom);
+	}
+	
+	/**
+	 * Marks every row as checked.
+	 */
+	private void resetDirtyRows() {
+		this.dirtyTop = ROW_COUNT;
+		this.dirtyBottom = -1;
+	}
+	
+	/**
+	 * Shifts a piece's row mask so that it lines up with the board's columns.
+	 * @param mask The row mask of the piece.
+	 * @param x The column of the piece.
+	 * @return The mask in board columns.
+	 */
+	static int shiftMask(int mask, int x) {
+		return (x >= 0) ? (mask << x) : (mask >>> -x);
+	}
+	
+	/**
+	 * Sets a tile located at the desired column and row.
+	 * @param x The column.
+	 * @param y The row.
+	 * @param type The value to set to the tile to.
+	 */
+	private void setTile(int  x, int y, TileType type) {
+		int slot = getSlot(y);
+		tiles[slot][x] = type;
+		markDirtyRows(y, y);
+		version++;
+		if(type != null) {
+			rows[slot] |= (1 << x);
+		} else {
+			rows[slot] &= ~(1 << x);
+		}
+	}
+		
+	/**
+	 * Gets the version of the board. This changes every time a tile is added
+	 * or removed, so anything that caches the tiles can tell when to refresh.
+	 * @return The version.
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Gets the lowest row that a piece can be dropped to from its current
+	 * position, which is where it will land if it keeps falling.
+	 * @param type The type of piece.
+	 * @param x The column of the piece.
+	 * @param y The row of the piece.
+	 * @param rotation The rotation of the piece.
+	 * @return The row the piece will land on.
+	 */
+	public int getDropRow(TileType type, int x, int y, int rotation) {
+		int row = y;
+		while(isValidAndEmpty(type, x, row + 1, rotation)) {
+			row++;
+		}
+		return row;
+	}
+	
+	/**
+	 * Copies the tiles of a row into an array.
+	 * @param row The row to copy.
+	 * @param dest The array to copy the tiles into.
+	 * @param offset The index in the array to copy the first column to.
+	 */
+	void copyRow(int row, TileType[] dest, int offset) {
+		System.arraycopy(tiles[getSlot(row)], 0, dest, offset, COL_COUNT);
+	}
+	
+	/**
+	 * Gets the occupancy bit mask of a row. Bit {@code n} of the mask is set
+	 * if column {@code n} of the row contains a tile.
+	 * @param row The row.
+	 * @return The row mask.
+	 */
+	public int getRowMask(int row) {
+		return rows[getSlot(row)];
+	}
+	
+	/**
+	 * Gets a tile by it's column and row.
+	 * @param x The column.
+	 * @param y The row.
+	 * @return The tile.
+	 */
+	public TileType getTile(int x, int y) {
+		return tiles[getSlot(y)][x];
+	}
+
+}
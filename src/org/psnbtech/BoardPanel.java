@@ -1,15 +1,26 @@
 package org.psnbtech;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
 
 import javax.swing.JPanel;
 
 /**
- * The {@code BoardPanel} class is responsible for displaying the game grid and
- * handling things related to the game board.
+ * The {@code BoardPanel} class is responsible for displaying the game grid. It
+ * only ever draws the latest {@link FrameSnapshot} published by the game, so it
+ * never sees the board halfway through an update.
+ * <p>
+ * The board is drawn in three layers. The grid never changes, so it is drawn
+ * into an image once. The locked tiles are drawn into a second image that is
+ * only redrawn when the board changes. Only the current piece and its ghost are
+ * drawn from scratch each frame, so the cost of a frame doesn't depend on how
+ * full the board is.
  * @author Brendan Jones
  *
  */
@@ -40,22 +51,22 @@ public class BoardPanel extends JPanel {
 	/**
 	 * The number of columns on the board.
 	 */
-	public static final int COL_COUNT = 10;
+	public static final int COL_COUNT = Board.COL_COUNT;
 		
 	/**
 	 * The number of visible rows on the board.
 	 */
-	private static final int VISIBLE_ROW_COUNT = 20;
+	private static final int VISIBLE_ROW_COUNT = Board.VISIBLE_ROW_COUNT;
 	
 	/**
 	 * The number of rows that are hidden from view.
 	 */
-	private static final int HIDDEN_ROW_COUNT = 2;
+	private static final int HIDDEN_ROW_COUNT = Board.HIDDEN_ROW_COUNT;
 	
 	/**
 	 * The total number of rows that the board contains.
 	 */
-	public static final int ROW_COUNT = VISIBLE_ROW_COUNT + HIDDEN_ROW_COUNT;
+	public static final int ROW_COUNT = Board.ROW_COUNT;
 	
 	/**
 	 * The number of pixels that a tile takes up.
@@ -98,210 +109,121 @@ public class BoardPanel extends JPanel {
 	private static final Font SMALL_FONT = new Font("Tahoma", Font.BOLD, 12);
 	
 	/**
-	 * The Tetris instance.
+	 * The prompt shown before the first game.
 	 */
-	private Tetris tetris;
+	private static final String NEW_GAME_PROMPT = "Press Enter to Play";
 	
 	/**
-	 * The tiles that make up the board.
+	 * The prompt shown once a game is over.
 	 */
-	private TileType[][] tiles;
-
+	private static final String GAME_OVER_PROMPT = "Press Enter to Play Again";
+	
 	/**
-	 * Helper function that places a tile. Useful for testing.
-	 * @param x
-	 * @param y
-	 * @param t
+	 * The Tetris instance.
 	 */
-	void setTileForTest(int x, int y, TileType t) {
-		setTile(x, y, t);
-	}
-
+	private Tetris tetris;
+	
 	/**
-	 * Crates a new GameBoard instance.
-	 * @param tetris The Tetris instance to use.
+	 * The pre-rendered tiles, drawn with the current palette.
 	 */
-	public BoardPanel(Tetris tetris) {
-		this.tetris = tetris;
-		this.tiles = new TileType[ROW_COUNT][COL_COUNT];
-		
-		setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
-		setBackground(Color.BLACK);
-	}
+	private TileAtlas atlas;
 	
 	/**
-	 * Resets the board and clears away any tiles.
+	 * The grid that is drawn over the tiles. This is drawn once and never changes.
 	 */
-	public void clear() {
-		/*
-		 * Loop through every tile index and set it's value
-		 * to null to clear the board.
-		 */
-		for(int i = 0; i < ROW_COUNT; i++) {
-			for(int j = 0; j < COL_COUNT; j++) {
-				tiles[i][j] = null;
-			}
-		}
-	}
+	private BufferedImage gridLayer;
 	
 	/**
-	 * Determines whether or not a piece can be placed at the coordinates.
-	 * @param type THe type of piece to use.
-	 * @param x The x coordinate of the piece.
-	 * @param y The y coordinate of the piece.
-	 * @param rotation The rotation of the piece.
-	 * @return Whether or not the position is valid.
+	 * The tiles that have been locked onto the board.
 	 */
-	public boolean isValidAndEmpty(TileType type, int x, int y, int rotation) {
-				
-		//Ensure the piece is in a valid column.
-		if(x < -type.getLeftInset(rotation) || x + type.getDimension() - type.getRightInset(rotation) >= COL_COUNT) {
-			return false;
-		}
-		
-		//Ensure the piece is in a valid row.
-		if(y < -type.getTopInset(rotation) || y + type.getDimension() - type.getBottomInset(rotation) >= ROW_COUNT) {
-			return false;
-		}
-		
-		/*
-		 * Loop through every tile in the piece and see if it conflicts with an existing tile.
-		 * 
-		 * Note: It's fine to do this even though it allows for wrapping because we've already
-		 * checked to make sure the piece is in a valid location.
-		 */
-		for(int col = 0; col < type.getDimension(); col++) {
-			for(int row = 0; row < type.getDimension(); row++) {
-				if(type.isTile(col, row, rotation) && isOccupied(x + col, y + row)) {
-					return false;
-				}
-			}
-		}
-		return true;
-	}
+	private BufferedImage stackLayer;
 	
 	/**
-	 * Adds a piece to the game board. Note: Doesn't check for existing pieces,
-	 * and will overwrite them if they exist.
-	 * @param type The type of piece to place.
-	 * @param x The x coordinate of the piece.
-	 * @param y The y coordinate of the piece.
-	 * @param rotation The rotation of the piece.
+	 * The graphics object that draws into {@code stackLayer}. It is kept for the
+	 * life of the panel rather than created each time the board changes.
 	 */
-	public void addPiece(TileType type, int x, int y, int rotation) {
-		/*
-		 * Loop through every tile within the piece and add it
-		 * to the board only if the boolean that represents that
-		 * tile is set to true.
-		 */
-		for(int col = 0; col < type.getDimension(); col++) {
-			for(int row = 0; row < type.getDimension(); row++) {
-				if(type.isTile(col, row, rotation)) {
-					setTile(col + x, row + y, type);
-				}
-			}
-		}
-	}
+	private Graphics2D stackGraphics;
 	
 	/**
-	 * Checks the board to see if any lines have been cleared, and
-	 * removes them from the game.
-	 * @return The number of lines that were cleared.
+	 * The version of the board that {@code stackLayer} was drawn from, or -1 if
+	 * it needs to be redrawn.
 	 */
-	public int checkLines() {
-		int completedLines = 0;
-		
-		/*
-		 * Here we loop through every line and check it to see if
-		 * it's been cleared or not. If it has, we increment the
-		 * number of completed lines and check the next row.
-		 * 
-		 * The checkLine function handles clearing the line and
-		 * shifting the rest of the board down for us.
-		 */
-		for(int row = 0; row < ROW_COUNT; row++) {
-			if(checkLine(row)) {
-				completedLines++;
-			}
-		}
-		return completedLines;
-	}
-			
+	private long stackVersion;
+
 	/**
-	 * Checks whether or not {@code row} is full.
-	 * @param line The row to check.
-	 * @return Whether or not this row is full.
+	 * Crates a new GameBoard instance.
+	 * @param tetris The Tetris instance to use.
 	 */
-	private boolean checkLine(int line) {
-		/*
-		 * Iterate through every column in this row. If any of them are
-		 * empty, then the row is not full.
-		 */
-		for(int col = 0; col < COL_COUNT; col++) {
-			if(!isOccupied(col, line)) {
-				return true;
-			}
-		}
+	public BoardPanel(Tetris tetris) {
+		this.tetris = tetris;
+		this.atlas = new TileAtlas(TilePalette.DEFAULT, TILE_SIZE, SHADE_WIDTH);
+		this.gridLayer = createGridLayer();
+		this.stackLayer = new BufferedImage(COL_COUNT * TILE_SIZE, VISIBLE_ROW_COUNT * TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+		this.stackGraphics = stackLayer.createGraphics();
+		this.stackVersion = -1;
 		
-		/*
-		 * Since the line is filled, we need to 'remove' it from the game.
-		 * To do this, we simply shift every row above it down by one.
-		 */
-		for(int row = line - 1; row >= 0; row--) {
-			for(int col = 0; col < COL_COUNT; col++) {
-				setTile(col, row + 1, getTile(col, row));
-			}
-		}
-		return true;
+		setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+		setBackground(Color.BLACK);
 	}
 	
-	
 	/**
-	 * Checks to see if the tile is already occupied.
-	 * @param x The x coordinate to check.
-	 * @param y The y coordinate to check.
-	 * @return Whether or not the tile is occupied.
+	 * Sets the palette that tiles are drawn with.
+	 * @param palette The palette to use.
 	 */
-	private boolean isOccupied(int x, int y) {
-		return tiles[y][x] != null;
+	public void setPalette(TilePalette palette) {
+		this.atlas = new TileAtlas(palette, TILE_SIZE, SHADE_WIDTH);
+		this.stackVersion = -1;
+		repaint();
 	}
 	
 	/**
-	 * Sets a tile located at the desired column and row.
-	 * @param x The column.
-	 * @param y The row.
-	 * @param type The value to set to the tile to.
+	 * Asks for a range of board rows to be repainted. Rows that are hidden
+	 * from view are ignored.
+	 * @param firstRow The first row to repaint.
+	 * @param lastRow The last row to repaint, inclusive.
 	 */
-	private void setTile(int  x, int y, TileType type) {
-		tiles[y][x] = type;
-	}
-		
-	/**
-	 * Gets a tile by it's column and row.
-	 * @param x The column.
-	 * @param y The row.
-	 * @return The tile.
-	 */
-	private TileType getTile(int x, int y) {
-		return tiles[y][x];
+	public void repaintRows(int firstRow, int lastRow) {
+		firstRow = Math.max(firstRow, HIDDEN_ROW_COUNT);
+		lastRow = Math.min(lastRow, ROW_COUNT - 1);
+		if(firstRow <= lastRow) {
+			/*
+			 * The extra pixel covers the outline drawn just below the bottom row.
+			 */
+			int y = BORDER_WIDTH + (firstRow - HIDDEN_ROW_COUNT) * TILE_SIZE;
+			repaint(0, y, PANEL_WIDTH, (lastRow - firstRow + 1) * TILE_SIZE + 1);
+		}
 	}
 	
 	@Override
 	public void paintComponent(Graphics g) {
+		long startTime = System.nanoTime();
 		super.paintComponent(g);
 		
+		//Everything is drawn from the same snapshot so the frame is consistent.
+		drawFrame(g, tetris.getSnapshot());
+		tetris.recordFrame(startTime);
+	}
+	
+	/**
+	 * Draws a snapshot of the board onto a cleared background. This is used
+	 * both when Swing paints the panel and when a {@code GameCanvas} renders
+	 * the game directly.
+	 * @param g The graphics object, with its origin at the top left of the panel.
+	 * @param frame The snapshot to draw.
+	 */
+	void drawFrame(Graphics g, FrameSnapshot frame) {
 		//This helps simplify the positioning of things.
 		g.translate(BORDER_WIDTH, BORDER_WIDTH);
 		
 		/*
 		 * Draw the board differently depending on the current game state.
 		 */
-		if(tetris.isPaused()) {
+		if(frame.isPaused()) {
 			g.setFont(LARGE_FONT);
 			g.setColor(Color.WHITE);
 			String msg = "PAUSED";
 			g.drawString(msg, CENTER_X - g.getFontMetrics().stringWidth(msg) / 2, CENTER_Y);
-		} else if(tetris.isNewGame() || tetris.isGameOver()) {
+		} else if(frame.isNewGame() || frame.isGameOver()) {
 			g.setFont(LARGE_FONT);
 			g.setColor(Color.WHITE);
 			
@@ -310,24 +232,21 @@ public class BoardPanel extends JPanel {
 			 * we can handle them together and just use a ternary operator to change
 			 * the messages that are displayed.
 			 */
-			String msg = tetris.isNewGame() ? "TETRIS" : "GAME OVER";
+			String msg = frame.isNewGame() ? "TETRIS" : "GAME OVER";
 			g.drawString(msg, CENTER_X - g.getFontMetrics().stringWidth(msg) / 2, 150);
 			g.setFont(SMALL_FONT);
-			msg = "Press Enter to Play" + (tetris.isNewGame() ? "" : " Again");
+			msg = frame.isNewGame() ? NEW_GAME_PROMPT : GAME_OVER_PROMPT;
 			g.drawString(msg, CENTER_X - g.getFontMetrics().stringWidth(msg) / 2, 300);
 		} else {
 			
 			/*
-			 * Draw the tiles onto the board.
+			 * Draw the tiles onto the board, redrawing the layer first if the
+			 * board has changed since it was last drawn.
 			 */
-			for(int x = 0; x < COL_COUNT; x++) {
-				for(int y = HIDDEN_ROW_COUNT; y < ROW_COUNT; y++) {
-					TileType tile = getTile(x, y);
-					if(tile != null) {
-						drawTile(tile, x * TILE_SIZE, (y - HIDDEN_ROW_COUNT) * TILE_SIZE, g);
-					}
-				}
+			if(frame.getBoardVersion() != stackVersion) {
+				drawStackLayer(frame);
 			}
+			g.drawImage(stackLayer, 0, 0, null);
 			
 			/*
 			 * Draw the current piece. This cannot be drawn like the rest of the
@@ -335,59 +254,52 @@ public class BoardPanel extends JPanel {
 			 * part of the board, it would need to be removed every frame which
 			 * would just be slow and confusing.
 			 */
-			TileType type = tetris.getPieceType();
-			int pieceCol = tetris.getPieceCol();
-			int pieceRow = tetris.getPieceRow();
-			int rotation = tetris.getPieceRotation();
+			TileType type = frame.getPieceType();
+			int pieceCol = frame.getPieceCol();
+			int pieceRow = frame.getPieceRow();
+			int rotation = frame.getPieceRotation();
+			
+			PieceShape shape = type.getShape(rotation);
+			
+			/*
+			 * The game only updates 50 times a second, but the board may be drawn
+			 * much more often than that. Rather than jumping, a piece that has just
+			 * moved slides from its previous position over the course of a frame.
+			 */
+			float t = frame.getInterpolation(System.nanoTime());
+			int previousCol = frame.getPreviousCol();
+			int previousRow = frame.getPreviousRow();
+			int pieceX = Math.round((previousCol + (pieceCol - previousCol) * t) * TILE_SIZE);
+			int pieceY = Math.round((previousRow + (pieceRow - previousRow) * t - HIDDEN_ROW_COUNT) * TILE_SIZE);
 			
-			//Draw the piece onto the board.
-			for(int col = 0; col < type.getDimension(); col++) {
-				for(int row = 0; row < type.getDimension(); row++) {
-					if(pieceRow + row >= 2 && type.isTile(col, row, rotation)) {
-						drawTile(type, (pieceCol + col) * TILE_SIZE, (pieceRow + row - HIDDEN_ROW_COUNT) * TILE_SIZE, g);
-					}
+			//Draw the piece onto the board, leaving out any tiles above the top.
+			for(int cell = 0; cell < shape.getCellCount(); cell++) {
+				int x = pieceX + shape.getCellCol(cell) * TILE_SIZE;
+				int y = pieceY + shape.getCellRow(cell) * TILE_SIZE;
+				if(y >= 0) {
+					drawTile(type, x, y, g);
 				}
 			}
 			
 			/*
-			 * Draw the ghost (semi-transparent piece that shows where the current piece will land). I couldn't think of
-			 * a better way to implement this so it'll have to do for now. We simply take the current position and move
-			 * down until we hit a row that would cause a collision.
+			 * Draw the ghost (semi-transparent piece that shows where the current piece will land). The
+			 * row it lands on is worked out by the engine when the snapshot is taken.
 			 */
-			Color base = type.getBaseColor();
-			base = new Color(base.getRed(), base.getGreen(), base.getBlue(), 20);
-			for(int lowest = pieceRow; lowest < ROW_COUNT; lowest++) {
-				//If no collision is detected, try the next row.
-				if(isValidAndEmpty(type, pieceCol, lowest, rotation)) {					
-					continue;
-				}
-				
-				//Draw the ghost one row higher than the one the collision took place at.
-				lowest--;
-				
-				//Draw the ghost piece.
-				for(int col = 0; col < type.getDimension(); col++) {
-					for(int row = 0; row < type.getDimension(); row++) {
-						if(lowest + row >= 2 && type.isTile(col, row, rotation)) {
-							drawTile(base, base.brighter(), base.darker(), (pieceCol + col) * TILE_SIZE, (lowest + row - HIDDEN_ROW_COUNT) * TILE_SIZE, g);
-						}
-					}
+			Image ghost = atlas.getGhost(type);
+			int lowest = frame.getGhostRow();
+			for(int cell = 0; cell < shape.getCellCount(); cell++) {
+				int col = shape.getCellCol(cell);
+				int row = shape.getCellRow(cell);
+				if(lowest + row >= 2) {
+					g.drawImage(ghost, pieceX + col * TILE_SIZE, (lowest + row - HIDDEN_ROW_COUNT) * TILE_SIZE, null);
 				}
-				
-				break;
 			}
 			
 			/*
 			 * Draw the background grid above the pieces (serves as a useful visual
 			 * for players, and makes the pieces look nicer by breaking them up.
 			 */
-			g.setColor(Color.DARK_GRAY);
-			for(int x = 0; x < COL_COUNT; x++) {
-				for(int y = 0; y < VISIBLE_ROW_COUNT; y++) {
-					g.drawLine(0, y * TILE_SIZE, COL_COUNT * TILE_SIZE, y * TILE_SIZE);
-					g.drawLine(x * TILE_SIZE, 0, x * TILE_SIZE, VISIBLE_ROW_COUNT * TILE_SIZE);
-				}
-			}
+			g.drawImage(gridLayer, 0, 0, null);
 		}
 		
 		/*
@@ -395,52 +307,61 @@ public class BoardPanel extends JPanel {
 		 */
 		g.setColor(Color.WHITE);
 		g.drawRect(0, 0, TILE_SIZE * COL_COUNT, TILE_SIZE * VISIBLE_ROW_COUNT);
+		
+		//Leave the origin where it was, so the caller can carry on drawing with the same graphics.
+		g.translate(-BORDER_WIDTH, -BORDER_WIDTH);
 	}
 	
 	/**
-	 * Draws a tile onto the board.
-	 * @param type The type of tile to draw.
-	 * @param x The column.
-	 * @param y The row.
-	 * @param g The graphics object.
+	 * Draws the grid into a transparent image.
+	 * @return The grid layer.
 	 */
-	private void drawTile(TileType type, int x, int y, Graphics g) {
-		drawTile(type.getBaseColor(), type.getLightColor(), type.getDarkColor(), x, y, g);
+	private static BufferedImage createGridLayer() {
+		BufferedImage image = new BufferedImage(COL_COUNT * TILE_SIZE, VISIBLE_ROW_COUNT * TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.DARK_GRAY);
+		for(int y = 0; y < VISIBLE_ROW_COUNT; y++) {
+			g.drawLine(0, y * TILE_SIZE, COL_COUNT * TILE_SIZE, y * TILE_SIZE);
+		}
+		for(int x = 0; x < COL_COUNT; x++) {
+			g.drawLine(x * TILE_SIZE, 0, x * TILE_SIZE, VISIBLE_ROW_COUNT * TILE_SIZE);
+		}
+		g.dispose();
+		return image;
+	}
+	
+	/**
+	 * Redraws the locked tiles of a snapshot into the stack layer.
+	 * @param frame The snapshot to draw.
+	 */
+	private void drawStackLayer(FrameSnapshot frame) {
+		Graphics2D g = stackGraphics;
+		
+		//Clear out the old tiles.
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, stackLayer.getWidth(), stackLayer.getHeight());
+		g.setComposite(AlphaComposite.SrcOver);
+		
+		for(int x = 0; x < COL_COUNT; x++) {
+			for(int y = HIDDEN_ROW_COUNT; y < ROW_COUNT; y++) {
+				TileType tile = frame.getTile(x, y);
+				if(tile != null) {
+					drawTile(tile, x * TILE_SIZE, (y - HIDDEN_ROW_COUNT) * TILE_SIZE, g);
+				}
+			}
+		}
+		this.stackVersion = frame.getBoardVersion();
 	}
 	
 	/**
 	 * Draws a tile onto the board.
-	 * @param base The base color of tile.
-	 * @param light The light color of the tile.
-	 * @param dark The dark color of the tile.
+	 * @param type The type of tile to draw.
 	 * @param x The column.
 	 * @param y The row.
 	 * @param g The graphics object.
 	 */
-	private void drawTile(Color base, Color light, Color dark, int x, int y, Graphics g) {
-		
-		/*
-		 * Fill the entire tile with the base color.
-		 */
-		g.setColor(base);
-		g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-		
-		/*
-		 * Fill the bottom and right edges of the tile with the dark shading color.
-		 */
-		g.setColor(dark);
-		g.fillRect(x, y + TILE_SIZE - SHADE_WIDTH, TILE_SIZE, SHADE_WIDTH);
-		g.fillRect(x + TILE_SIZE - SHADE_WIDTH, y, SHADE_WIDTH, TILE_SIZE);
-		
-		/*
-		 * Fill the top and left edges with the light shading. We draw a single line
-		 * for each row or column rather than a rectangle so that we can draw a nice
-		 * looking diagonal where the light and dark shading meet.
-		 */
-		g.setColor(light);
-		for(int i = 0; i < SHADE_WIDTH; i++) {
-			g.drawLine(x, y + i, x + TILE_SIZE - i - 1, y + i);
-			g.drawLine(x + i, y, x + i, y + TILE_SIZE - i - 1);
-		}
+	private void drawTile(TileType type, int x, int y, Graphics g) {
+		g.drawImage(atlas.getTile(type), x, y, null);
 	}
+	
 }
@@ -0,0 +1,156 @@
+package org.psnbtech;
+
+/**
+ * The {@code BotPolicy} class plays with a simple greedy search. When a piece
+ * spawns, every rotation and column it could be dropped at is scored by the
+ * lines it would complete, how low it would land and how many holes it would
+ * leave underneath it. The bot then rotates and moves the piece towards the
+ * best placement and soft drops it the rest of the way.
+ */
+public class BotPolicy implements Policy {
+
+	/**
+	 * The weight of each line that a placement completes.
+	 */
+	private static final int LINE_WEIGHT = 8;
+
+	/**
+	 * The weight of each row that a placement lands below the top of the board.
+	 */
+	private static final int HEIGHT_WEIGHT = 1;
+
+	/**
+	 * The weight of each empty tile left directly beneath a placement.
+	 */
+	private static final int HOLE_WEIGHT = 4;
+
+	/**
+	 * The number of inputs the bot will spend on a single piece before giving
+	 * up on its plan, in case a rotation or move is blocked.
+	 */
+	private static final int MAX_INPUTS = 16;
+
+	/**
+	 * The number of pieces that had been placed when the current plan was made,
+	 * or -1 if there is no plan.
+	 */
+	private int plannedPiece = -1;
+
+	/**
+	 * The rotation that the current piece should be dropped at.
+	 */
+	private int targetRotation;
+
+	/**
+	 * The column that the current piece should be dropped at.
+	 */
+	private int targetCol;
+
+	/**
+	 * The number of inputs spent on the current piece.
+	 */
+	private int inputs;
+
+	@Override
+	public Input nextInput(TetrisEngine engine) {
+		//Make a new plan whenever a new piece has spawned.
+		if(plannedPiece != engine.getPieces()) {
+			plan(engine);
+		}
+
+		/*
+		 * Rotate and move towards the target, and once it has been reached (or the
+		 * plan has run out of inputs) start dropping. The engine ignores the drop
+		 * until the cooldown after spawning has passed, so it's requested every frame.
+		 */
+		Input input = Input.DROP_START;
+		if(inputs < MAX_INPUTS) {
+			if(engine.getPieceRotation() != targetRotation) {
+				input = Input.ROTATE_CLOCKWISE;
+			} else if(engine.getPieceCol() < targetCol) {
+				input = Input.MOVE_RIGHT;
+			} else if(engine.getPieceCol() > targetCol) {
+				input = Input.MOVE_LEFT;
+			}
+		}
+
+		if(input != Input.DROP_START) {
+			inputs++;
+		}
+		return input;
+	}
+
+	/**
+	 * Finds the best placement for the current piece.
+	 * @param engine The game being played.
+	 */
+	private void plan(TetrisEngine engine) {
+		Board board = engine.getBoard();
+		TileType type = engine.getPieceType();
+		int row = engine.getPieceRow();
+
+		this.plannedPiece = engine.getPieces();
+		this.targetRotation = engine.getPieceRotation();
+		this.targetCol = engine.getPieceCol();
+		this.inputs = 0;
+
+		int best = Integer.MIN_VALUE;
+		for(int rotation = 0; rotation < 4; rotation++) {
+			PieceShape shape = type.getShape(rotation);
+			for(int col = shape.getMinCol(); col <= shape.getMaxCol(); col++) {
+				/*
+				 * Skip placements that can't be reached from the current row, then drop
+				 * the piece as far as it will go.
+				 */
+				if(!board.isValidAndEmpty(type, col, row, rotation)) {
+					continue;
+				}
+				int landing = board.getDropRow(type, col, row, rotation);
+
+				int score = evaluate(board, shape, col, landing);
+				if(score > best) {
+					best = score;
+					targetRotation = rotation;
+					targetCol = col;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Scores a placement of a piece.
+	 * @param board The board.
+	 * @param shape The shape of the piece.
+	 * @param x The column of the piece.
+	 * @param y The row of the piece.
+	 * @return The score of the placement; higher is better.
+	 */
+	private static int evaluate(Board board, PieceShape shape, int x, int y) {
+		/*
+		 * Count the rows that would be full once the piece is added.
+		 */
+		int lines = 0;
+		int end = shape.getDimension() - shape.getBottomInset();
+		for(int row = shape.getTopInset(); row <= end; row++) {
+			if((board.getRowMask(y + row) | Board.shiftMask(shape.getRowMask(row), x)) == Board.FULL_ROW) {
+				lines++;
+			}
+		}
+
+		/*
+		 * Count the empty tiles directly beneath the bottom of each column of the piece.
+		 */
+		int holes = 0;
+		for(int col = 0; col < shape.getDimension(); col++) {
+			int bottom = shape.getBottom(col);
+			int below = y + bottom + 1;
+			if(bottom >= 0 && below < Board.ROW_COUNT && board.getTile(x + col, below) == null) {
+				holes++;
+			}
+		}
+
+		int height = y + end;
+		return lines * LINE_WEIGHT + height * HEIGHT_WEIGHT - holes * HOLE_WEIGHT;
+	}
+
+}
@@ -2,20 +2,36 @@ package org.psnbtech;
 
 /**
  * The {@code Clock} class is responsible for tracking the number of cycles
- * that have elapsed over time. 
+ * that have elapsed over time. Time is read from a {@code TimeSource} and
+ * counted in whole nanoseconds, so a clock never drifts however long it runs.
  * @author Brendan Jones
  *
  */
 public class Clock {
 	
 	/**
-	 * The number of milliseconds that make up one cycle.
+	 * The number of nanoseconds in a millisecond.
 	 */
-	private float millisPerCycle;
+	private static final long NANOS_PER_MILLI = 1000000L;
 	
 	/**
-	 * The last time that the clock was updated (used for calculating the
-	 * delta time).
+	 * The number of nanoseconds in a second.
+	 */
+	private static final double NANOS_PER_SECOND = 1.0e9;
+	
+	/**
+	 * The source that the current time is read from.
+	 */
+	private final TimeSource timeSource;
+	
+	/**
+	 * The number of nanoseconds that make up one cycle.
+	 */
+	private long nanosPerCycle;
+	
+	/**
+	 * The last time that the clock was updated in nanoseconds (used for
+	 * calculating the delta time).
 	 */
 	private long lastUpdate;
 	
@@ -25,9 +41,9 @@ public class Clock {
 	private int elapsedCycles;
 	
 	/**
-	 * The amount of excess time towards the next elapsed cycle.
+	 * The number of excess nanoseconds towards the next elapsed cycle.
 	 */
-	private float excessCycles;
+	private long excessNanos;
 	
 	/**
 	 * Whether or not the clock is paused.
@@ -35,20 +51,37 @@ public class Clock {
 	private boolean isPaused;
 	
 	/**
-	 * Creates a new clock and sets it's cycles-per-second.
+	 * Creates a new clock that runs on the system's high resolution clock and
+	 * sets it's cycles-per-second.
 	 * @param cyclesPerSecond The number of cycles that elapse per second.
 	 */
 	public Clock(float cyclesPerSecond) {
+		this(cyclesPerSecond, TimeSource.SYSTEM);
+	}
+	
+	/**
+	 * Creates a new clock and sets it's cycles-per-second.
+	 * @param cyclesPerSecond The number of cycles that elapse per second.
+	 * @param timeSource The source that the current time is read from.
+	 */
+	public Clock(float cyclesPerSecond, TimeSource timeSource) {
+		this.timeSource = timeSource;
 		setCyclesPerSecond(cyclesPerSecond);
 		reset();
 	}
 	
 	/**
-	 * Sets the number of cycles that elapse per second.
+	 * Sets the number of cycles that elapse per second. The length of a cycle
+	 * is rounded to the nearest nanosecond, and a clock without a positive
+	 * number of cycles per second never elapses a cycle.
 	 * @param cyclesPerSecond The number of cycles per second.
 	 */
 	public void setCyclesPerSecond(float cyclesPerSecond) {
-		this.millisPerCycle = (1.0f / cyclesPerSecond) * 1000;
+		if(cyclesPerSecond > 0.0f) {
+			this.nanosPerCycle = Math.max(1L, Math.round(NANOS_PER_SECOND / cyclesPerSecond));
+		} else {
+			this.nanosPerCycle = Long.MAX_VALUE;
+		}
 	}
 	
 	/**
@@ -58,8 +91,8 @@ public class Clock {
 	 */
 	public void reset() {
 		this.elapsedCycles = 0;
-		this.excessCycles = 0.0f;
-		this.lastUpdate = getCurrentTime();
+		this.excessNanos = 0L;
+		this.lastUpdate = timeSource.nanoTime();
 		this.isPaused = false;
 	}
 	
@@ -71,17 +104,35 @@ public class Clock {
 	 */
 	public void update() {
 		//Get the current time and calculate the delta time.
-		long currUpdate = getCurrentTime();
-		float delta = (float)(currUpdate - lastUpdate) + excessCycles;
+		long currUpdate = timeSource.nanoTime();
+		elapse(currUpdate - lastUpdate);
 		
+		//Set the last update time for the next update cycle.
+		this.lastUpdate = currUpdate;
+	}
+	
+	/**
+	 * Advances the clock by a fixed amount of time instead of reading the
+	 * system time. This lets a game run on simulated time, as fast as the CPU
+	 * allows, while elapsing exactly the same cycles it would in real time.
+	 * Like {@code update}, nothing is counted while the clock is paused.
+	 * @param millis The number of milliseconds to advance by.
+	 */
+	public void advance(long millis) {
+		elapse(millis * NANOS_PER_MILLI);
+	}
+	
+	/**
+	 * Counts the cycles that have elapsed over a period of time.
+	 * @param nanos The length of the period in nanoseconds.
+	 */
+	private void elapse(long nanos) {
 		//Update the number of elapsed and excess ticks if we're not paused.
 		if(!isPaused) {
-			this.elapsedCycles += (int)Math.floor(delta / millisPerCycle);
-			this.excessCycles = delta % millisPerCycle;
+			long delta = nanos + excessNanos;
+			this.elapsedCycles += (int)(delta / nanosPerCycle);
+			this.excessNanos = delta % nanosPerCycle;
 		}
-		
-		//Set the last update time for the next update cycle.
-		this.lastUpdate = currUpdate;
 	}
 	
 	/**
@@ -128,14 +179,34 @@ public class Clock {
 	}
 	
 	/**
-	 * Calculates the current time in milliseconds using the computer's high
-	 * resolution clock. This is much more reliable than
-	 * {@code System.getCurrentTimeMillis()}, and quicker than
-	 * {@code System.nanoTime()}.
-	 * @return The current time in milliseconds.
+	 * Gets the amount of time that has to pass before the next cycle elapses.
+	 * @return The number of nanoseconds until the next cycle, 0 if a cycle has
+	 * already elapsed, or {@code Long.MAX_VALUE} if the clock is paused or never
+	 * elapses a cycle.
 	 */
-	private static final long getCurrentTime() {
-		return (System.nanoTime() / 1000000L);
+	public long getNanosUntilNextCycle() {
+		if(isPaused || nanosPerCycle == Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
+		}
+		if(elapsedCycles > 0) {
+			return 0L;
+		}
+		return nanosPerCycle - excessNanos;
+	}
+	
+	/**
+	 * Gets the time that the next cycle will elapse, for a clock that is kept up
+	 * to date with {@code update}. Waiting until then, rather than updating the
+	 * clock every frame, lets a caller sleep through the time in between.
+	 * @return The time on this clock's time source in nanoseconds, or
+	 * {@code Long.MAX_VALUE} if the clock is paused or never elapses a cycle.
+	 */
+	public long getNextCycleTime() {
+		long nanos = getNanosUntilNextCycle();
+		if(nanos == Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
+		}
+		return lastUpdate + nanos;
 	}
 
 }
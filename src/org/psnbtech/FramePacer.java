@@ -0,0 +1,104 @@
+package org.psnbtech;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code FramePacer} class is responsible for waiting until the next frame
+ * is due. {@code Thread.sleep} can wake a millisecond or more late, which shows
+ * up as uneven frames on a high refresh rate display. The pacer parks the
+ * thread until it is close to the deadline, then spins for the rest so that it
+ * wakes on time without burning a whole core between frames.
+ * <p>
+ * Deadlines are a fixed period apart, so a frame that wakes late doesn't push
+ * back the frames after it.
+ */
+public class FramePacer {
+
+	/**
+	 * How close to the deadline, in nanoseconds, the pacer stops parking and
+	 * starts spinning. Parking is only accurate to around a millisecond on
+	 * most systems.
+	 */
+	public static final long SPIN_THRESHOLD = 1000000L;
+
+	/**
+	 * The source that the time is read from.
+	 */
+	private final TimeSource timeSource;
+
+	/**
+	 * The number of nanoseconds between frames.
+	 */
+	private final long period;
+
+	/**
+	 * The time in nanoseconds that the next frame is due.
+	 */
+	private long deadline;
+
+	/**
+	 * Creates a new FramePacer that reads the system time. The first frame is
+	 * due one period from now.
+	 * @param framesPerSecond The number of frames to pace per second.
+	 */
+	public FramePacer(int framesPerSecond) {
+		this(framesPerSecond, TimeSource.SYSTEM);
+	}
+
+	/**
+	 * Creates a new FramePacer. The first frame is due one period from now.
+	 * @param framesPerSecond The number of frames to pace per second.
+	 * @param timeSource The source that the time is read from.
+	 * @throws IllegalArgumentException If the frame rate isn't positive.
+	 */
+	public FramePacer(int framesPerSecond, TimeSource timeSource) {
+		if(framesPerSecond <= 0) {
+			throw new IllegalArgumentException("Frame rate must be positive, got " + framesPerSecond);
+		}
+		this.timeSource = timeSource;
+		this.period = 1000000000L / framesPerSecond;
+		this.deadline = timeSource.nanoTime() + period;
+	}
+
+	/**
+	 * Waits until the next frame is due, then schedules the one after it. If
+	 * the caller has fallen more than a whole period behind, the missed frames
+	 * are skipped rather than being run back to back.
+	 * @return The time in nanoseconds that the wait ended.
+	 */
+	public long awaitNextFrame() {
+		long now = timeSource.nanoTime();
+		long remaining;
+		while((remaining = deadline - now) > 0) {
+			if(remaining > SPIN_THRESHOLD) {
+				LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+			} else {
+				Thread.onSpinWait();
+			}
+			now = timeSource.nanoTime();
+		}
+
+		deadline += period;
+		if(deadline - now <= 0) {
+			deadline = now + period;
+		}
+		return now;
+	}
+
+	/**
+	 * Gets the number of nanoseconds between frames.
+	 * @return The period.
+	 */
+	public long getPeriod() {
+		return period;
+	}
+
+	/**
+	 * Gets the time in nanoseconds that the next frame is due.
+	 * @return The deadline.
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+}
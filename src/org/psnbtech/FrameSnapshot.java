@@ -0,0 +1,327 @@
+package org.psnbtech;
+
+/**
+ * The {@code FrameSnapshot} class is a copy of everything the renderer needs to
+ * draw a single frame. The engine fills in a snapshot at the end of each frame
+ * and hands it over through a {@code SnapshotBuffer}, so the panels can paint
+ * on another thread without ever seeing the game halfway through an update.
+ * <p>
+ * Snapshots are recycled rather than allocated each frame. Only the engine
+ * writes to them, and only while it owns them.
+ */
+public class FrameSnapshot {
+
+	/**
+	 * The tiles of the board, in row-major order.
+	 */
+	private final TileType[] tiles = new TileType[Board.ROW_COUNT * Board.COL_COUNT];
+
+	/**
+	 * The version of the board that {@code tiles} was copied from.
+	 */
+	private long boardVersion;
+
+	/**
+	 * The number of the frame this snapshot was taken on.
+	 */
+	private long frame;
+
+	/**
+	 * Whether or not the game is paused.
+	 */
+	private boolean isPaused;
+
+	/**
+	 * Whether or not we've played a game yet.
+	 */
+	private boolean isNewGame = true;
+
+	/**
+	 * Whether or not the game is over.
+	 */
+	private boolean isGameOver;
+
+	/**
+	 * The current score.
+	 */
+	private int score;
+
+	/**
+	 * The current level.
+	 */
+	private int level;
+
+	/**
+	 * The number of lines cleared.
+	 */
+	private int lines;
+
+	/**
+	 * The current type of piece, or {@code null} if there isn't one.
+	 */
+	private TileType pieceType;
+
+	/**
+	 * The next type of piece.
+	 */
+	private TileType nextPieceType;
+
+	/**
+	 * The column of the current piece.
+	 */
+	private int pieceCol;
+
+	/**
+	 * The row of the current piece.
+	 */
+	private int pieceRow;
+
+	/**
+	 * The rotation of the current piece.
+	 */
+	private int pieceRotation;
+
+	/**
+	 * The row that the current piece will land on.
+	 */
+	private int ghostRow;
+
+	/**
+	 * The column the current piece is moving from.
+	 */
+	private int previousCol;
+
+	/**
+	 * The row the current piece is moving from.
+	 */
+	private int previousRow;
+
+	/**
+	 * The time in nanoseconds that the frame was due to start.
+	 */
+	private long tickTime;
+
+	/**
+	 * Copies the tiles of the board. Nothing is copied if the board hasn't
+	 * changed since this snapshot last copied it.
+	 * @param board The board.
+	 */
+	void captureBoard(Board board) {
+		long version = board.getVersion();
+		if(version != boardVersion) {
+			for(int row = 0; row < Board.ROW_COUNT; row++) {
+				board.copyRow(row, tiles, row * Board.COL_COUNT);
+			}
+			this.boardVersion = version;
+		}
+	}
+
+	/**
+	 * Copies the position of the current piece.
+	 * @param type The type of the piece, or {@code null} if there isn't one.
+	 * @param col The column of the piece.
+	 * @param row The row of the piece.
+	 * @param rotation The rotation of the piece.
+	 * @param ghostRow The row that the piece will land on.
+	 */
+	void capturePiece(TileType type, int col, int row, int rotation, int ghostRow) {
+		this.pieceType = type;
+		this.pieceCol = col;
+		this.pieceRow = row;
+		this.pieceRotation = rotation;
+		this.ghostRow = ghostRow;
+		this.previousCol = col;
+		this.previousRow = row;
+	}
+
+	/**
+	 * Copies where the current piece is moving from. This must be called after
+	 * {@link #capturePiece}, which resets the piece to not moving at all.
+	 * @param previousCol The column the piece was on in the previous frame.
+	 * @param previousRow The row the piece was on in the previous frame.
+	 * @param tickTime The time in nanoseconds that the frame was due to start.
+	 */
+	void captureMotion(int previousCol, int previousRow, long tickTime) {
+		this.previousCol = previousCol;
+		this.previousRow = previousRow;
+		this.tickTime = tickTime;
+	}
+
+	/**
+	 * Copies the state of the game.
+	 * @param frame The number of the frame.
+	 * @param isPaused Whether or not the game is paused.
+	 * @param isNewGame Whether or not we've played a game yet.
+	 * @param isGameOver Whether or not the game is over.
+	 * @param score The current score.
+	 * @param level The current level.
+	 * @param lines The number of lines cleared.
+	 * @param nextPieceType The next type of piece.
+	 */
+	void captureState(long frame, boolean isPaused, boolean isNewGame, boolean isGameOver, int score, int level, int lines, TileType nextPieceType) {
+		this.frame = frame;
+		this.isPaused = isPaused;
+		this.isNewGame = isNewGame;
+		this.isGameOver = isGameOver;
+		this.score = score;
+		this.level = level;
+		this.lines = lines;
+		this.nextPieceType = nextPieceType;
+	}
+
+	/**
+	 * Gets a tile by it's column and row.
+	 * @param x The column.
+	 * @param y The row.
+	 * @return The tile.
+	 */
+	public TileType getTile(int x, int y) {
+		return tiles[y * Board.COL_COUNT + x];
+	}
+
+	/**
+	 * Gets the version of the board that the tiles were copied from.
+	 * @return The board version.
+	 */
+	public long getBoardVersion() {
+		return boardVersion;
+	}
+
+	/**
+	 * Gets the number of the frame this snapshot was taken on.
+	 * @return The frame number.
+	 */
+	public long getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Checks to see whether or not the game is paused.
+	 * @return Whether or not the game is paused.
+	 */
+	public boolean isPaused() {
+		return isPaused;
+	}
+
+	/**
+	 * Checks to see whether or not we're on a new game.
+	 * @return Whether or not this is a new game.
+	 */
+	public boolean isNewGame() {
+		return isNewGame;
+	}
+
+	/**
+	 * Checks to see whether or not the game is over.
+	 * @return Whether or not the game is over.
+	 */
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+
+	/**
+	 * Gets the current score.
+	 * @return The score.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Gets the current level.
+	 * @return The level.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Gets the number of lines cleared.
+	 * @return The number of lines.
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Gets the current type of piece.
+	 * @return The piece type, or {@code null} if there isn't one.
+	 */
+	public TileType getPieceType() {
+		return pieceType;
+	}
+
+	/**
+	 * Gets the next type of piece.
+	 * @return The next piece.
+	 */
+	public TileType getNextPieceType() {
+		return nextPieceType;
+	}
+
+	/**
+	 * Gets the column of the current piece.
+	 * @return The column.
+	 */
+	public int getPieceCol() {
+		return pieceCol;
+	}
+
+	/**
+	 * Gets the row of the current piece.
+	 * @return The row.
+	 */
+	public int getPieceRow() {
+		return pieceRow;
+	}
+
+	/**
+	 * Gets the rotation of the current piece.
+	 * @return The rotation.
+	 */
+	public int getPieceRotation() {
+		return pieceRotation;
+	}
+
+	/**
+	 * Gets the row that the current piece will land on.
+	 * @return The ghost row.
+	 */
+	public int getGhostRow() {
+		return ghostRow;
+	}
+
+	/**
+	 * Gets the column the current piece is moving from. This is the same as
+	 * its column unless the piece moved in this frame.
+	 * @return The previous column.
+	 */
+	public int getPreviousCol() {
+		return previousCol;
+	}
+
+	/**
+	 * Gets the row the current piece is moving from. This is the same as its
+	 * row unless the piece moved in this frame.
+	 * @return The previous row.
+	 */
+	public int getPreviousRow() {
+		return previousRow;
+	}
+
+	/**
+	 * Gets how far the current piece should be drawn between its previous
+	 * position and its position in this snapshot.
+	 * @param now The current time in nanoseconds, on the system clock.
+	 * @return A fraction between 0 (the previous position) and 1 (the current
+	 * position).
+	 */
+	public float getInterpolation(long now) {
+		long elapsed = now - tickTime;
+		if(elapsed >= TetrisEngine.FRAME_NANOS) {
+			return 1.0f;
+		}
+		return Math.max(0.0f, (float)elapsed / TetrisEngine.FRAME_NANOS);
+	}
+
+}
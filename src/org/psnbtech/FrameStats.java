@@ -0,0 +1,196 @@
+package org.psnbtech;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The {@code FrameStats} class is responsible for measuring how smoothly the
+ * game runs. The game loop and the renderer record into it as they go, and it
+ * keeps a {@link LatencyHistogram} of each of:
+ * <ul>
+ * <li>the time taken by each game update,</li>
+ * <li>the time taken to draw each frame,</li>
+ * <li>how late the game loop wakes up from each wait, and</li>
+ * <li>the time from a key being pressed until a frame showing it is drawn.</li>
+ * </ul>
+ * None of the recording methods allocate, so measuring the game doesn't make
+ * it stutter. The times can be read over JMX, or on the side panel's overlay.
+ */
+public class FrameStats implements FrameStatsMXBean {
+
+	/**
+	 * The name that the stats are registered under with the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "org.psnbtech:type=FrameStats";
+
+	/**
+	 * The value of {@code pendingInputTime} when no input is waiting to be drawn.
+	 */
+	private static final long NO_INPUT = Long.MIN_VALUE;
+
+	/**
+	 * The time taken by each game update.
+	 */
+	private final LatencyHistogram tickTimes = new LatencyHistogram();
+
+	/**
+	 * The time taken to draw each frame.
+	 */
+	private final LatencyHistogram renderTimes = new LatencyHistogram();
+
+	/**
+	 * How late the game loop woke up from each wait.
+	 */
+	private final LatencyHistogram sleepOvershoots = new LatencyHistogram();
+
+	/**
+	 * The time from a key being pressed until a frame showing it was drawn.
+	 */
+	private final LatencyHistogram inputLatencies = new LatencyHistogram();
+
+	/**
+	 * The time the oldest input handled by the current update was queued, or
+	 * {@code NO_INPUT}. This is only used by the game loop.
+	 */
+	private long handledInputTime = NO_INPUT;
+
+	/**
+	 * The time the oldest input in a published snapshot was queued, or
+	 * {@code NO_INPUT} once a frame has been drawn since. The renderer may be
+	 * on another thread to the game loop.
+	 */
+	private final AtomicLong pendingInputTime = new AtomicLong(NO_INPUT);
+
+	/**
+	 * Records the time taken by a game update. This must only be called by the
+	 * game loop.
+	 * @param nanos The time in nanoseconds.
+	 */
+	public void recordTick(long nanos) {
+		tickTimes.record(nanos);
+	}
+
+	/**
+	 * Records how late the game loop woke up from a wait. This must only be
+	 * called by the game loop.
+	 * @param nanos The time in nanoseconds between when the wait should have
+	 * ended and when it did.
+	 */
+	public void recordSleepOvershoot(long nanos) {
+		sleepOvershoots.record(nanos);
+	}
+
+	/**
+	 * Notes that the game loop has handled an input. Its latency is recorded
+	 * once a frame with its effect has been drawn. This must only be called by
+	 * the game loop.
+	 * @param queuedTime The time in nanoseconds that the input was queued.
+	 */
+	public void inputHandled(long queuedTime) {
+		if(handledInputTime == NO_INPUT) {
+			this.handledInputTime = queuedTime;
+		}
+	}
+
+	/**
+	 * Notes that the game loop has published a snapshot, so the inputs handled
+	 * since the last one will be shown by the next frame that is drawn. This
+	 * must only be called by the game loop.
+	 */
+	public void snapshotPublished() {
+		if(handledInputTime != NO_INPUT) {
+			//If an older input still hasn't been drawn, the latency is measured from that one.
+			pendingInputTime.compareAndSet(NO_INPUT, handledInputTime);
+			this.handledInputTime = NO_INPUT;
+		}
+	}
+
+	/**
+	 * Records a frame that has been drawn, and the latency of any inputs that
+	 * it is the first to show. This must only be called by whichever thread is
+	 * rendering.
+	 * @param startTime The time in nanoseconds that drawing started.
+	 * @param endTime The time in nanoseconds that the frame was finished.
+	 */
+	public void frameDrawn(long startTime, long endTime) {
+		renderTimes.record(endTime - startTime);
+		long inputTime = pendingInputTime.getAndSet(NO_INPUT);
+		if(inputTime != NO_INPUT) {
+			inputLatencies.record(endTime - inputTime);
+		}
+	}
+
+	/**
+	 * Gets the histogram of the time taken by each game update.
+	 * @return The histogram.
+	 */
+	public LatencyHistogram getTickTimes() {
+		return tickTimes;
+	}
+
+	/**
+	 * Gets the histogram of the time taken to draw each frame.
+	 * @return The histogram.
+	 */
+	public LatencyHistogram getRenderTimes() {
+		return renderTimes;
+	}
+
+	/**
+	 * Gets the histogram of how late the game loop woke up from each wait.
+	 * @return The histogram.
+	 */
+	public LatencyHistogram getSleepOvershoots() {
+		return sleepOvershoots;
+	}
+
+	/**
+	 * Gets the histogram of the time from a key being pressed until a frame
+	 * showing it was drawn.
+	 * @return The histogram.
+	 */
+	public LatencyHistogram getInputLatencies() {
+		return inputLatencies;
+	}
+
+	@Override
+	public LatencySummary getTickTime() {
+		return tickTimes.getSummary();
+	}
+
+	@Override
+	public LatencySummary getRenderTime() {
+		return renderTimes.getSummary();
+	}
+
+	@Override
+	public LatencySummary getSleepOvershoot() {
+		return sleepOvershoots.getSummary();
+	}
+
+	@Override
+	public LatencySummary getInputLatency() {
+		return inputLatencies.getSummary();
+	}
+
+	@Override
+	public void reset() {
+		tickTimes.reset();
+		renderTimes.reset();
+		sleepOvershoots.reset();
+		inputLatencies.reset();
+	}
+
+	/**
+	 * Registers the stats with the platform MBean server as {@code OBJECT_NAME}.
+	 * @throws JMException If the stats couldn't be registered, for example
+	 * because another instance already has been.
+	 */
+	public void register() throws JMException {
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+	}
+
+}
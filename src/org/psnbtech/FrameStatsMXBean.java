@@ -0,0 +1,44 @@
+package org.psnbtech;
+
+/**
+ * The {@code FrameStatsMXBean} interface is the management interface of
+ * {@link FrameStats}. It is registered as {@code FrameStats.OBJECT_NAME}, so
+ * the frame times of a running game can be read with JConsole, Mission Control
+ * or any other JMX client.
+ */
+public interface FrameStatsMXBean {
+
+	/**
+	 * Gets how long each game update took, including handling its inputs and
+	 * publishing its snapshot.
+	 * @return The tick times.
+	 */
+	LatencySummary getTickTime();
+
+	/**
+	 * Gets how long each frame took to draw. When Swing paints the panels
+	 * rather than the game loop drawing them, each panel is counted separately.
+	 * @return The render times.
+	 */
+	LatencySummary getRenderTime();
+
+	/**
+	 * Gets how late the game loop woke up from each wait.
+	 * @return The sleep overshoots.
+	 */
+	LatencySummary getSleepOvershoot();
+
+	/**
+	 * Gets how long it took from a key being pressed until a frame that showed
+	 * its effect had been drawn.
+	 * @return The input latencies.
+	 */
+	LatencySummary getInputLatency();
+
+	/**
+	 * Forgets every time recorded so far, so that the next readings only cover
+	 * what happens from now on.
+	 */
+	void reset();
+
+}
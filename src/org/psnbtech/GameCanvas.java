@@ -0,0 +1,146 @@
+package org.psnbtech;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * The {@code GameCanvas} class is responsible for active rendering. Rather than
+ * asking Swing to repaint the panels and waiting for the Event Dispatch Thread
+ * to get around to it, the game loop draws each frame straight into a page
+ * flipped {@link BufferStrategy} and shows it before starting the next frame.
+ * <p>
+ * The drawing itself is still done by a {@code BoardPanel} and a
+ * {@code SidePanel}, which are used as renderers and never added to a window.
+ */
+public class GameCanvas extends Canvas {
+
+	/**
+	 * Serial Version UID.
+	 */
+	private static final long serialVersionUID = -3283545227106632317L;
+
+	/**
+	 * The number of buffers to page flip between.
+	 */
+	private static final int BUFFER_COUNT = 2;
+
+	/**
+	 * The panel that draws the board.
+	 */
+	private final BoardPanel board;
+
+	/**
+	 * The panel that draws the stats, controls and next piece.
+	 */
+	private final SidePanel side;
+
+	/**
+	 * Called when the canvas is damaged, to wake the game loop if it is idle.
+	 */
+	private final Runnable damageListener;
+
+	/**
+	 * The buffers that frames are drawn into, created the first time a frame
+	 * is rendered.
+	 */
+	private BufferStrategy strategy;
+
+	/**
+	 * Whether or not the window system has asked for the canvas to be painted
+	 * since the last frame was rendered, for example because it was uncovered.
+	 */
+	private volatile boolean isDamaged;
+
+	/**
+	 * Creates a new GameCanvas.
+	 * @param board The panel that draws the board.
+	 * @param side The panel that draws the stats, controls and next piece.
+	 * @param damageListener Called on the Event Dispatch Thread whenever the
+	 * canvas needs a frame, so that an idle game loop can wake up to render it.
+	 */
+	public GameCanvas(BoardPanel board, SidePanel side, Runnable damageListener) {
+		this.board = board;
+		this.side = side;
+		this.damageListener = damageListener;
+		this.isDamaged = true;
+
+		setPreferredSize(new Dimension(BoardPanel.PANEL_WIDTH + SidePanel.PANEL_WIDTH, BoardPanel.PANEL_HEIGHT));
+		setBackground(Color.BLACK);
+
+		//Leave the keyboard focus with the window so that it still receives key events.
+		setFocusable(false);
+	}
+
+	/**
+	 * Called by the window system when the canvas needs painting. The game loop
+	 * does all of the drawing, so this only flags that a frame is needed.
+	 */
+	@Override
+	public void paint(Graphics g) {
+		this.isDamaged = true;
+		damageListener.run();
+	}
+
+	/**
+	 * Called by the window system when the canvas needs painting. This is
+	 * overridden so that the canvas isn't cleared before the next frame.
+	 */
+	@Override
+	public void update(Graphics g) {
+		paint(g);
+	}
+
+	/**
+	 * Checks to see whether or not the canvas needs a frame to be rendered even
+	 * though the game hasn't changed.
+	 * @return Whether or not the canvas has been damaged.
+	 */
+	public boolean isDamaged() {
+		return isDamaged;
+	}
+
+	/**
+	 * Draws a snapshot of the game and shows it on the screen. This must only
+	 * be called by the game loop, once the canvas is displayable.
+	 * @param frame The snapshot to draw.
+	 */
+	public void render(FrameSnapshot frame) {
+		if(strategy == null) {
+			createBufferStrategy(BUFFER_COUNT);
+			this.strategy = getBufferStrategy();
+		}
+		this.isDamaged = false;
+
+		/*
+		 * The contents of the buffers can be lost at any time (for example, when
+		 * the display mode changes), in which case the frame is drawn again.
+		 */
+		do {
+			do {
+				Graphics g = strategy.getDrawGraphics();
+				g.setColor(Color.BLACK);
+				g.fillRect(0, 0, getWidth(), getHeight());
+
+				/*
+				 * Both panels are drawn with the same graphics object, rather than
+				 * one created for each, so that a frame allocates as little as
+				 * possible. Neither panel draws outside of its own bounds.
+				 */
+				board.drawFrame(g, frame);
+				g.translate(BoardPanel.PANEL_WIDTH, 0);
+				side.drawFrame(g, frame);
+
+				g.dispose();
+			} while(strategy.contentsRestored());
+			strategy.show();
+		} while(strategy.contentsLost());
+
+		//Some window systems buffer drawing commands, so flush them to the screen now.
+		Toolkit.getDefaultToolkit().sync();
+	}
+
+}
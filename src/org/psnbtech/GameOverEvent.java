@@ -0,0 +1,31 @@
+package org.psnbtech;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code GameOverEvent} class is the Flight Recorder event for a game
+ * ending. Its duration runs from when the game started, so it covers the whole
+ * game, pauses included.
+ */
+@Name("org.psnbtech.GameOver")
+@Label("Game Over")
+@Category("Tetris")
+@Description("A game ended because a new piece didn't fit on the board")
+class GameOverEvent extends jdk.jfr.Event {
+
+	@Label("Score")
+	int score;
+
+	@Label("Level")
+	int level;
+
+	@Label("Lines")
+	int lines;
+
+	@Label("Pieces")
+	int pieces;
+
+}
@@ -59,4 +59,16 @@ class HeadlessTetris extends Tetris {
     @Override public int      getPieceCol()     { return pieceCol; }
     @Override public int      getPieceRow()     { return pieceRow; }
     @Override public int      getPieceRotation(){ return pieceRot; }
+
+    /**
+     * Builds a snapshot from the states set for testing, which is what the BoardPanel draws.
+     */
+    @Override public FrameSnapshot getSnapshot() {
+        FrameSnapshot snapshot = new FrameSnapshot();
+        snapshot.captureBoard(getBoard());
+        int ghostRow = (pieceType == null) ? pieceRow : getBoard().getDropRow(pieceType, pieceCol, pieceRow, pieceRot);
+        snapshot.capturePiece(pieceType, pieceCol, pieceRow, pieceRot, ghostRow);
+        snapshot.captureState(0L, paused, newGame, gameOver, 0, 1, 0, null);
+        return snapshot;
+    }
 }
@@ -0,0 +1,164 @@
+package org.psnbtech;
+
+/**
+ * The {@code Hitch} class describes a single frame that took longer than it
+ * should have, as kept by a {@link HitchRecorder}. It breaks the frame down
+ * into the time spent updating the game, rendering it and oversleeping, and
+ * says how much of the frame the garbage collector had the game stopped for.
+ * Every time is in nanoseconds, on the same clock as {@link System#nanoTime}.
+ */
+public class Hitch {
+
+	/**
+	 * The name of the phase of a frame spent updating the game.
+	 */
+	public static final String LOGIC = "logic";
+
+	/**
+	 * The name of the phase of a frame spent drawing it.
+	 */
+	public static final String RENDER = "render";
+
+	/**
+	 * The name of the phase of a frame spent waiting longer than was asked for.
+	 */
+	public static final String SLEEP = "sleep";
+
+	/**
+	 * The time the frame started.
+	 */
+	private final long startTime;
+
+	/**
+	 * The time the frame ended.
+	 */
+	private final long endTime;
+
+	/**
+	 * The time spent updating the game.
+	 */
+	private final long logicNanos;
+
+	/**
+	 * The time spent drawing the frame.
+	 */
+	private final long renderNanos;
+
+	/**
+	 * The time spent waiting after the frame should have ended.
+	 */
+	private final long sleepNanos;
+
+	/**
+	 * The time, within the frame, that a garbage collection had the game stopped.
+	 */
+	private final long pauseNanos;
+
+	/**
+	 * The collections that overlapped the frame, or an empty string if none did.
+	 */
+	private final String pauses;
+
+	/**
+	 * Creates a new Hitch.
+	 * @param startTime The time the frame started.
+	 * @param endTime The time the frame ended.
+	 * @param logicNanos The time spent updating the game.
+	 * @param renderNanos The time spent drawing the frame.
+	 * @param sleepNanos The time spent waiting after the frame should have ended.
+	 * @param pauseNanos The time within the frame that a garbage collection had the game stopped.
+	 * @param pauses The collections that overlapped the frame, or an empty string.
+	 */
+	Hitch(long startTime, long endTime, long logicNanos, long renderNanos, long sleepNanos,
+			long pauseNanos, String pauses) {
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.logicNanos = logicNanos;
+		this.renderNanos = renderNanos;
+		this.sleepNanos = sleepNanos;
+		this.pauseNanos = pauseNanos;
+		this.pauses = pauses;
+	}
+
+	/**
+	 * Gets the time the frame started.
+	 * @return The time in nanoseconds.
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Gets the time the frame ended.
+	 * @return The time in nanoseconds.
+	 */
+	public long getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * Gets the time spent updating the game.
+	 * @return The time in nanoseconds.
+	 */
+	public long getLogicNanos() {
+		return logicNanos;
+	}
+
+	/**
+	 * Gets the time spent drawing the frame.
+	 * @return The time in nanoseconds.
+	 */
+	public long getRenderNanos() {
+		return renderNanos;
+	}
+
+	/**
+	 * Gets the time spent waiting after the frame should have ended.
+	 * @return The time in nanoseconds.
+	 */
+	public long getSleepNanos() {
+		return sleepNanos;
+	}
+
+	/**
+	 * Gets how much of the frame a garbage collection had the game stopped for.
+	 * @return The time in nanoseconds, or 0 if no collection overlapped the frame.
+	 */
+	public long getPauseNanos() {
+		return pauseNanos;
+	}
+
+	/**
+	 * Gets the collections that overlapped the frame, each with its cause.
+	 * @return The collections, or an empty string if none did.
+	 */
+	public String getPauses() {
+		return pauses;
+	}
+
+	/**
+	 * Gets the phase of the frame that took the longest.
+	 * @return One of {@code LOGIC}, {@code RENDER} or {@code SLEEP}.
+	 */
+	public String getSlowestPhase() {
+		if(logicNanos >= renderNanos && logicNanos >= sleepNanos) {
+			return LOGIC;
+		}
+		return (renderNanos >= sleepNanos) ? RENDER : SLEEP;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%.1f ms frame, slowest %s (logic %.1f ms, render %.1f ms, sleep %.1f ms)",
+				(logicNanos + renderNanos + sleepNanos) / 1e6, getSlowestPhase(),
+				logicNanos / 1e6, renderNanos / 1e6, sleepNanos / 1e6));
+		if(pauses.isEmpty()) {
+			builder.append(", no GC");
+		} else {
+			builder.append(String.format(", %.1f ms in GC: %s", pauseNanos / 1e6, pauses));
+		}
+		return builder.toString();
+	}
+
+}
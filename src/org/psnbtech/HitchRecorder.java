@@ -0,0 +1,292 @@
+package org.psnbtech;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+/**
+ * The {@code HitchRecorder} class is responsible for explaining stutter. Every
+ * frame that takes longer than its budget is kept, along with how long it spent
+ * updating the game, rendering and oversleeping, in a ring buffer of the last
+ * few slow frames. Garbage collections are kept the same way, as they are
+ * reported by each {@link GarbageCollectorMXBean}, so that a dump can say which
+ * collections overlapped each slow frame.
+ * <p>
+ * A frame that was slow without a collection points at the game or at Swing.
+ * Safepoints that aren't for a collection aren't reported by the JVM, but show
+ * up as a slow sleep or render with no collection to account for them.
+ * <p>
+ * Frames within their budget are skipped without taking a lock, and a slow
+ * frame is copied into arrays made up front, so recording never allocates.
+ */
+public class HitchRecorder implements HitchRecorderMXBean, NotificationListener {
+
+	/**
+	 * The name that the recorder is registered under with the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "org.psnbtech:type=HitchRecorder";
+
+	/**
+	 * The number of slow frames, and of collections, kept by default.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * The longest a frame can take before it is recorded, in nanoseconds.
+	 */
+	private final long budget;
+
+	/**
+	 * The time each kept frame started.
+	 */
+	private final long[] startTimes;
+
+	/**
+	 * The time each kept frame ended.
+	 */
+	private final long[] endTimes;
+
+	/**
+	 * The time each kept frame spent updating the game.
+	 */
+	private final long[] logicTimes;
+
+	/**
+	 * The time each kept frame spent rendering.
+	 */
+	private final long[] renderTimes;
+
+	/**
+	 * The time each kept frame spent oversleeping.
+	 */
+	private final long[] sleepTimes;
+
+	/**
+	 * The number of slow frames recorded. The next one is kept at this
+	 * position, modulo the capacity.
+	 */
+	private long hitchCount;
+
+	/**
+	 * The time each kept collection started.
+	 */
+	private final long[] pauseStarts;
+
+	/**
+	 * The time each kept collection ended.
+	 */
+	private final long[] pauseEnds;
+
+	/**
+	 * The name and cause of each kept collection.
+	 */
+	private final String[] pauseNames;
+
+	/**
+	 * The number of collections recorded. The next one is kept at this
+	 * position, modulo the capacity.
+	 */
+	private long pauseCount;
+
+	/**
+	 * The time on the {@code System.nanoTime} clock that the times of each
+	 * collection are counted from, or {@code Long.MAX_VALUE} until the first
+	 * collection is reported. This is only used by the thread that reports
+	 * collections.
+	 */
+	private long collectorOrigin = Long.MAX_VALUE;
+
+	/**
+	 * Creates a new HitchRecorder that records frames longer than
+	 * {@code FRAME_TIME}, and keeps {@code DEFAULT_CAPACITY} of them.
+	 */
+	public HitchRecorder() {
+		this(TetrisEngine.FRAME_NANOS, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new HitchRecorder.
+	 * @param budget The longest a frame can take before it is recorded, in nanoseconds.
+	 * @param capacity The number of slow frames, and of collections, to keep.
+	 */
+	public HitchRecorder(long budget, int capacity) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.budget = budget;
+		this.startTimes = new long[capacity];
+		this.endTimes = new long[capacity];
+		this.logicTimes = new long[capacity];
+		this.renderTimes = new long[capacity];
+		this.sleepTimes = new long[capacity];
+		this.pauseStarts = new long[capacity];
+		this.pauseEnds = new long[capacity];
+		this.pauseNames = new String[capacity];
+	}
+
+	/**
+	 * Records a frame if it took longer than the budget. A frame that was
+	 * drawn by Swing rather than the game loop is recorded with only a render
+	 * time. This may be called by any thread.
+	 * @param startTime The time in nanoseconds that the frame started.
+	 * @param logicNanos The time spent updating the game.
+	 * @param renderNanos The time spent rendering.
+	 * @param sleepNanos The time spent waiting after the frame should have ended.
+	 * @param endTime The time in nanoseconds that the frame ended.
+	 */
+	public void recordFrame(long startTime, long logicNanos, long renderNanos, long sleepNanos, long endTime) {
+		if(logicNanos + renderNanos + sleepNanos <= budget) {
+			return;
+		}
+		synchronized(this) {
+			int index = (int)(hitchCount++ % startTimes.length);
+			startTimes[index] = startTime;
+			endTimes[index] = endTime;
+			logicTimes[index] = logicNanos;
+			renderTimes[index] = renderNanos;
+			sleepTimes[index] = sleepNanos;
+		}
+	}
+
+	/**
+	 * Records a garbage collection that stopped the game.
+	 * @param startTime The time in nanoseconds that the collection started.
+	 * @param endTime The time in nanoseconds that the collection ended.
+	 * @param name The name of the collection and its cause.
+	 */
+	synchronized void recordPause(long startTime, long endTime, String name) {
+		int index = (int)(pauseCount++ % pauseStarts.length);
+		pauseStarts[index] = startTime;
+		pauseEnds[index] = endTime;
+		pauseNames[index] = name;
+	}
+
+	/**
+	 * Records each collection reported by a garbage collector, once this has
+	 * been added as a listener by {@link #start}.
+	 */
+	@Override
+	public void handleNotification(Notification notification, Object handback) {
+		if(!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+			return;
+		}
+		long now = System.nanoTime();
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData)notification.getUserData());
+		GcInfo gc = info.getGcInfo();
+		
+		/*
+		 * A collection's times are in milliseconds from a point in the JVM's
+		 * startup that no other API gives. The notification arrives a little
+		 * after the collection ends, so the closest that point can be is the
+		 * earliest of the times it implies.
+		 */
+		this.collectorOrigin = Math.min(collectorOrigin, now - gc.getEndTime() * 1000000L);
+		recordPause(collectorOrigin + gc.getStartTime() * 1000000L, collectorOrigin + gc.getEndTime() * 1000000L,
+				info.getGcName() + " (" + info.getGcCause() + ")");
+	}
+
+	/**
+	 * Starts listening for collections from every garbage collector.
+	 */
+	public void start() {
+		for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if(collector instanceof NotificationEmitter) {
+				((NotificationEmitter)collector).addNotificationListener(this, null, null);
+			}
+		}
+	}
+
+	/**
+	 * Stops listening for collections.
+	 */
+	public void stop() {
+		for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if(collector instanceof NotificationEmitter) {
+				try {
+					((NotificationEmitter)collector).removeNotificationListener(this);
+				} catch(ListenerNotFoundException e) {
+					//It was never listening to this collector.
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets each slow frame that is still kept, oldest first, with the
+	 * collections that overlapped it.
+	 * @return The slow frames.
+	 */
+	public synchronized List<Hitch> getHitches() {
+		int capacity = startTimes.length;
+		long first = Math.max(0, hitchCount - capacity);
+		List<Hitch> hitches = new ArrayList<>((int)(hitchCount - first));
+		for(long i = first; i < hitchCount; i++) {
+			int index = (int)(i % capacity);
+			long start = startTimes[index];
+			long end = endTimes[index];
+			
+			//Add up how much of the frame each collection that overlapped it took.
+			long pauseNanos = 0;
+			StringBuilder pauses = new StringBuilder();
+			for(long j = Math.max(0, pauseCount - pauseStarts.length); j < pauseCount; j++) {
+				int pause = (int)(j % pauseStarts.length);
+				long overlap = Math.min(end, pauseEnds[pause]) - Math.max(start, pauseStarts[pause]);
+				if(overlap >= 0) {
+					pauseNanos += overlap;
+					if(pauses.length() > 0) {
+						pauses.append(", ");
+					}
+					pauses.append(pauseNames[pause]);
+				}
+			}
+			hitches.add(new Hitch(start, end, logicTimes[index], renderTimes[index], sleepTimes[index],
+					pauseNanos, pauses.toString()));
+		}
+		return hitches;
+	}
+
+	@Override
+	public synchronized long getHitchCount() {
+		return hitchCount;
+	}
+
+	@Override
+	public String[] dump() {
+		List<Hitch> hitches = getHitches();
+		long now = System.nanoTime();
+		String[] lines = new String[hitches.size()];
+		for(int i = 0; i < lines.length; i++) {
+			Hitch hitch = hitches.get(i);
+			lines[i] = String.format("%.1f s ago: %s", (now - hitch.getEndTime()) / 1e9, hitch);
+		}
+		return lines;
+	}
+
+	@Override
+	public synchronized void reset() {
+		this.hitchCount = 0;
+		this.pauseCount = 0;
+	}
+
+	/**
+	 * Registers the recorder with the platform MBean server as {@code OBJECT_NAME}.
+	 * @throws JMException If the recorder couldn't be registered, for example
+	 * because another instance already has been.
+	 */
+	public void register() throws JMException {
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+	}
+
+}
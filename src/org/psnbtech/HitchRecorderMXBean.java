@@ -0,0 +1,29 @@
+package org.psnbtech;
+
+/**
+ * The {@code HitchRecorderMXBean} interface is the management interface of
+ * {@link HitchRecorder}. It is registered as {@code HitchRecorder.OBJECT_NAME},
+ * so the slow frames of a running game can be dumped from any JMX client.
+ */
+public interface HitchRecorderMXBean {
+
+	/**
+	 * Gets the number of slow frames that have been recorded, including those
+	 * that are too old to still be kept.
+	 * @return The count.
+	 */
+	long getHitchCount();
+
+	/**
+	 * Describes each slow frame that is still kept, oldest first: which phase
+	 * of it was slow, and which garbage collections overlapped it.
+	 * @return A line for each slow frame.
+	 */
+	String[] dump();
+
+	/**
+	 * Forgets every slow frame and collection recorded so far.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,55 @@
+package org.psnbtech;
+
+/**
+ * The {@code Input} enum describes the actions a player can take. These are
+ * passed to the {@code TetrisEngine}, which decides whether or not they have
+ * any effect in the current game state.
+ */
+public enum Input {
+
+	/**
+	 * Moves the current piece one column to the left.
+	 */
+	MOVE_LEFT,
+
+	/**
+	 * Moves the current piece one column to the right.
+	 */
+	MOVE_RIGHT,
+
+	/**
+	 * Rotates the current piece anticlockwise.
+	 */
+	ROTATE_ANTICLOCKWISE,
+
+	/**
+	 * Rotates the current piece clockwise.
+	 */
+	ROTATE_CLOCKWISE,
+
+	/**
+	 * Starts dropping the current piece quickly.
+	 */
+	DROP_START,
+
+	/**
+	 * Stops dropping the current piece quickly.
+	 */
+	DROP_STOP,
+
+	/**
+	 * Drops the current piece straight to the row it would land on and locks it.
+	 */
+	HARD_DROP,
+
+	/**
+	 * Pauses or unpauses the game.
+	 */
+	PAUSE,
+
+	/**
+	 * Starts a new game when one isn't being played.
+	 */
+	START;
+
+}
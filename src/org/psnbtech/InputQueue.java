@@ -0,0 +1,202 @@
+package org.psnbtech;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code InputQueue} class carries inputs from the Event Dispatch Thread to
+ * the game loop. It is a bounded ring buffer for exactly one producer and one
+ * consumer, so neither side ever locks or blocks. Inputs are enum constants, so
+ * queueing one doesn't allocate anything either.
+ * <p>
+ * The producer writes a slot and then publishes it by moving the volatile tail
+ * on; the consumer reads a slot and then frees it by moving the volatile head
+ * on. Each index is only ever written by one thread.
+ * <p>
+ * A consumer with nothing else to do can {@link #await} an input instead of
+ * polling for one. The producer only has to unpark it, so offering an input
+ * still never blocks.
+ */
+public class InputQueue {
+
+	/**
+	 * The default number of inputs the queue can hold. This is far more than a
+	 * player can press in a single frame.
+	 */
+	public static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * The slots of the ring buffer. The length is a power of two.
+	 */
+	private final Input[] buffer;
+
+	/**
+	 * The time in nanoseconds that the input in each slot was offered.
+	 */
+	private final long[] times;
+
+	/**
+	 * The mask that wraps a position into an index of the buffer.
+	 */
+	private final int mask;
+
+	/**
+	 * The position of the next input to take. Only written by the consumer.
+	 */
+	private volatile long head;
+
+	/**
+	 * The position of the next free slot. Only written by the producer.
+	 */
+	private volatile long tail;
+
+	/**
+	 * The consumer thread while it is waiting for an input, or {@code null}.
+	 */
+	private volatile Thread waiter;
+
+	/**
+	 * Whether or not {@link #wake} has been called without ending a wait yet.
+	 */
+	private volatile boolean isWoken;
+
+	/**
+	 * The time in nanoseconds that the last input taken was offered. Only used
+	 * by the consumer.
+	 */
+	private long polledTime;
+
+	/**
+	 * Creates a new InputQueue with the default capacity.
+	 */
+	public InputQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new InputQueue.
+	 * @param capacity The number of inputs the queue can hold. This must be a power of two.
+	 * @throws IllegalArgumentException If the capacity isn't a positive power of two.
+	 */
+	public InputQueue(int capacity) {
+		if(capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+		}
+		this.buffer = new Input[capacity];
+		this.times = new long[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Adds an input to the queue. This must only be called by the producer.
+	 * @param input The input.
+	 * @return Whether or not the input was added. If the queue is full the input
+	 * is dropped rather than waiting for space.
+	 */
+	public boolean offer(Input input) {
+		long currentTail = tail;
+		if(currentTail - head == buffer.length) {
+			return false;
+		}
+		buffer[(int)currentTail & mask] = input;
+		times[(int)currentTail & mask] = System.nanoTime();
+		tail = currentTail + 1;
+		unparkWaiter();
+		return true;
+	}
+
+	/**
+	 * Takes the oldest input from the queue. This must only be called by the consumer.
+	 * @return The input, or {@code null} if the queue is empty.
+	 */
+	public Input poll() {
+		long currentHead = head;
+		if(currentHead == tail) {
+			return null;
+		}
+		Input input = buffer[(int)currentHead & mask];
+		this.polledTime = times[(int)currentHead & mask];
+		head = currentHead + 1;
+		return input;
+	}
+
+	/**
+	 * Gets the time that the input last taken by {@link #poll} was offered, so
+	 * that the consumer can tell how long it waited in the queue. This must only
+	 * be called by the consumer.
+	 * @return The time in nanoseconds, on the system clock.
+	 */
+	public long getPolledTime() {
+		return polledTime;
+	}
+
+	/**
+	 * Waits until there is an input in the queue, {@link #wake} is called, or
+	 * the time runs out, whichever comes first. This must only be called by the
+	 * consumer.
+	 * @param nanos The longest time to wait in nanoseconds, or
+	 * {@code Long.MAX_VALUE} to wait for as long as it takes.
+	 * @return Whether or not there is an input in the queue.
+	 */
+	public boolean await(long nanos) {
+		long deadline = System.nanoTime() + nanos;
+		this.waiter = Thread.currentThread();
+		try {
+			/*
+			 * The waiter is published before the queue is checked, and the producer
+			 * moves the tail before it checks for a waiter, so an input can't slip
+			 * in between the check and the park without unparking us.
+			 */
+			while(head == tail && !Thread.currentThread().isInterrupted()) {
+				if(isWoken) {
+					this.isWoken = false;
+					break;
+				}
+				long remaining = (nanos == Long.MAX_VALUE) ? Long.MAX_VALUE : deadline - System.nanoTime();
+				if(remaining <= 0) {
+					break;
+				}
+				LockSupport.parkNanos(this, remaining);
+			}
+		} finally {
+			this.waiter = null;
+		}
+		return (head != tail);
+	}
+
+	/**
+	 * Ends the consumer's current or next wait without giving it an input.
+	 * This may be called from any thread.
+	 */
+	public void wake() {
+		this.isWoken = true;
+		unparkWaiter();
+	}
+
+	/**
+	 * Unparks the consumer if it is waiting for an input.
+	 */
+	private void unparkWaiter() {
+		Thread thread = waiter;
+		if(thread != null) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	/**
+	 * Gets the number of inputs waiting in the queue. This is only a snapshot if
+	 * the other thread is using the queue at the same time.
+	 * @return The number of inputs.
+	 */
+	public int size() {
+		return (int)(tail - head);
+	}
+
+	/**
+	 * Gets the number of inputs the queue can hold.
+	 * @return The capacity.
+	 */
+	public int capacity() {
+		return buffer.length;
+	}
+
+}
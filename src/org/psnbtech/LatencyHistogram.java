@@ -0,0 +1,155 @@
+package org.psnbtech;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LatencyHistogram} class is responsible for counting how long
+ * something took, over many thousands of frames, without keeping every time.
+ * It works the same way as an HDR histogram: each power of two is split into
+ * {@code SUB_BUCKET_COUNT / 2} buckets of equal width, so every time is kept
+ * to within 1.6% of what was recorded, however small or large it is.
+ * <p>
+ * Recording a time only increments a counter, so it never allocates. Times
+ * can be recorded by one thread and read by another; every method locks the
+ * histogram, which costs next to nothing when only one thread is using it.
+ */
+public class LatencyHistogram {
+
+	/**
+	 * The number of bits used to split each power of two into buckets.
+	 */
+	private static final int SUB_BUCKET_BITS = 7;
+
+	/**
+	 * The number of buckets below the first power of two that is split. Times
+	 * below this are counted exactly.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The number of buckets in each power of two after the first.
+	 */
+	private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+
+	/**
+	 * The longest time that can be told apart from a longer one, a little over
+	 * eighteen minutes in nanoseconds. Anything longer is counted as this.
+	 */
+	public static final long HIGHEST_TRACKABLE_VALUE = (1L << 40) - 1;
+
+	/**
+	 * The number of times recorded in each bucket.
+	 */
+	private final long[] counts = new long[getIndex(HIGHEST_TRACKABLE_VALUE) + 1];
+
+	/**
+	 * The number of times recorded.
+	 */
+	private long totalCount;
+
+	/**
+	 * The longest time recorded.
+	 */
+	private long max;
+
+	/**
+	 * Records a single time.
+	 * @param nanos The time in nanoseconds. A negative time is counted as zero.
+	 */
+	public synchronized void record(long nanos) {
+		long value = Math.min(Math.max(nanos, 0), HIGHEST_TRACKABLE_VALUE);
+		counts[getIndex(value)]++;
+		totalCount++;
+		if(value > max) {
+			this.max = value;
+		}
+	}
+
+	/**
+	 * Forgets every time recorded so far.
+	 */
+	public synchronized void reset() {
+		Arrays.fill(counts, 0);
+		this.totalCount = 0;
+		this.max = 0;
+	}
+
+	/**
+	 * Gets the number of times recorded.
+	 * @return The count.
+	 */
+	public synchronized long getCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Gets the longest time recorded, exactly.
+	 * @return The time in nanoseconds, or 0 if nothing has been recorded.
+	 */
+	public synchronized long getMax() {
+		return max;
+	}
+
+	/**
+	 * Gets the time that the given percentage of recorded times were no longer
+	 * than. The time is rounded up to the end of its bucket, but never past the
+	 * longest time recorded.
+	 * @param percentile The percentage, from 0 to 100.
+	 * @return The time in nanoseconds, or 0 if nothing has been recorded.
+	 */
+	public synchronized long getValueAtPercentile(double percentile) {
+		if(totalCount == 0) {
+			return 0;
+		}
+
+		//The time of the Nth fastest recording, where N is at least one.
+		long rank = Math.max(1, (long)Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+		long seen = 0;
+		for(int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if(seen >= rank) {
+				return Math.min(getHighestValue(i), max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Gets a summary of the times recorded so far.
+	 * @return The summary.
+	 */
+	public synchronized LatencySummary getSummary() {
+		return new LatencySummary(totalCount, getValueAtPercentile(50.0), getValueAtPercentile(99.0),
+				getValueAtPercentile(99.9), max);
+	}
+
+	/**
+	 * Gets the bucket that a time is counted in.
+	 * @param value The time, from 0 to {@code HIGHEST_TRACKABLE_VALUE}.
+	 * @return The index of the bucket.
+	 */
+	private static int getIndex(long value) {
+		/*
+		 * Times below SUB_BUCKET_COUNT are their own bucket. Above that, the time
+		 * is shifted down until it fits in the top half of the sub-buckets, and
+		 * each shift moves it along by another half.
+		 */
+		int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+		return shift * SUB_BUCKET_HALF + (int)(value >>> shift);
+	}
+
+	/**
+	 * Gets the longest time that is counted in a bucket.
+	 * @param index The index of the bucket.
+	 * @return The time.
+	 */
+	private static long getHighestValue(int index) {
+		if(index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_HALF - 1;
+		long subBucket = index - shift * SUB_BUCKET_HALF;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,95 @@
+package org.psnbtech;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * The {@code LatencySummary} class holds the percentiles of a
+ * {@link LatencyHistogram} at a single point in time. It is what JMX clients
+ * see for each of the times in {@link FrameStatsMXBean}. Every time is in
+ * nanoseconds.
+ */
+public class LatencySummary {
+
+	/**
+	 * The number of times recorded.
+	 */
+	private final long count;
+
+	/**
+	 * The median time.
+	 */
+	private final long p50;
+
+	/**
+	 * The time that 99% of times were no longer than.
+	 */
+	private final long p99;
+
+	/**
+	 * The time that 99.9% of times were no longer than.
+	 */
+	private final long p999;
+
+	/**
+	 * The longest time.
+	 */
+	private final long max;
+
+	/**
+	 * Creates a new LatencySummary.
+	 * @param count The number of times recorded.
+	 * @param p50 The median time.
+	 * @param p99 The time that 99% of times were no longer than.
+	 * @param p999 The time that 99.9% of times were no longer than.
+	 * @param max The longest time.
+	 */
+	@ConstructorProperties({"count", "p50", "p99", "p999", "max"})
+	public LatencySummary(long count, long p50, long p99, long p999, long max) {
+		this.count = count;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.p999 = p999;
+		this.max = max;
+	}
+
+	/**
+	 * Gets the number of times recorded.
+	 * @return The count.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the median time.
+	 * @return The time in nanoseconds.
+	 */
+	public long getP50() {
+		return p50;
+	}
+
+	/**
+	 * Gets the time that 99% of times were no longer than.
+	 * @return The time in nanoseconds.
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * Gets the time that 99.9% of times were no longer than.
+	 * @return The time in nanoseconds.
+	 */
+	public long getP999() {
+		return p999;
+	}
+
+	/**
+	 * Gets the longest time.
+	 * @return The time in nanoseconds.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+}
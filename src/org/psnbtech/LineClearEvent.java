@@ -0,0 +1,29 @@
+package org.psnbtech;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code LineClearEvent} class is the Flight Recorder event for the board
+ * being checked for full lines after a piece locks. Its duration covers
+ * {@link Board#checkLines}, and it is recorded even when no lines are cleared.
+ */
+@Name("org.psnbtech.LineClear")
+@Label("Line Clear")
+@Category("Tetris")
+@Description("The board was checked for full lines after a piece locked")
+class LineClearEvent extends jdk.jfr.Event {
+
+	@Label("Lines Cleared")
+	int cleared;
+
+	@Label("Total Lines")
+	@Description("The number of lines cleared so far this game")
+	int lines;
+
+	@Label("Score")
+	int score;
+
+}
@@ -0,0 +1,55 @@
+package org.psnbtech;
+
+/**
+ * The {@code ManualTimeSource} class is a virtual timeline that only moves when
+ * it is told to. Any number of clocks can share one, which lets a simulation or
+ * a test step them all forward together without waiting on the system clock.
+ */
+public class ManualTimeSource implements TimeSource {
+
+	/**
+	 * The current time in nanoseconds.
+	 */
+	private long time;
+
+	/**
+	 * Creates a new ManualTimeSource that starts at time 0.
+	 */
+	public ManualTimeSource() {
+		this(0L);
+	}
+
+	/**
+	 * Creates a new ManualTimeSource.
+	 * @param time The starting time in nanoseconds.
+	 */
+	public ManualTimeSource(long time) {
+		this.time = time;
+	}
+
+	/**
+	 * Moves the time forward.
+	 * @param nanos The number of nanoseconds to move forward by.
+	 * @throws IllegalArgumentException If nanos is negative.
+	 */
+	public void advance(long nanos) {
+		if(nanos < 0) {
+			throw new IllegalArgumentException("Time cannot move backwards: " + nanos);
+		}
+		this.time += nanos;
+	}
+
+	/**
+	 * Moves the time forward by a number of milliseconds.
+	 * @param millis The number of milliseconds to move forward by.
+	 */
+	public void advanceMillis(long millis) {
+		advance(millis * 1000000L);
+	}
+
+	@Override
+	public long nanoTime() {
+		return time;
+	}
+
+}
@@ -0,0 +1,25 @@
+package org.psnbtech;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code PauseEvent} class is the Flight Recorder event for the game being
+ * paused. It begins when the game is paused and is recorded when it resumes,
+ * so its duration is how long the game was paused for.
+ */
+@Name("org.psnbtech.Pause")
+@Label("Pause")
+@Category("Tetris")
+@Description("The game was paused and then resumed")
+class PauseEvent extends jdk.jfr.Event {
+
+	@Label("Score")
+	int score;
+
+	@Label("Pieces")
+	int pieces;
+
+}
@@ -0,0 +1,16 @@
+package org.psnbtech;
+
+/**
+ * The {@code PieceGenerator} interface decides which pieces a game is dealt.
+ * Generators are seeded, so that the same seed always deals the same pieces on
+ * every machine, which is what replays and bot evaluations rely on.
+ */
+public interface PieceGenerator {
+
+	/**
+	 * Deals the next piece.
+	 * @return The type of the next piece.
+	 */
+	TileType next();
+
+}
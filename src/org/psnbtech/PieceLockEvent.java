@@ -0,0 +1,31 @@
+package org.psnbtech;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code PieceLockEvent} class is the Flight Recorder event for a piece
+ * being added to the board once it can't fall any further. Its duration
+ * covers {@link Board#addPiece}.
+ */
+@Name("org.psnbtech.PieceLock")
+@Label("Piece Lock")
+@Category("Tetris")
+@Description("A piece landed and was added to the board")
+class PieceLockEvent extends jdk.jfr.Event {
+
+	@Label("Piece Type")
+	String pieceType;
+
+	@Label("Column")
+	int column;
+
+	@Label("Row")
+	int row;
+
+	@Label("Rotation")
+	int rotation;
+
+}
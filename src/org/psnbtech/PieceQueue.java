@@ -0,0 +1,90 @@
+package org.psnbtech;
+
+import java.util.Objects;
+
+/**
+ * The {@code PieceQueue} class holds the pieces that are coming up next, so that
+ * any number of them can be previewed. The queue is filled from a
+ * {@code PieceGenerator} and always stays full.
+ * <p>
+ * Only the game thread takes pieces from the queue, but the renderer may peek at
+ * it at the same time without locking. The pieces live in a ring with one spare
+ * slot. A new piece is written to the spare slot before the head is moved on,
+ * and the head is volatile, so a reader never sees a slot that is half written.
+ */
+public class PieceQueue {
+
+	/**
+	 * The source of new pieces.
+	 */
+	private final PieceGenerator generator;
+
+	/**
+	 * The pieces in the queue, starting at {@code head}, followed by one spare slot.
+	 */
+	private final TileType[] ring;
+
+	/**
+	 * The number of pieces that can be previewed.
+	 */
+	private final int size;
+
+	/**
+	 * The index in {@code ring} of the next piece.
+	 */
+	private volatile int head;
+
+	/**
+	 * Creates a new PieceQueue and fills it.
+	 * @param generator The source of new pieces.
+	 * @param size The number of pieces that can be previewed.
+	 * @throws IllegalArgumentException If the size isn't positive.
+	 */
+	public PieceQueue(PieceGenerator generator, int size) {
+		if(size <= 0) {
+			throw new IllegalArgumentException("Preview size must be positive: " + size);
+		}
+		this.generator = generator;
+		this.size = size;
+		this.ring = new TileType[size + 1];
+		for(int i = 0; i < size; i++) {
+			ring[i] = generator.next();
+		}
+	}
+
+	/**
+	 * Takes the next piece from the queue and deals a new piece onto the end.
+	 * @return The next piece.
+	 */
+	public TileType poll() {
+		int current = head;
+		TileType piece = ring[current];
+		ring[(current + size) % ring.length] = generator.next();
+		head = (current + 1) % ring.length;
+		return piece;
+	}
+
+	/**
+	 * Gets an upcoming piece without taking it from the queue.
+	 * @param index How far ahead the piece is, where 0 is the next piece.
+	 * @return The upcoming piece.
+	 * @throws IndexOutOfBoundsException If the index is outside the preview.
+	 */
+	public TileType peek(int index) {
+		/*
+		 * This is called every frame, so the check is left to the JDK, which only
+		 * builds the exception's message if the index really is out of bounds.
+		 */
+		Objects.checkIndex(index, size);
+		return ring[(head + index) % ring.length];
+	}
+
+	/**
+	 * Gets the number of pieces that can be previewed.
+	 * @return The size of the queue.
+	 */
+	public int size() {
+		return size;
+	}
+
+}
@@ -0,0 +1,231 @@
+package org.psnbtech;
+
+/**
+ * The {@code PieceShape} class describes the geometry of a single rotation of
+ * a {@code TileType}. Every table is compiled once when the piece type is
+ * created, so that the board, the renderer and any AI code can look up shape
+ * facts without scanning the tiles array again.
+ */
+public final class PieceShape {
+
+	/**
+	 * The dimensions of the array for this piece.
+	 */
+	private final int dimension;
+
+	/**
+	 * The number of empty columns on the left side of the array.
+	 */
+	private final int leftInset;
+
+	/**
+	 * The number of empty columns on the right side of the array.
+	 */
+	private final int rightInset;
+
+	/**
+	 * The number of empty rows on the top side of the array.
+	 */
+	private final int topInset;
+
+	/**
+	 * The number of empty rows on the bottom side of the array.
+	 */
+	private final int bottomInset;
+
+	/**
+	 * The occupancy bit mask of each row. Bit {@code n} is set if column
+	 * {@code n} of the row contains a tile.
+	 */
+	private final int[] rowMasks;
+
+	/**
+	 * The column of each occupied tile, in row-major order.
+	 */
+	private final int[] cellCols;
+
+	/**
+	 * The row of each occupied tile, in row-major order.
+	 */
+	private final int[] cellRows;
+
+	/**
+	 * The lowest occupied row of each column, or -1 if the column is empty.
+	 */
+	private final int[] bottoms;
+
+	/**
+	 * Creates a new PieceShape from one rotation of a piece's tiles.
+	 * @param tiles The tiles of the rotation, in row-major order.
+	 * @param dimension The dimensions of the tiles array.
+	 */
+	PieceShape(boolean[] tiles, int dimension) {
+		this.dimension = dimension;
+		this.rowMasks = new int[dimension];
+		this.bottoms = new int[dimension];
+
+		int count = 0;
+		for(int i = 0; i < tiles.length; i++) {
+			if(tiles[i]) {
+				count++;
+			}
+		}
+		this.cellCols = new int[count];
+		this.cellRows = new int[count];
+
+		/*
+		 * Walk the tiles once and fill in every table. The insets start at
+		 * their "empty" values and are narrowed down as tiles are found.
+		 */
+		int left = dimension;
+		int right = -1;
+		int top = dimension;
+		int bottom = -1;
+		int cell = 0;
+		for(int col = 0; col < dimension; col++) {
+			bottoms[col] = -1;
+		}
+		for(int row = 0; row < dimension; row++) {
+			for(int col = 0; col < dimension; col++) {
+				if(tiles[row * dimension + col]) {
+					rowMasks[row] |= (1 << col);
+					cellCols[cell] = col;
+					cellRows[cell] = row;
+					cell++;
+
+					bottoms[col] = row;
+					left = Math.min(left, col);
+					right = Math.max(right, col);
+					top = Math.min(top, row);
+					bottom = Math.max(bottom, row);
+				}
+			}
+		}
+
+		this.leftInset = left;
+		this.rightInset = dimension - right;
+		this.topInset = top;
+		this.bottomInset = dimension - bottom;
+	}
+
+	/**
+	 * Gets the dimension of this shape.
+	 * @return The dimension.
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Gets the number of empty columns on the left side of the array.
+	 * @return The left inset.
+	 */
+	public int getLeftInset() {
+		return leftInset;
+	}
+
+	/**
+	 * Gets the right inset. Note that like {@code TileType.getRightInset}, this
+	 * is the dimension minus the index of the rightmost occupied column.
+	 * @return The right inset.
+	 */
+	public int getRightInset() {
+		return rightInset;
+	}
+
+	/**
+	 * Gets the number of empty rows on the top side of the array.
+	 * @return The top inset.
+	 */
+	public int getTopInset() {
+		return topInset;
+	}
+
+	/**
+	 * Gets the bottom inset. Note that like {@code TileType.getBottomInset}, this
+	 * is the dimension minus the index of the lowest occupied row.
+	 * @return The bottom inset.
+	 */
+	public int getBottomInset() {
+		return bottomInset;
+	}
+
+	/**
+	 * Gets the occupancy bit mask of a row. Bit {@code n} of the mask is set
+	 * if column {@code n} of the row contains a tile.
+	 * @param row The row of the shape.
+	 * @return The row mask.
+	 */
+	public int getRowMask(int row) {
+		return rowMasks[row];
+	}
+
+	/**
+	 * Gets the number of occupied tiles in this shape.
+	 * @return The number of tiles.
+	 */
+	public int getCellCount() {
+		return cellCols.length;
+	}
+
+	/**
+	 * Gets the column of an occupied tile.
+	 * @param cell The index of the tile, from 0 to {@code getCellCount() - 1}.
+	 * @return The column within the shape.
+	 */
+	public int getCellCol(int cell) {
+		return cellCols[cell];
+	}
+
+	/**
+	 * Gets the row of an occupied tile.
+	 * @param cell The index of the tile, from 0 to {@code getCellCount() - 1}.
+	 * @return The row within the shape.
+	 */
+	public int getCellRow(int cell) {
+		return cellRows[cell];
+	}
+
+	/**
+	 * Gets the lowest occupied row of a column. Together these make up the
+	 * bottom profile of the shape, which is what rests on the stack.
+	 * @param col The column of the shape.
+	 * @return The lowest occupied row, or -1 if the column is empty.
+	 */
+	public int getBottom(int col) {
+		return bottoms[col];
+	}
+
+	/**
+	 * Gets the smallest column this shape can be placed at on the board.
+	 * @return The minimum column.
+	 */
+	public int getMinCol() {
+		return -leftInset;
+	}
+
+	/**
+	 * Gets the largest column this shape can be placed at on the board.
+	 * @return The maximum column.
+	 */
+	public int getMaxCol() {
+		return Board.COL_COUNT - 1 - dimension + rightInset;
+	}
+
+	/**
+	 * Gets the smallest row this shape can be placed at on the board.
+	 * @return The minimum row.
+	 */
+	public int getMinRow() {
+		return -topInset;
+	}
+
+	/**
+	 * Gets the largest row this shape can be placed at on the board.
+	 * @return The maximum row.
+	 */
+	public int getMaxRow() {
+		return Board.ROW_COUNT - 1 - dimension + bottomInset;
+	}
+
+}
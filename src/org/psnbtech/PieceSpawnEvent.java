@@ -0,0 +1,36 @@
+package org.psnbtech;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code PieceSpawnEvent} class is the Flight Recorder event for a new
+ * piece being taken from the preview queue and placed at the top of the board.
+ * Its duration covers dealing the piece and checking whether it fits.
+ */
+@Name("org.psnbtech.PieceSpawn")
+@Label("Piece Spawn")
+@Category("Tetris")
+@Description("A new piece was placed at the top of the board")
+class PieceSpawnEvent extends jdk.jfr.Event {
+
+	@Label("Piece Type")
+	String pieceType;
+
+	@Label("Column")
+	int column;
+
+	@Label("Row")
+	int row;
+
+	@Label("Pieces Locked")
+	@Description("The number of pieces locked so far this game")
+	int pieces;
+
+	@Label("Game Over")
+	@Description("Whether or not the piece didn't fit, ending the game")
+	boolean isGameOver;
+
+}
@@ -0,0 +1,18 @@
+package org.psnbtech;
+
+/**
+ * The {@code Policy} interface is implemented by anything that can play a game
+ * without a keyboard. The {@code BatchSimulator} asks the policy for an input
+ * once per frame of the game, so a policy is free to plan ahead over several
+ * frames. Policies may keep state, so each game gets its own instance.
+ */
+public interface Policy {
+
+	/**
+	 * Picks the next input for a game.
+	 * @param engine The game being played.
+	 * @return The input to handle this frame, or {@code null} to do nothing.
+	 */
+	Input nextInput(TetrisEngine engine);
+
+}
@@ -0,0 +1,60 @@
+package org.psnbtech;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code RandomPieceGenerator} class deals every piece independently, with
+ * each type equally likely. This is how pieces have always been picked, so long
+ * droughts and floods of the same piece are possible.
+ */
+public class RandomPieceGenerator implements PieceGenerator {
+
+	/**
+	 * The types of piece, cached so that they aren't cloned on every deal.
+	 */
+	private static final TileType[] TYPES = TileType.values();
+
+	/**
+	 * The random number generator that picks the pieces.
+	 */
+	private final SplittableRandom random;
+
+	/**
+	 * Creates a new RandomPieceGenerator with an unpredictable seed.
+	 */
+	public RandomPieceGenerator() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Creates a new RandomPieceGenerator.
+	 * @param seed The seed of the random number generator.
+	 */
+	public RandomPieceGenerator(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	/**
+	 * Creates a new RandomPieceGenerator.
+	 * @param random The random number generator that picks the pieces.
+	 */
+	private RandomPieceGenerator(SplittableRandom random) {
+		this.random = random;
+	}
+
+	@Override
+	public TileType next() {
+		return TYPES[random.nextInt(TYPES.length)];
+	}
+
+	/**
+	 * Creates a new generator whose pieces are independent of this one's. Splitting
+	 * the same generator in the same order always gives the same generators, so
+	 * parallel workers can each be handed a reproducible stream of pieces.
+	 * @return The new generator.
+	 */
+	public RandomPieceGenerator split() {
+		return new RandomPieceGenerator(random.split());
+	}
+
+}
@@ -0,0 +1,37 @@
+package org.psnbtech;
+
+import java.util.Random;
+
+/**
+ * The {@code RandomPolicy} class plays by mashing movement and rotation inputs
+ * at random. It is the baseline that every other policy should beat.
+ */
+public class RandomPolicy implements Policy {
+
+	/**
+	 * The inputs that this policy picks from. A {@code null} entry means that
+	 * nothing is pressed for the frame.
+	 */
+	private static final Input[] CHOICES = {
+		Input.MOVE_LEFT, Input.MOVE_RIGHT, Input.ROTATE_ANTICLOCKWISE, Input.ROTATE_CLOCKWISE, null, null, null, null
+	};
+
+	/**
+	 * The random number generator that picks the inputs.
+	 */
+	private final Random random;
+
+	/**
+	 * Creates a new RandomPolicy.
+	 * @param seed The seed of the random number generator.
+	 */
+	public RandomPolicy(long seed) {
+		this.random = new Random(seed);
+	}
+
+	@Override
+	public Input nextInput(TetrisEngine engine) {
+		return CHOICES[random.nextInt(CHOICES.length)];
+	}
+
+}
@@ -0,0 +1,81 @@
+package org.psnbtech;
+
+/**
+ * The {@code ScaledTimeSource} class runs another time source faster or slower.
+ * The scaled time is always calculated from the total time elapsed since the
+ * scale was last set, so rounding errors never build up from one reading to
+ * the next.
+ */
+public class ScaledTimeSource implements TimeSource {
+
+	/**
+	 * The source being scaled.
+	 */
+	private final TimeSource source;
+
+	/**
+	 * How many times faster than the source this time runs.
+	 */
+	private double scale;
+
+	/**
+	 * The reading of the source when the scale was last set.
+	 */
+	private long sourceOrigin;
+
+	/**
+	 * The scaled time when the scale was last set.
+	 */
+	private long origin;
+
+	/**
+	 * Creates a new ScaledTimeSource.
+	 * @param source The source being scaled.
+	 * @param scale How many times faster than the source this time runs.
+	 */
+	public ScaledTimeSource(TimeSource source, double scale) {
+		this.source = source;
+		this.sourceOrigin = source.nanoTime();
+		this.origin = sourceOrigin;
+		setScale(scale);
+	}
+
+	/**
+	 * Sets how many times faster than the source this time runs. Time that has
+	 * already passed is kept at the old scale.
+	 * @param scale The new scale.
+	 * @throws IllegalArgumentException If the scale is negative or not a number.
+	 */
+	public void setScale(double scale) {
+		if(!(scale >= 0.0)) {
+			throw new IllegalArgumentException("Scale must not be negative: " + scale);
+		}
+		long now = source.nanoTime();
+		this.origin = scaledTime(now);
+		this.sourceOrigin = now;
+		this.scale = scale;
+	}
+
+	/**
+	 * Gets how many times faster than the source this time runs.
+	 * @return The scale.
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	@Override
+	public long nanoTime() {
+		return scaledTime(source.nanoTime());
+	}
+
+	/**
+	 * Converts a reading of the source into scaled time.
+	 * @param now The reading of the source.
+	 * @return The scaled time.
+	 */
+	private long scaledTime(long now) {
+		return origin + (long)((now - sourceOrigin) * scale);
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.psnbtech;
+
+/**
+ * The {@code ScriptedPolicy} class plays a fixed sequence of inputs over and
+ * over, one per frame. This makes it useful for reproducing a game exactly.
+ */
+public class ScriptedPolicy implements Policy {
+
+	/**
+	 * The number of frames the default script spends on each piece. A hard drop
+	 * is only allowed once the drop cooldown from the last piece has run out,
+	 * which takes this many frames, so every step of the script starts on the
+	 * frame that a new piece spawns.
+	 */
+	private static final int FRAMES_PER_PIECE = 25;
+
+	/**
+	 * The columns, relative to where it spawns, that the default script moves
+	 * each piece to in turn. Moves past a wall are ignored, so the first two
+	 * pieces go right up against the left and right walls.
+	 */
+	private static final int[] PIECE_OFFSETS = {-5, 5, -2, 2, 0};
+
+	/**
+	 * The script that is played by default. It moves each piece to the next of
+	 * {@code PIECE_OFFSETS}, filling the board from both walls in towards the
+	 * middle, then hard drops it.
+	 */
+	public static final Input[] DEFAULT_SCRIPT = createDefaultScript();
+
+	/**
+	 * The inputs to play. A {@code null} entry means that nothing is pressed
+	 * for the frame.
+	 */
+	private final Input[] script;
+
+	/**
+	 * The index of the next input in the script.
+	 */
+	private int index;
+
+	/**
+	 * Creates a new ScriptedPolicy.
+	 * @param script The inputs to play, which may contain {@code null} entries.
+	 * @throws IllegalArgumentException If the script is empty.
+	 */
+	public ScriptedPolicy(Input... script) {
+		if(script.length == 0) {
+			throw new IllegalArgumentException("Script must contain at least one entry");
+		}
+		this.script = script.clone();
+	}
+
+	/**
+	 * Creates the default script: a step of {@code FRAMES_PER_PIECE} frames for
+	 * each of {@code PIECE_OFFSETS}, which moves the piece and then waits to
+	 * hard drop it.
+	 * @return The script.
+	 */
+	private static Input[] createDefaultScript() {
+		Input[] script = new Input[PIECE_OFFSETS.length * FRAMES_PER_PIECE];
+		for(int i = 0; i < PIECE_OFFSETS.length; i++) {
+			int offset = PIECE_OFFSETS[i];
+			int start = i * FRAMES_PER_PIECE;
+			for(int j = 0; j < Math.abs(offset); j++) {
+				script[start + j] = (offset < 0) ? Input.MOVE_LEFT : Input.MOVE_RIGHT;
+			}
+			script[start + FRAMES_PER_PIECE - 1] = Input.HARD_DROP;
+		}
+		return script;
+	}
+
+	@Override
+	public Input nextInput(TetrisEngine engine) {
+		Input input = script[index];
+		index = (index + 1) % script.length;
+		return input;
+	}
+
+}
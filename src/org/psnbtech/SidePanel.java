@@ -4,6 +4,8 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 
 import javax.swing.JPanel;
 
@@ -20,6 +22,11 @@ public class SidePanel extends JPanel {
 	 */
 	private static final long serialVersionUID = 2181495598854992747L;
 
+	/**
+	 * The total width of the panel.
+	 */
+	public static final int PANEL_WIDTH = 200;
+	
 	/**
 	 * The dimensions of each tile on the next piece preview.
 	 */
@@ -91,72 +98,172 @@ public class SidePanel extends JPanel {
 	 */
 	private static final Color DRAW_COLOR = new Color(128, 192, 128);
 	
+	/**
+	 * The label in front of the level.
+	 */
+	private static final String LEVEL_LABEL = "Level: ";
+	
+	/**
+	 * The label in front of the score.
+	 */
+	private static final String SCORE_LABEL = "Score: ";
+	
+	/**
+	 * The most characters an int can take up, including its sign.
+	 */
+	private static final int MAX_DIGITS = 11;
+	
+	/**
+	 * The x coordinate of the first column of times on the overlay.
+	 */
+	private static final int OVERLAY_COLUMN_X = 62;
+	
+	/**
+	 * The number of pixels between each column of times on the overlay.
+	 */
+	private static final int OVERLAY_COLUMN_WIDTH = 34;
+	
+	/**
+	 * The longest time, in milliseconds, that fits in a column of the overlay.
+	 * Anything longer is shown as this; the exact time can be read over JMX.
+	 */
+	private static final long OVERLAY_MAX_MILLIS = 9999;
+	
+	/**
+	 * The percentiles shown on the overlay. The 100th is the longest time.
+	 */
+	private static final double[] OVERLAY_PERCENTILES = {50.0, 99.0, 99.9, 100.0};
+	
+	/**
+	 * The labels of the rows on the overlay, one for each percentile.
+	 */
+	private static final String[] OVERLAY_LABELS = {"p50", "p99", "p99.9", "max"};
+	
+	/**
+	 * The headings of the columns on the overlay, one for each histogram.
+	 */
+	private static final String[] OVERLAY_HEADINGS = {"Tick", "Draw", "Late", "Key"};
+	
 	/**
 	 * The Tetris instance.
 	 */
 	private Tetris tetris;
 	
+	/**
+	 * The pre-rendered preview tiles, drawn with the current palette.
+	 */
+	private TileAtlas atlas;
+	
+	/**
+	 * The text that never changes, and the preview box.
+	 */
+	private final BufferedImage textLayer = createTextLayer();
+	
+	/**
+	 * The text of the level line. The label never changes, and the number is
+	 * written in after it each frame, so that drawing it never allocates.
+	 */
+	private final char[] levelText = createText(LEVEL_LABEL);
+	
+	/**
+	 * The text of the score line, written in the same way as {@code levelText}.
+	 */
+	private final char[] scoreText = createText(SCORE_LABEL);
+	
+	/**
+	 * The text of a single time on the overlay.
+	 */
+	private final char[] timeText = new char[MAX_DIGITS];
+	
+	/**
+	 * The stats shown on the overlay in place of the controls, or {@code null}
+	 * if the overlay is hidden.
+	 */
+	private volatile FrameStats overlayStats;
+	
 	/**
 	 * Creates a new SidePanel and sets it's display properties.
 	 * @param tetris The Tetris instance to use.
 	 */
 	public SidePanel(Tetris tetris) {
 		this.tetris = tetris;
+		this.atlas = new TileAtlas(TilePalette.DEFAULT, TILE_SIZE, SHADE_WIDTH);
 		
-		setPreferredSize(new Dimension(200, BoardPanel.PANEL_HEIGHT));
+		setPreferredSize(new Dimension(PANEL_WIDTH, BoardPanel.PANEL_HEIGHT));
 		setBackground(Color.BLACK);
 	}
 	
+	/**
+	 * Sets the palette that tiles are drawn with.
+	 * @param palette The palette to use.
+	 */
+	public void setPalette(TilePalette palette) {
+		this.atlas = new TileAtlas(palette, TILE_SIZE, SHADE_WIDTH);
+	}
+	
+	/**
+	 * Shows how smoothly the game is running in place of the controls, or
+	 * hides it again. The times are only as fresh as the last frame drawn.
+	 * @param stats The stats to show, or {@code null} to hide the overlay.
+	 */
+	public void setOverlayStats(FrameStats stats) {
+		this.overlayStats = stats;
+	}
+	
+	/**
+	 * Gets the stats shown on the overlay.
+	 * @return The stats, or {@code null} if the overlay is hidden.
+	 */
+	public FrameStats getOverlayStats() {
+		return overlayStats;
+	}
+	
 	@Override
 	public void paintComponent(Graphics g) {
+		long startTime = System.nanoTime();
 		super.paintComponent(g);
 		
-		//Set the color for drawing.
-		g.setColor(DRAW_COLOR);
-		
-		/*
-		 * This variable stores the current y coordinate of the string.
-		 * This way we can re-order, add, or remove new strings if necessary
-		 * without needing to change the other strings.
-		 */
-		int offset;
+		//Everything is drawn from the same snapshot so the frame is consistent.
+		drawFrame(g, tetris.getSnapshot());
+		tetris.recordFrame(startTime);
+	}
+	
+	/**
+	 * Draws the stats, controls and next piece of a snapshot. This is used both
+	 * when Swing paints the panel and when a {@code GameCanvas} renders the
+	 * game directly.
+	 * @param g The graphics object, with its origin at the top left of the panel.
+	 * @param frame The snapshot to draw.
+	 */
+	void drawFrame(Graphics g, FrameSnapshot frame) {
+		//The text that never changes, and the preview box, are drawn ahead of time.
+		g.drawImage(textLayer, 0, 0, null);
 		
 		/*
-		 * Draw the "Stats" category.
+		 * Draw the level and score under the "Stats" category. These are the only
+		 * lines of text that change, and they share a font, so the font is never
+		 * switched during a frame.
 		 */
-		g.setFont(LARGE_FONT);
-		g.drawString("Stats", SMALL_INSET, offset = STATS_INSET);
+		g.setColor(DRAW_COLOR);
 		g.setFont(SMALL_FONT);
-		g.drawString("Level: " + tetris.getLevel(), LARGE_INSET, offset += TEXT_STRIDE);
-		g.drawString("Score: " + tetris.getScore(), LARGE_INSET, offset += TEXT_STRIDE);
+		int offset = STATS_INSET;
+		int length = writeNumber(levelText, LEVEL_LABEL.length(), frame.getLevel());
+		g.drawChars(levelText, 0, length, LARGE_INSET, offset += TEXT_STRIDE);
+		length = writeNumber(scoreText, SCORE_LABEL.length(), frame.getScore());
+		g.drawChars(scoreText, 0, length, LARGE_INSET, offset += TEXT_STRIDE);
 		
-		/*
-		 * Draw the "Controls" category.
-		 */
-		g.setFont(LARGE_FONT);
-		g.drawString("Controls", SMALL_INSET, offset = CONTROLS_INSET);
-		g.setFont(SMALL_FONT);
-		g.drawString("A - Move Left", LARGE_INSET, offset += TEXT_STRIDE);
-		g.drawString("D - Move Right", LARGE_INSET, offset += TEXT_STRIDE);
-		g.drawString("Q - Rotate Anticlockwise", LARGE_INSET, offset += TEXT_STRIDE);
-		g.drawString("E - Rotate Clockwise", LARGE_INSET, offset += TEXT_STRIDE);
-		g.drawString("S - Drop", LARGE_INSET, offset += TEXT_STRIDE);
-		g.drawString("P - Pause Game", LARGE_INSET, offset += TEXT_STRIDE);
-		
-		/*
-		 * Draw the next piece preview box.
-		 */
-		g.setFont(LARGE_FONT);
-		g.drawString("Next Piece:", SMALL_INSET, 70);
-		g.drawRect(SQUARE_CENTER_X - SQUARE_SIZE, SQUARE_CENTER_Y - SQUARE_SIZE, SQUARE_SIZE * 2, SQUARE_SIZE * 2);
+		FrameStats stats = overlayStats;
+		if(stats != null) {
+			drawOverlay(g, stats);
+		}
 		
 		/*
 		 * Draw a preview of the next piece that will be spawned. The code is pretty much
 		 * identical to the drawing code on the board, just smaller and centered, rather
 		 * than constrained to a grid.
 		 */
-		TileType type = tetris.getNextPieceType();
-		if(!tetris.isGameOver() && type != null) {
+		TileType type = frame.getNextPieceType();
+		if(!frame.isGameOver() && !frame.isNewGame() && type != null) {
 			/*
 			 * Get the size properties of the current piece.
 			 */
@@ -191,36 +298,153 @@ public class SidePanel extends JPanel {
 	}
 	
 	/**
-	 * Draws a tile onto the preview window.
-	 * @param type The type of tile to draw.
-	 * @param x The x coordinate of the tile.
-	 * @param y The y coordinate of the tile.
-	 * @param g The graphics object.
+	 * Draws the text that never changes, and the preview box, into a
+	 * transparent image. This is drawn once and never changes.
+	 * @return The text layer.
 	 */
-	private void drawTile(TileType type, int x, int y, Graphics g) {
+	private static BufferedImage createTextLayer() {
+		BufferedImage image = new BufferedImage(PANEL_WIDTH, BoardPanel.PANEL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		
+		//Set the color for drawing.
+		g.setColor(DRAW_COLOR);
+		
+		/*
+		 * This variable stores the current y coordinate of the string.
+		 * This way we can re-order, add, or remove new strings if necessary
+		 * without needing to change the other strings.
+		 */
+		int offset;
+		
 		/*
-		 * Fill the entire tile with the base color.
+		 * Draw the "Stats" category. The level and score are drawn under it
+		 * each frame.
 		 */
-		g.setColor(type.getBaseColor());
-		g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+		g.setFont(LARGE_FONT);
+		g.drawString("Stats", SMALL_INSET, STATS_INSET);
 		
 		/*
-		 * Fill the bottom and right edges of the tile with the dark shading color.
+		 * Draw the "Controls" category.
 		 */
-		g.setColor(type.getDarkColor());
-		g.fillRect(x, y + TILE_SIZE - SHADE_WIDTH, TILE_SIZE, SHADE_WIDTH);
-		g.fillRect(x + TILE_SIZE - SHADE_WIDTH, y, SHADE_WIDTH, TILE_SIZE);
+		g.drawString("Controls", SMALL_INSET, offset = CONTROLS_INSET);
+		g.setFont(SMALL_FONT);
+		g.drawString("A - Move Left", LARGE_INSET, offset += TEXT_STRIDE);
+		g.drawString("D - Move Right", LARGE_INSET, offset += TEXT_STRIDE);
+		g.drawString("Q - Rotate Anticlockwise", LARGE_INSET, offset += TEXT_STRIDE);
+		g.drawString("E - Rotate Clockwise", LARGE_INSET, offset += TEXT_STRIDE);
+		g.drawString("S - Drop", LARGE_INSET, offset += TEXT_STRIDE);
+		g.drawString("W - Hard Drop", LARGE_INSET, offset += TEXT_STRIDE);
+		g.drawString("P - Pause Game", LARGE_INSET, offset += TEXT_STRIDE);
 		
 		/*
-		 * Fill the top and left edges with the light shading. We draw a single line
-		 * for each row or column rather than a rectangle so that we can draw a nice
-		 * looking diagonal where the light and dark shading meet.
+		 * Draw the next piece preview box.
 		 */
-		g.setColor(type.getLightColor());
-		for(int i = 0; i < SHADE_WIDTH; i++) {
-			g.drawLine(x, y + i, x + TILE_SIZE - i - 1, y + i);
-			g.drawLine(x + i, y, x + i, y + TILE_SIZE - i - 1);
+		g.setFont(LARGE_FONT);
+		g.drawString("Next Piece:", SMALL_INSET, 70);
+		g.drawRect(SQUARE_CENTER_X - SQUARE_SIZE, SQUARE_CENTER_Y - SQUARE_SIZE, SQUARE_SIZE * 2, SQUARE_SIZE * 2);
+		g.dispose();
+		return image;
+	}
+	
+	/**
+	 * Draws the frame times over the controls: a column for each histogram, with
+	 * a row for each percentile, in milliseconds.
+	 * This is drawn in the same font as the level and score, and never allocates.
+	 * @param g The graphics object, with the small font already set.
+	 * @param stats The stats to draw.
+	 */
+	private void drawOverlay(Graphics g, FrameStats stats) {
+		g.setColor(getBackground());
+		g.fillRect(0, CONTROLS_INSET - TEXT_STRIDE, PANEL_WIDTH, BoardPanel.PANEL_HEIGHT - CONTROLS_INSET + TEXT_STRIDE);
+		
+		g.setColor(DRAW_COLOR);
+		int offset = CONTROLS_INSET;
+		g.drawString("Frame Times (ms)", SMALL_INSET, offset);
+		offset += TEXT_STRIDE;
+		for(int i = 0; i < OVERLAY_HEADINGS.length; i++) {
+			g.drawString(OVERLAY_HEADINGS[i], OVERLAY_COLUMN_X + i * OVERLAY_COLUMN_WIDTH, offset);
+		}
+		for(int i = 0; i < OVERLAY_PERCENTILES.length; i++) {
+			double percentile = OVERLAY_PERCENTILES[i];
+			g.drawString(OVERLAY_LABELS[i], SMALL_INSET, offset += TEXT_STRIDE);
+			drawMillis(g, stats.getTickTimes().getValueAtPercentile(percentile), OVERLAY_COLUMN_X, offset);
+			drawMillis(g, stats.getRenderTimes().getValueAtPercentile(percentile), OVERLAY_COLUMN_X + OVERLAY_COLUMN_WIDTH, offset);
+			drawMillis(g, stats.getSleepOvershoots().getValueAtPercentile(percentile), OVERLAY_COLUMN_X + OVERLAY_COLUMN_WIDTH * 2, offset);
+			drawMillis(g, stats.getInputLatencies().getValueAtPercentile(percentile), OVERLAY_COLUMN_X + OVERLAY_COLUMN_WIDTH * 3, offset);
+		}
+	}
+	
+	/**
+	 * Draws a time in milliseconds, to the nearest tenth below 100, so that it
+	 * never takes up more than four characters.
+	 * @param g The graphics object.
+	 * @param nanos The time in nanoseconds.
+	 * @param x The x coordinate of the time.
+	 * @param y The y coordinate of the time.
+	 */
+	private void drawMillis(Graphics g, long nanos, int x, int y) {
+		long tenths = (nanos + 50000) / 100000;
+		int length;
+		if(tenths < 1000) {
+			length = writeNumber(timeText, 0, (int)(tenths / 10));
+			timeText[length++] = '.';
+			timeText[length++] = (char)('0' + tenths % 10);
+		} else {
+			length = writeNumber(timeText, 0, (int)Math.min((nanos + 500000) / 1000000, OVERLAY_MAX_MILLIS));
+		}
+		g.drawChars(timeText, 0, length, x, y);
+	}
+	
+	/**
+	 * Creates the text of a line that ends in a number, with room for the
+	 * longest number.
+	 * @param label The text in front of the number.
+	 * @return The text, starting with the label.
+	 */
+	private static char[] createText(String label) {
+		char[] text = new char[label.length() + MAX_DIGITS];
+		label.getChars(0, label.length(), text, 0);
+		return text;
+	}
+	
+	/**
+	 * Writes a number into the text of a line, after its label.
+	 * @param text The text of the line.
+	 * @param start The index to write the number at.
+	 * @param value The number.
+	 * @return The length of the line, including the number.
+	 */
+	static int writeNumber(char[] text, int start, int value) {
+		/*
+		 * The number is worked on as a long, so that the smallest int can still
+		 * be negated.
+		 */
+		long remaining = value;
+		if(remaining < 0) {
+			text[start++] = '-';
+			remaining = -remaining;
+		}
+		
+		int digits = 1;
+		for(long power = 10; power <= remaining; power *= 10) {
+			digits++;
+		}
+		for(int i = start + digits - 1; i >= start; i--) {
+			text[i] = (char)('0' + remaining % 10);
+			remaining /= 10;
 		}
+		return start + digits;
+	}
+	
+	/**
+	 * Draws a tile onto the preview window.
+	 * @param type The type of tile to draw.
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @param g The graphics object.
+	 */
+	private void drawTile(TileType type, int x, int y, Graphics g) {
+		g.drawImage(atlas.getTile(type), x, y, null);
 	}
 	
 }
@@ -0,0 +1,33 @@
+package org.psnbtech;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code SlowFrameEvent} class is the Flight Recorder event for a pass of
+ * the game loop that took longer than the time between frames. Its duration
+ * covers the game updates and the rendering, but not the wait afterwards.
+ */
+@Name("org.psnbtech.SlowFrame")
+@Label("Slow Frame")
+@Category("Tetris")
+@Description("The game loop took longer than a frame to update and render")
+class SlowFrameEvent extends jdk.jfr.Event {
+
+	@Label("Budget")
+	@Description("The time between frames")
+	@Timespan(Timespan.NANOSECONDS)
+	long budget;
+
+	@Label("Updates")
+	@Description("The number of game updates run in the frame")
+	int ticks;
+
+	@Label("Active Rendering")
+	@Description("Whether or not the game loop drew the frame itself")
+	boolean isActiveRendering;
+
+}
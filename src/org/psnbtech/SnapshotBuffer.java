@@ -0,0 +1,78 @@
+package org.psnbtech;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code SnapshotBuffer} class hands {@code FrameSnapshot}s from the logic
+ * thread to the render thread with triple buffering. The writer always has a
+ * back buffer of its own to fill and the reader always has a front buffer of
+ * its own to draw, so neither waits on the other. The third buffer sits in the
+ * middle and is swapped with a single atomic exchange on each side.
+ * <p>
+ * There must only be one writer thread and one reader thread.
+ */
+public class SnapshotBuffer {
+
+	/**
+	 * The bit set on {@code middle} when it holds a snapshot the reader hasn't seen.
+	 */
+	private static final int FRESH = 4;
+
+	/**
+	 * The bits of {@code middle} that hold the index of the buffer.
+	 */
+	private static final int INDEX_MASK = 3;
+
+	/**
+	 * The three buffers.
+	 */
+	private final FrameSnapshot[] buffers = {
+		new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot()
+	};
+
+	/**
+	 * The index of the buffer in the middle, and whether it is fresh.
+	 */
+	private final AtomicInteger middle = new AtomicInteger(2);
+
+	/**
+	 * The index of the buffer owned by the writer.
+	 */
+	private int back = 1;
+
+	/**
+	 * The index of the buffer owned by the reader.
+	 */
+	private int front = 0;
+
+	/**
+	 * Gets the buffer to fill with the next snapshot. This must only be
+	 * called by the writer.
+	 * @return The back buffer.
+	 */
+	public FrameSnapshot getBackBuffer() {
+		return buffers[back];
+	}
+
+	/**
+	 * Publishes the back buffer as the latest snapshot, and takes the old
+	 * middle buffer to fill next. This must only be called by the writer.
+	 */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Gets the latest snapshot. If nothing has been published since the last
+	 * call, the same snapshot is returned again. This must only be called by
+	 * the reader, and the snapshot must not be used after the next call.
+	 * @return The latest snapshot.
+	 */
+	public FrameSnapshot acquire() {
+		if((middle.get() & FRESH) != 0) {
+			front = middle.getAndSet(front) & INDEX_MASK;
+		}
+		return buffers[front];
+	}
+
+}
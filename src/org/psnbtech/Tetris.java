@@ -1,15 +1,17 @@
 package org.psnbtech;
 
 import java.awt.BorderLayout;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.Random;
 
+import javax.management.JMException;
 import javax.swing.JFrame;
 
 /**
- * The {@code Tetris} class is responsible for handling much of the game logic and
- * reading user input.
+ * The {@code Tetris} class is responsible for displaying the game and reading
+ * user input. The game logic itself is handled by a {@link TetrisEngine}.
  * @author Brendan Jones
  *
  */
@@ -19,16 +21,46 @@ public class Tetris extends JFrame {
 	 * The Serial Version UID.
 	 */
 	private static final long serialVersionUID = -4722429764792514382L;
+	
+	/**
+	 * The number of frames rendered per second if the display's refresh rate
+	 * can't be found.
+	 */
+	private static final int DEFAULT_REFRESH_RATE = 60;
+	
+	/**
+	 * The most game updates that are run to catch up before a frame is
+	 * rendered. If the game falls further behind than this (for example, while
+	 * the window is being dragged), the missed time is dropped.
+	 */
+	private static final int MAX_TICKS_PER_FRAME = 5;
+	
+	/**
+	 * How often, in nanoseconds, the frame times on the side panel's overlay
+	 * are redrawn while it is shown, even if nothing else has changed.
+	 */
+	private static final long OVERLAY_REFRESH_NANOS = 250000000L;
 
 	/**
-	 * The number of milliseconds per frame.
+	 * The TetrisEngine instance.
+	 */
+	private TetrisEngine engine;
+	
+	/**
+	 * The inputs read on the Event Dispatch Thread that are waiting to be
+	 * handled by the game loop.
+	 */
+	private InputQueue inputs;
+	
+	/**
+	 * The times recorded by the game loop and the renderer.
 	 */
-	private static final long FRAME_TIME = 1000L / 50L;
+	private FrameStats stats;
 	
 	/**
-	 * The number of pieces that exist.
+	 * The frames that took too long, with the collections that overlapped them.
 	 */
-	private static final int TYPE_COUNT = TileType.values().length;
+	private HitchRecorder hitches;
 		
 	/**
 	 * The BoardPanel instance.
@@ -41,83 +73,80 @@ public class Tetris extends JFrame {
 	private SidePanel side;
 	
 	/**
-	 * Whether or not the game is paused.
+	 * The canvas that the game loop renders into directly, or {@code null} if
+	 * the panels are painted by Swing.
 	 */
-	private boolean isPaused;
+	private GameCanvas canvas;
 	
 	/**
-	 * Whether or not we've played a game yet. This is set to true
-	 * initially and then set to false when the game starts.
+	 * The board version that was last sent to be repainted.
 	 */
-	private boolean isNewGame;
+	private long renderedBoardVersion;
 	
 	/**
-	 * Whether or not the game is over.
+	 * The piece version that was last sent to be repainted.
 	 */
-	private boolean isGameOver;
+	private long renderedPieceVersion;
 	
 	/**
-	 * The current level we're on.
+	 * The stats version that was last sent to be repainted.
 	 */
-	private int level;
+	private long renderedStatsVersion;
 	
 	/**
-	 * The current score.
+	 * The first board row covered by the piece and its ghost when they were
+	 * last sent to be repainted.
 	 */
-	private int score;
+	private int renderedFirstRow;
 	
 	/**
-	 * The random number generator. This is used to
-	 * spit out pieces randomly.
+	 * The last board row covered by the piece and its ghost when they were
+	 * last sent to be repainted.
 	 */
-	private Random random;
+	private int renderedLastRow;
 	
 	/**
-	 * The clock that handles the update logic.
+	 * The first board row the piece is sliding across.
 	 */
-	private Clock logicTimer;
-				
-	/**
-	 * The current type of tile.
-	 */
-	private TileType currentType;
+	private int slideFirstRow;
 	
 	/**
-	 * The next type of tile.
+	 * The last board row the piece is sliding across.
 	 */
-	private TileType nextType;
-		
+	private int slideLastRow;
+	
 	/**
-	 * The current column of our tile.
+	 * The time in nanoseconds that the piece finishes sliding to its latest
+	 * position. Until then, its rows are redrawn every frame.
 	 */
-	private int currentCol;
+	private long slideEnd;
 	
 	/**
-	 * The current row of our tile.
+	 * Whether or not the overlay was shown when the side panel was last sent to
+	 * be repainted.
 	 */
-	private int currentRow;
+	private boolean renderedOverlay;
 	
 	/**
-	 * The current rotation of our tile.
+	 * The time in nanoseconds that the overlay was last sent to be repainted.
 	 */
-	private int currentRotation;
+	private long overlayRenderTime;
 		
 	/**
-	 * Ensures that a certain amount of time passes after a piece is
-	 * spawned before we can drop it.
+	 * Creates a new Tetris instance that is painted by Swing. Sets up the
+	 * window's properties, and adds a controller listener.
 	 */
-	private int dropCooldown;
+    Tetris() {
+		this(false);
+	}
 	
-	/**
-	 * The speed of the game.
-	 */
-	private float gameSpeed;
-		
 	/**
 	 * Creates a new Tetris instance. Sets up the window's properties,
 	 * and adds a controller listener.
+	 * @param activeRendering Whether the game loop should render each frame
+	 * itself, rather than asking Swing to repaint the panels.
 	 */
-    Tetris() {
+    Tetris(boolean activeRendering) {
 		/*
 		 * Set the basic properties of the window.
 		 */
@@ -126,6 +155,20 @@ public class Tetris extends JFrame {
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		setResizable(false);
 		
+		/*
+		 * Initialize the engine that runs the game.
+		 */
+		this.engine = new TetrisEngine();
+		this.inputs = new InputQueue();
+		this.stats = new FrameStats();
+		this.hitches = new HitchRecorder();
+		
+		//Nothing has been rendered yet, so the first frame repaints everything.
+		this.renderedBoardVersion = -1;
+		this.renderedPieceVersion = -1;
+		this.renderedStatsVersion = -1;
+		this.slideEnd = System.nanoTime();
+		
 		/*
 		 * Initialize the BoardPanel and SidePanel instances.
 		 */
@@ -133,13 +176,22 @@ public class Tetris extends JFrame {
 		this.side = new SidePanel(this);
 		
 		/*
-		 * Add the BoardPanel and SidePanel instances to the window.
+		 * Add the BoardPanel and SidePanel instances to the window. When rendering
+		 * actively, the panels draw into a canvas instead of being added themselves.
 		 */
-		add(board, BorderLayout.CENTER);
-		add(side, BorderLayout.EAST);
+		if(activeRendering) {
+			this.canvas = new GameCanvas(board, side, inputs::wake);
+			add(canvas, BorderLayout.CENTER);
+		} else {
+			add(board, BorderLayout.CENTER);
+			add(side, BorderLayout.EAST);
+		}
 		
 		/*
-		 * Adds a custom anonymous KeyListener to the frame.
+		 * Adds a custom anonymous KeyListener to the frame. Each key is translated
+		 * into an input for the engine, which decides what effect it has. The inputs
+		 * are queued rather than handled here, so the game state is only ever
+		 * touched by the game loop.
 		 */
 		addKeyListener(new KeyAdapter() {
 			
@@ -149,83 +201,77 @@ public class Tetris extends JFrame {
 				switch(e.getKeyCode()) {
 				
 				/*
-				 * Drop - When pressed, we check to see that the game is not
-				 * paused and that there is no drop cooldown, then set the
-				 * logic timer to run at a speed of 25 cycles per second.
+				 * Drop - Starts dropping the piece quickly.
 				 */
 				case KeyEvent.VK_S:
-					if(!isPaused && dropCooldown == 0) {
-						logicTimer.setCyclesPerSecond(25.0f);
-					}
+					inputs.offer(Input.DROP_START);
 					break;
 					
 				/*
-				 * Move Left - When pressed, we check to see that the game is
-				 * not paused and that the position to the left of the current
-				 * position is valid. If so, we decrement the current column by 1.
+				 * Hard Drop - Drops the piece straight to the bottom.
+				 */
+				case KeyEvent.VK_W:
+					inputs.offer(Input.HARD_DROP);
+					break;
+					
+				/*
+				 * Move Left - Moves the piece one column to the left.
 				 */
 				case KeyEvent.VK_A:
-					if(!isPaused && board.isValidAndEmpty(currentType, currentCol - 1, currentRow, currentRotation)) {
-						currentCol--;
-					}
+					inputs.offer(Input.MOVE_LEFT);
 					break;
 					
 				/*
-				 * Move Right - When pressed, we check to see that the game is
-				 * not paused and that the position to the right of the current
-				 * position is valid. If so, we increment the current column by 1.
+				 * Move Right - Moves the piece one column to the right.
 				 */
 				case KeyEvent.VK_D:
-					if(!isPaused && board.isValidAndEmpty(currentType, currentCol + 1, currentRow, currentRotation)) {
-						currentCol++;
-					}
+					inputs.offer(Input.MOVE_RIGHT);
 					break;
 					
 				/*
-				 * Rotate Anticlockwise - When pressed, check to see that the game is not paused
-				 * and then attempt to rotate the piece anticlockwise. Because of the size and
-				 * complexity of the rotation code, as well as it's similarity to clockwise
-				 * rotation, the code for rotating the piece is handled in another method.
+				 * Rotate Anticlockwise - Rotates the piece anticlockwise.
 				 */
 				case KeyEvent.VK_Q:
-					if(!isPaused) {
-						rotatePiece((currentRotation == 0) ? 3 : currentRotation - 1);
-					}
+					inputs.offer(Input.ROTATE_ANTICLOCKWISE);
 					break;
 				
 				/*
-			     * Rotate Clockwise - When pressed, check to see that the game is not paused
-				 * and then attempt to rotate the piece clockwise. Because of the size and
-				 * complexity of the rotation code, as well as it's similarity to anticlockwise
-				 * rotation, the code for rotating the piece is handled in another method.
+				 * Rotate Clockwise - Rotates the piece clockwise.
 				 */
 				case KeyEvent.VK_E:
-					if(!isPaused) {
-						rotatePiece((currentRotation == 3) ? 0 : currentRotation + 1);
-					}
+					inputs.offer(Input.ROTATE_CLOCKWISE);
 					break;
 					
 				/*
-				 * Pause Game - When pressed, check to see that we're currently playing a game.
-				 * If so, toggle the pause variable and update the logic timer to reflect this
-				 * change, otherwise the game will execute a huge number of updates and essentially
-				 * cause an instant game over when we unpause if we stay paused for more than a
-				 * minute or so.
+				 * Pause Game - Pauses or unpauses the game.
 				 */
 				case KeyEvent.VK_P:
-					if(!isGameOver && !isNewGame) {
-						isPaused = !isPaused;
-						logicTimer.setPaused(isPaused);
-					}
+					inputs.offer(Input.PAUSE);
 					break;
 				
 				/*
-				 * Start Game - When pressed, check to see that we're in either a game over or new
-				 * game state. If so, reset the game.
+				 * Start Game - Starts a new game.
 				 */
 				case KeyEvent.VK_ENTER:
-					if(isGameOver || isNewGame) {
-						resetGame();
+					inputs.offer(Input.START);
+					break;
+				
+				/*
+				 * Frame Times - Shows or hides the frame times in place of the controls.
+				 * The game loop is woken so that it redraws the side panel.
+				 */
+				case KeyEvent.VK_F3:
+					side.setOverlayStats(side.getOverlayStats() == null ? stats : null);
+					inputs.wake();
+					break;
+				
+				/*
+				 * Hitches - Prints the last few frames that took too long, and
+				 * whether the garbage collector was running during them.
+				 */
+				case KeyEvent.VK_F4:
+					for(String hitch : hitches.dump()) {
+						System.out.println(hitch);
 					}
 					break;
 				
@@ -238,13 +284,10 @@ public class Tetris extends JFrame {
 				switch(e.getKeyCode()) {
 				
 				/*
-				 * Drop - When released, we set the speed of the logic timer
-				 * back to whatever the current game speed is and clear out
-				 * any cycles that might still be elapsed.
+				 * Drop - Stops dropping the piece quickly.
 				 */
 				case KeyEvent.VK_S:
-					logicTimer.setCyclesPerSecond(gameSpeed);
-					logicTimer.reset();
+					inputs.offer(Input.DROP_STOP);
 					break;
 				}
 				
@@ -262,224 +305,274 @@ public class Tetris extends JFrame {
 	}
 	
 	/**
-	 * Starts the game running. Initializes everything and enters the game loop.
+	 * Starts the game running and enters the game loop. The game is updated
+	 * with a fixed timestep of {@code FRAME_TIME}, however often it is rendered,
+	 * so that it plays the same on any display.
+	 * @param framesPerSecond The number of frames to render per second.
 	 */
-	private void startGame() {
-		/*
-		 * Initialize our random number generator, logic timer, and new game variables.
-		 */
-		this.random = new Random();
-		this.isNewGame = true;
-		this.gameSpeed = 1.0f;
-		
-		/*
-		 * Setup the timer to keep the game from running before the user presses enter
-		 * to start it.
-		 */
-		this.logicTimer = new Clock(gameSpeed);
-		logicTimer.setPaused(true);
+	private void startGame(int framesPerSecond) {
+		FramePacer pacer = new FramePacer(framesPerSecond);
+		long nextTick = System.nanoTime();
+		boolean isCatchingUp = false;
 		
+		//The same event is begun again every frame, so that the loop never allocates.
+		SlowFrameEvent frameEvent = new SlowFrameEvent();
 		while(true) {
-			//Get the time that the frame started.
-			long start = System.nanoTime();
-			
-			//Update the logic timer.
-			logicTimer.update();
+			long now = System.nanoTime();
+			frameEvent.begin();
 			
 			/*
-			 * If a cycle has elapsed on the timer, we can update the game and
-			 * move our current piece down.
+			 * Run a game update for every FRAME_TIME that has passed since the
+			 * last one. Each one handles the inputs since the previous update,
+			 * then hands the new state of the game over to the renderer. After
+			 * sleeping through a stretch of updates on purpose, all of them are
+			 * run, so that the piece still falls on time.
 			 */
-			if(logicTimer.hasElapsedCycle()) {
-				updateGame();
+			int ticks = 0;
+			while(now - nextTick >= 0 && (ticks < MAX_TICKS_PER_FRAME || isCatchingUp)) {
+				long tickStart = System.nanoTime();
+				processInput();
+				engine.tick();
+				engine.publishSnapshot(nextTick);
+				stats.snapshotPublished();
+				stats.recordTick(System.nanoTime() - tickStart);
+				nextTick += TetrisEngine.FRAME_NANOS;
+				ticks++;
 			}
-		
-			//Decrement the drop cool down if necessary.
-			if(dropCooldown > 0) {
-				dropCooldown--;
+			if(now - nextTick >= 0) {
+				nextTick = now + TetrisEngine.FRAME_NANOS;
 			}
+			isCatchingUp = false;
 			
 			//Display the window to the user.
+			long renderStart = System.nanoTime();
 			renderGame();
+			long renderEnd = System.nanoTime();
+			
+			//Only frames that took longer than the time between frames are recorded.
+			frameEvent.end();
+			if(renderEnd - now > pacer.getPeriod() && frameEvent.shouldCommit()) {
+				frameEvent.budget = pacer.getPeriod();
+				frameEvent.ticks = ticks;
+				frameEvent.isActiveRendering = (canvas != null);
+				frameEvent.commit();
+			}
 			
 			/*
-			 * Sleep to cap the framerate.
+			 * If nothing is going to change for longer than a frame, there's no
+			 * need to keep waking up. Wait for an input, or until the update on
+			 * which the piece next falls, whichever comes first.
 			 */
-			long delta = (System.nanoTime() - start) / 1000000L;
-			if(delta < FRAME_TIME) {
-				try {
-					Thread.sleep(FRAME_TIME - delta);
-				} catch(Exception e) {
-					e.printStackTrace();
+			long idleNanos = engine.getNanosUntilNextChange();
+			long overshoot = 0;
+			if(idleNanos > pacer.getPeriod() && inputs.size() == 0 && !isSliding()) {
+				if(idleNanos == Long.MAX_VALUE) {
+					//Nothing happens until an input, so start updating again from when it arrives.
+					inputs.await(Long.MAX_VALUE);
+					nextTick = System.nanoTime();
+				} else {
+					//Each update moves the clock on by a frame, so find the update the piece falls on.
+					long wakeTime = nextTick + ((idleNanos - 1) / TetrisEngine.FRAME_NANOS) * TetrisEngine.FRAME_NANOS;
+					inputs.await(wakeTime - System.nanoTime());
+					isCatchingUp = true;
+					
+					//A wait cut short by an input didn't oversleep, so only a wait that ran out is counted.
+					long late = System.nanoTime() - wakeTime;
+					if(late >= 0) {
+						overshoot = late;
+						stats.recordSleepOvershoot(overshoot);
+					}
+				}
+			} else {
+				//Wait for the display's next refresh. If the frame is already late, there is no wait to count.
+				long deadline = pacer.getDeadline();
+				boolean isWaiting = (System.nanoTime() - deadline < 0);
+				long woke = pacer.awaitNextFrame();
+				if(isWaiting) {
+					overshoot = woke - deadline;
+					stats.recordSleepOvershoot(overshoot);
 				}
 			}
+			
+			//A frame is only slow if the game loop made it late, so time spent waiting on purpose isn't counted.
+			hitches.recordFrame(now, renderStart - now, renderEnd - renderStart, overshoot, System.nanoTime());
 		}
 	}
 	
 	/**
-	 * Updates the game and handles the bulk of it's logic.
+	 * Hands every queued input to the engine, in the order they were pressed.
 	 */
-	private void updateGame() {
-		/*
-		 * Check to see if the piece's position can move down to the next row.
-		 */
-		if(board.isValidAndEmpty(currentType, currentCol, currentRow + 1, currentRotation)) {
-			//Increment the current row if it's safe to do so.
-			currentRow++;
-		} else {
-			/*
-			 * We've either reached the bottom of the board, or landed on another piece, so
-			 * we need to add the piece to the board.
-			 */
-			board.addPiece(currentType, currentCol, currentRow, currentRotation);
-			
-			/*
-			 * Check to see if adding the new piece resulted in any cleared lines. If so,
-			 * increase the player's score. (Up to 4 lines can be cleared in a single go;
-			 * [1 = 100pts, 2 = 200pts, 3 = 400pts, 4 = 800pts]).
-			 */
-			int cleared = board.checkLines();
-			if(cleared > 0) {
-				score += 50 << cleared;
-			}
-			
-			/*
-			 * Increase the speed slightly for the next piece and update the game's timer
-			 * to reflect the increase.
-			 */
-			gameSpeed = gameSpeed + 0.035f;
-			logicTimer.setCyclesPerSecond(gameSpeed);
-			logicTimer.reset();
-			
-			/*
-			 * Set the drop cooldown so the next piece doesn't automatically come flying
-			 * in from the heavens immediately after this piece hits if we've not reacted
-			 * yet. (~0.5 second buffer).
-			 */
-			dropCooldown = 25;
-			
-			/*
-			 * Update the difficulty level. This has no effect on the game, and is only
-			 * used in the "Level" string in the SidePanel.
-			 */
-			level = (int)(gameSpeed * 1.70f);
-			
-			/*
-			 * Spawn a new piece to control.
-			 */
-			spawnPiece();
-		}		
+	void processInput() {
+		Input input;
+		while((input = inputs.poll()) != null) {
+			engine.handleInput(input);
+			stats.inputHandled(inputs.getPolledTime());
+		}
 	}
 	
 	/**
-	 * Forces the BoardPanel and SidePanel to repaint.
+	 * Asks the BoardPanel and SidePanel to repaint whatever has changed since
+	 * the last frame. A paused game or a title screen doesn't change, so it
+	 * isn't repainted at all. When rendering actively, a frame that has changed
+	 * is drawn and shown right away instead.
 	 */
     void renderGame() {
-		board.repaint();
-		side.repaint();
-	}
-	
-	/**
-	 * Resets the game variables to their default values at the start
-	 * of a new game.
-	 */
-	private void resetGame() {
-		this.level = 1;
-		this.score = 0;
-		this.gameSpeed = 1.0f;
-		this.nextType = TileType.values()[random.nextInt(TYPE_COUNT)];
-		this.isNewGame = false;
-		this.isGameOver = false;		
-		board.clear();
-		logicTimer.reset();
-		logicTimer.setCyclesPerSecond(gameSpeed);
-		spawnPiece();
-	}
+		long now = System.nanoTime();
+		long boardVersion = engine.getBoard().getVersion();
+		long pieceVersion = engine.getPieceVersion();
+		long statsVersion = engine.getStatsVersion();
+		boolean statsChanged = (statsVersion != renderedStatsVersion);
+		boolean boardChanged = (boardVersion != renderedBoardVersion);
 		
-	/**
-	 * Spawns a new piece and resets our piece's variables to their default
-	 * values.
-	 */
-	private void spawnPiece() {
 		/*
-		 * Poll the last piece and reset our position and rotation to
-		 * their default variables, then pick the next piece to use.
+		 * If only the piece has moved, it slides to its new position over the
+		 * next FRAME_TIME. Only the rows it and its ghost have covered, before
+		 * and after, need to be redrawn while it does.
 		 */
-		this.currentType = nextType;
-		this.currentCol = currentType.getSpawnColumn();
-		this.currentRow = currentType.getSpawnRow();
-		this.currentRotation = 0;
-		this.nextType = TileType.values()[random.nextInt(TYPE_COUNT)];
+		if(pieceVersion != renderedPieceVersion && !statsChanged && !boardChanged) {
+			this.slideFirstRow = Math.min(getPieceFirstRow(), renderedFirstRow);
+			this.slideLastRow = Math.max(getPieceLastRow(), renderedLastRow);
+			this.slideEnd = now + TetrisEngine.FRAME_NANOS;
+		}
+		boolean isSliding = isSliding();
 		
 		/*
-		 * If the spawn point is invalid, we need to pause the game and flag that we've lost
-		 * because it means that the pieces on the board have gotten too high.
-		 */
-		if(!board.isValidAndEmpty(currentType, currentCol, currentRow, currentRotation)) {
-			this.isGameOver = true;
-			logicTimer.setPaused(true);
-		}		
-	}
-
-	/**
-	 * Attempts to set the rotation of the current piece to newRotation.
-	 * @param newRotation The rotation of the new peice.
-	 */
-	private void rotatePiece(int newRotation) {
-		/*
-		 * Sometimes pieces will need to be moved when rotated to avoid clipping
-		 * out of the board (the I piece is a good example of this). Here we store
-		 * a temporary row and column in case we need to move the tile as well.
+		 * The overlay's times change every frame, but it is only redrawn every
+		 * so often, and when it is shown or hidden.
 		 */
-		int newColumn = currentCol;
-		int newRow = currentRow;
+		boolean isOverlayShown = (side.getOverlayStats() != null);
+		boolean overlayChanged = (isOverlayShown != renderedOverlay)
+				|| (isOverlayShown && now - overlayRenderTime >= OVERLAY_REFRESH_NANOS);
+		if(overlayChanged) {
+			this.renderedOverlay = isOverlayShown;
+			this.overlayRenderTime = now;
+		}
 		
 		/*
-		 * Get the insets for each of the sides. These are used to determine how
-		 * many empty rows or columns there are on a given side.
+		 * A page flipped frame is always drawn in full, so there is no point in
+		 * working out which rows have changed.
 		 */
-		int left = currentType.getLeftInset(newRotation);
-		int right = currentType.getRightInset(newRotation);
-		int top = currentType.getTopInset(newRotation);
-		int bottom = currentType.getBottomInset(newRotation);
+		if(canvas != null) {
+			if(statsChanged || boardChanged || isSliding || overlayChanged || canvas.isDamaged()) {
+				long startTime = System.nanoTime();
+				canvas.render(engine.getSnapshot());
+				recordFrame(startTime);
+			}
+		} else if(statsChanged) {
+			//The stats also decide which screen the board shows, so both panels are repainted.
+			side.repaint();
+			board.repaint();
+		} else if(boardChanged) {
+			board.repaint();
+		} else if(isSliding) {
+			board.repaintRows(slideFirstRow, slideLastRow);
+		}
 		
-		/*
-		 * If the current piece is too far to the left or right, move the piece away from the edges
-		 * so that the piece doesn't clip out of the map and automatically become invalid.
-		 */
-		if(currentCol <= -left) {
-			newColumn -= currentCol - left;
-		} else if(currentCol + currentType.getDimension() - right >= BoardPanel.COL_COUNT) {
-			newColumn -= (currentCol + currentType.getDimension() - right) - BoardPanel.COL_COUNT + 1;
+		//The overlay is only on the side panel, so the board is left alone.
+		if(canvas == null && overlayChanged && !statsChanged) {
+			side.repaint();
 		}
 		
-		/*
-		 * If the current piece is too far to the top or bottom, move the piece away from the edges
-		 * so that the piece doesn't clip out of the map and automatically become invalid.
-		 */
-		if(currentRow < -top) {
-			newRow -= currentRow - top;
-		} else if(currentRow + currentType.getDimension() - bottom >= BoardPanel.ROW_COUNT) {
-			newRow -= (currentRow + currentType.getDimension() - bottom) - BoardPanel.ROW_COUNT + 1;
+		if(engine.getPieceType() != null) {
+			this.renderedFirstRow = getPieceFirstRow();
+			this.renderedLastRow = getPieceLastRow();
 		}
+		this.renderedBoardVersion = boardVersion;
+		this.renderedPieceVersion = pieceVersion;
+		this.renderedStatsVersion = statsVersion;
+	}
+	
+	/**
+	 * Records a frame that has just been drawn. This is called by whichever
+	 * thread renders: the game loop when rendering actively, or the Event
+	 * Dispatch Thread as each panel is painted by Swing.
+	 * @param startTime The time in nanoseconds that drawing started.
+	 */
+	void recordFrame(long startTime) {
+		long endTime = System.nanoTime();
+		stats.frameDrawn(startTime, endTime);
 		
-		/*
-		 * Check to see if the new position is acceptable. If it is, update the rotation and
-		 * position of the piece.
-		 */
-		if(board.isValidAndEmpty(currentType, newColumn, newRow, newRotation)) {
-			currentRotation = newRotation;
-			currentRow = newRow;
-			currentCol = newColumn;
+		//The game loop records its own frames when it renders them itself.
+		if(canvas == null) {
+			hitches.recordFrame(startTime, 0, endTime - startTime, 0, endTime);
 		}
 	}
 	
+	/**
+	 * Gets the times recorded by the game loop and the renderer.
+	 * @return The frame stats.
+	 */
+	public FrameStats getFrameStats() {
+		return stats;
+	}
+	
+	/**
+	 * Gets the recorder of the frames that took too long.
+	 * @return The hitch recorder.
+	 */
+	public HitchRecorder getHitchRecorder() {
+		return hitches;
+	}
+	
+	/**
+	 * Checks to see whether or not the piece is still sliding to the position
+	 * it was last rendered at.
+	 * @return Whether or not the piece is sliding.
+	 */
+	private boolean isSliding() {
+		return (System.nanoTime() - slideEnd < 0);
+	}
+	
+	/**
+	 * Gets the highest board row that the current piece covers.
+	 * @return The first row of the piece.
+	 */
+	private int getPieceFirstRow() {
+		PieceShape shape = engine.getPieceType().getShape(engine.getPieceRotation());
+		return engine.getPieceRow() + shape.getTopInset();
+	}
+	
+	/**
+	 * Gets the lowest board row that the ghost of the current piece covers.
+	 * @return The last row of the ghost.
+	 */
+	private int getPieceLastRow() {
+		PieceShape shape = engine.getPieceType().getShape(engine.getPieceRotation());
+		return engine.getGhostRow() + shape.getDimension() - shape.getBottomInset();
+	}
+	
+	/**
+	 * Gets the latest snapshot of the game for the panels to draw. This must
+	 * only be called on the Event Dispatch Thread, or by the game loop when
+	 * rendering actively.
+	 * @return The latest snapshot.
+	 */
+	public FrameSnapshot getSnapshot() {
+		return engine.getSnapshot();
+	}
+	
+	/**
+	 * Gets the engine that runs the game.
+	 * @return The engine.
+	 */
+	public TetrisEngine getEngine() {
+		return engine;
+	}
+	
+	/**
+	 * Gets the board that the game is played on.
+	 * @return The board.
+	 */
+	public Board getBoard() {
+		return engine.getBoard();
+	}
+	
 	/**
 	 * Checks to see whether or not the game is paused.
 	 * @return Whether or not the game is paused.
 	 */
 	public boolean isPaused() {
-		return isPaused;
+		return engine.isPaused();
 	}
 	
 	/**
@@ -487,7 +580,7 @@ public class Tetris extends JFrame {
 	 * @return Whether or not the game is over.
 	 */
 	public boolean isGameOver() {
-		return isGameOver;
+		return engine.isGameOver();
 	}
 	
 	/**
@@ -495,7 +588,7 @@ public class Tetris extends JFrame {
 	 * @return Whether or not this is a new game.
 	 */
 	public boolean isNewGame() {
-		return isNewGame;
+		return engine.isNewGame();
 	}
 	
 	/**
@@ -503,7 +596,7 @@ public class Tetris extends JFrame {
 	 * @return The score.
 	 */
 	public int getScore() {
-		return score;
+		return engine.getScore();
 	}
 	
 	/**
@@ -511,7 +604,7 @@ public class Tetris extends JFrame {
 	 * @return The level.
 	 */
 	public int getLevel() {
-		return level;
+		return engine.getLevel();
 	}
 	
 	/**
@@ -519,7 +612,7 @@ public class Tetris extends JFrame {
 	 * @return The piece type.
 	 */
 	public TileType getPieceType() {
-		return currentType;
+		return engine.getPieceType();
 	}
 	
 	/**
@@ -527,7 +620,7 @@ public class Tetris extends JFrame {
 	 * @return The next piece.
 	 */
 	public TileType getNextPieceType() {
-		return nextType;
+		return engine.getNextPieceType();
 	}
 	
 	/**
@@ -535,7 +628,7 @@ public class Tetris extends JFrame {
 	 * @return The column.
 	 */
 	public int getPieceCol() {
-		return currentCol;
+		return engine.getPieceCol();
 	}
 	
 	/**
@@ -543,7 +636,7 @@ public class Tetris extends JFrame {
 	 * @return The row.
 	 */
 	public int getPieceRow() {
-		return currentRow;
+		return engine.getPieceRow();
 	}
 	
 	/**
@@ -551,17 +644,57 @@ public class Tetris extends JFrame {
 	 * @return The rotation.
 	 */
 	public int getPieceRotation() {
-		return currentRotation;
+		return engine.getPieceRotation();
 	}
 
 	/**
 	 * Entry-point of the game. Responsible for creating and starting a new
-	 * game instance.
-	 * @param args Unused.
+	 * game instance. Passing {@code --active} renders each frame from the game
+	 * loop rather than through Swing, which shows frames sooner after an input.
+	 * Frames are rendered at the display's refresh rate unless another rate is
+	 * given with {@code --fps <rate>}. The frame times are registered over JMX
+	 * as {@code FrameStats.OBJECT_NAME}, and F3 shows them on the side panel.
+	 * Frames that take longer than {@code FRAME_TIME} can be dumped over JMX
+	 * as {@code HitchRecorder.OBJECT_NAME}, or printed with F4.
+	 * @param args The command line arguments.
 	 */
 	public static void main(String[] args) {
-		Tetris tetris = new Tetris();
-		tetris.startGame();
+		boolean activeRendering = false;
+		int framesPerSecond = getRefreshRate();
+		for(int i = 0; i < args.length; i++) {
+			if(args[i].equals("--active")) {
+				activeRendering = true;
+			} else if(args[i].equals("--fps") && i + 1 < args.length) {
+				framesPerSecond = Integer.parseInt(args[++i]);
+			}
+		}
+		
+		Tetris tetris = new Tetris(activeRendering);
+		
+		//The game runs just the same if the frame times can't be read over JMX.
+		try {
+			tetris.getFrameStats().register();
+		} catch(JMException e) {
+			System.err.println("Frame times won't be available over JMX: " + e);
+		}
+		try {
+			tetris.getHitchRecorder().register();
+		} catch(JMException e) {
+			System.err.println("Hitches won't be available over JMX: " + e);
+		}
+		tetris.getHitchRecorder().start();
+		tetris.startGame(framesPerSecond);
+	}
+	
+	/**
+	 * Gets the refresh rate of the main display, so that frames can be
+	 * rendered as often as they can be shown.
+	 * @return The refresh rate in hertz.
+	 */
+	private static int getRefreshRate() {
+		int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDisplayMode().getRefreshRate();
+		return (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN) ? refreshRate : DEFAULT_REFRESH_RATE;
 	}
 
 }
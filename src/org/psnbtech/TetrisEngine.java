@@ -0,0 +1,917 @@
+package org.psnbtech;
+
+/**
+ * The {@code TetrisEngine} class is responsible for the game's state and rules.
+ * It has no dependency on AWT or Swing, so a game can be advanced one frame at a
+ * time with {@link #step(Input)} without a window, and any number of games can
+ * be run side by side. {@link #stepVirtual(Input)} advances a frame of simulated
+ * time instead, so that a whole game can be played in a few milliseconds.
+ * <p>
+ * Spawning, locking, line clears, pauses and the end of each game are recorded
+ * as Flight Recorder events in the "Tetris" category. The events for each
+ * piece are made once and begun again every time, so playing never allocates,
+ * and they do next to nothing while nothing is being recorded, so they can be
+ * left on.
+ */
+public class TetrisEngine {
+
+	/**
+	 * The number of milliseconds that make up one frame.
+	 */
+	public static final long FRAME_TIME = 1000L / 50L;
+
+	/**
+	 * The number of nanoseconds that make up one frame.
+	 */
+	public static final long FRAME_NANOS = FRAME_TIME * 1000000L;
+
+	/**
+	 * The Board instance.
+	 */
+	private Board board;
+
+	/**
+	 * Whether or not the game is paused.
+	 */
+	private boolean isPaused;
+
+	/**
+	 * Whether or not we've played a game yet. This is set to true
+	 * initially and then set to false when the game starts.
+	 */
+	private boolean isNewGame;
+
+	/**
+	 * Whether or not the game is over.
+	 */
+	private boolean isGameOver;
+
+	/**
+	 * The current level we're on.
+	 */
+	private int level;
+
+	/**
+	 * The current score.
+	 */
+	private int score;
+
+	/**
+	 * The number of lines cleared this game.
+	 */
+	private int lines;
+
+	/**
+	 * The number of pieces locked onto the board this game.
+	 */
+	private int pieces;
+
+	/**
+	 * The pieces that are coming up next. The first piece in the queue is
+	 * the next piece.
+	 */
+	private PieceQueue preview;
+
+	/**
+	 * The clock that handles the update logic.
+	 */
+	private Clock logicTimer;
+
+	/**
+	 * The current type of tile.
+	 */
+	private TileType currentType;
+
+	/**
+	 * The current column of our tile.
+	 */
+	private int currentCol;
+
+	/**
+	 * The current row of our tile.
+	 */
+	private int currentRow;
+
+	/**
+	 * The current rotation of our tile.
+	 */
+	private int currentRotation;
+
+	/**
+	 * Ensures that a certain amount of time passes after a piece is
+	 * spawned before we can drop it.
+	 */
+	private int dropCooldown;
+
+	/**
+	 * The speed of the game.
+	 */
+	private float gameSpeed;
+
+	/**
+	 * The row the current piece would land on if it were dropped. This is only
+	 * valid while the piece and the board match the ghost key fields below.
+	 */
+	private int ghostRow;
+
+	/**
+	 * The type of piece the ghost row was found for, or {@code null} if the
+	 * ghost row hasn't been found yet.
+	 */
+	private TileType ghostType;
+
+	/**
+	 * The column the ghost row was found for.
+	 */
+	private int ghostCol;
+
+	/**
+	 * The rotation the ghost row was found for.
+	 */
+	private int ghostRotation;
+
+	/**
+	 * The row the piece was on when the ghost row was found.
+	 */
+	private int ghostStartRow;
+
+	/**
+	 * The version of the board the ghost row was found for.
+	 */
+	private long ghostBoardVersion;
+
+	/**
+	 * Counts changes to the current piece's type, position and rotation, so
+	 * that the renderer can tell when the piece needs to be drawn again.
+	 */
+	private long pieceVersion;
+
+	/**
+	 * Counts changes to the state shown around the board: the score, level,
+	 * lines, next piece, and whether the game is paused, new or over.
+	 */
+	private long statsVersion;
+
+	/**
+	 * The type of piece in the last published snapshot.
+	 */
+	private TileType publishedType;
+
+	/**
+	 * The column of the piece in the last published snapshot.
+	 */
+	private int publishedCol;
+
+	/**
+	 * The row of the piece in the last published snapshot.
+	 */
+	private int publishedRow;
+
+	/**
+	 * The rotation of the piece in the last published snapshot.
+	 */
+	private int publishedRotation;
+
+	/**
+	 * The number of pieces that had been locked when the last snapshot was
+	 * published.
+	 */
+	private int publishedPieces;
+
+	/**
+	 * The Flight Recorder event for a piece locking. It is begun again for
+	 * every piece, so that locking a piece never allocates.
+	 */
+	private final PieceLockEvent lockEvent;
+
+	/**
+	 * The Flight Recorder event for the board being checked for full lines,
+	 * which is begun again after every piece locks.
+	 */
+	private final LineClearEvent clearEvent;
+
+	/**
+	 * The Flight Recorder event for a piece spawning, which is begun again
+	 * for every piece.
+	 */
+	private final PieceSpawnEvent spawnEvent;
+
+	/**
+	 * The Flight Recorder event for the game being played, which is recorded
+	 * when it ends, or {@code null} if no game is being played.
+	 */
+	private GameOverEvent gameEvent;
+
+	/**
+	 * The Flight Recorder event for the game being paused, which is recorded
+	 * when it resumes, or {@code null} if the game isn't paused.
+	 */
+	private PauseEvent pauseEvent;
+
+	/**
+	 * The snapshots handed from the game loop to the renderer.
+	 */
+	private SnapshotBuffer snapshots;
+
+	/**
+	 * The number of snapshots that have been published.
+	 */
+	private long frame;
+
+	/**
+	 * Creates a new TetrisEngine instance whose pieces are picked at random
+	 * with an unpredictable seed.
+	 */
+	public TetrisEngine() {
+		this(new RandomPieceGenerator(), 1, TimeSource.SYSTEM);
+	}
+
+	/**
+	 * Creates a new TetrisEngine instance whose pieces are picked at random
+	 * with the given seed, so that the same seed always produces the same
+	 * sequence of pieces.
+	 * @param seed The seed of the random number generator.
+	 */
+	public TetrisEngine(long seed) {
+		this(new RandomPieceGenerator(seed), 1, TimeSource.SYSTEM);
+	}
+
+	/**
+	 * Creates a new TetrisEngine instance whose logic timer reads the time from
+	 * the given source. Many engines can share a {@code ManualTimeSource} so that
+	 * a simulation moves all of their games forward together.
+	 * @param seed The seed of the random number generator.
+	 * @param timeSource The source that the logic timer reads the time from.
+	 */
+	public TetrisEngine(long seed, TimeSource timeSource) {
+		this(new RandomPieceGenerator(seed), 1, timeSource);
+	}
+
+	/**
+	 * Creates a new TetrisEngine instance. Initializes the board, preview queue,
+	 * logic timer, and new game variables.
+	 * @param generator The generator that deals the pieces.
+	 * @param previewSize The number of upcoming pieces that can be previewed.
+	 * @param timeSource The source that the logic timer reads the time from.
+	 */
+	public TetrisEngine(PieceGenerator generator, int previewSize, TimeSource timeSource) {
+		this.board = new Board();
+		this.preview = new PieceQueue(generator, previewSize);
+		this.isNewGame = true;
+		this.gameSpeed = 1.0f;
+
+		/*
+		 * Setup the timer to keep the game from running before the user presses enter
+		 * to start it.
+		 */
+		this.logicTimer = new Clock(gameSpeed, timeSource);
+		logicTimer.setPaused(true);
+
+		//The events for each piece are reused, so that playing never allocates.
+		this.lockEvent = new PieceLockEvent();
+		this.clearEvent = new LineClearEvent();
+		this.spawnEvent = new PieceSpawnEvent();
+
+		//Publish the title screen so there's always something to draw.
+		this.snapshots = new SnapshotBuffer();
+		publishSnapshot();
+	}
+
+	/**
+	 * Handles an input and then advances the game by a single frame.
+	 * @param input The input to handle, or {@code null} if there was none.
+	 */
+	public void step(Input input) {
+		if(input != null) {
+			handleInput(input);
+		}
+		update();
+	}
+
+	/**
+	 * Advances the game by a single frame.
+	 */
+	public void update() {
+		//Update the logic timer.
+		logicTimer.update();
+		updateFrame();
+	}
+
+	/**
+	 * Handles an input and then advances the game by exactly {@code FRAME_TIME}
+	 * of simulated time. Gravity, the drop cooldown and soft dropping all behave
+	 * exactly as they do in real time, but nothing waits on the system clock.
+	 * @param input The input to handle, or {@code null} if there was none.
+	 */
+	public void stepVirtual(Input input) {
+		if(input != null) {
+			handleInput(input);
+		}
+		tick();
+	}
+
+	/**
+	 * Advances the game by exactly {@code FRAME_TIME}, however long it has
+	 * really been since the last frame. A game loop with a fixed timestep calls
+	 * this once for every {@code FRAME_TIME} of real time that passes, so the
+	 * game plays the same no matter how often it is rendered.
+	 */
+	public void tick() {
+		logicTimer.advance(FRAME_TIME);
+		updateFrame();
+	}
+
+	/**
+	 * Updates the game for a frame once the logic timer has been brought up to date.
+	 */
+	private void updateFrame() {
+		/*
+		 * If a cycle has elapsed on the timer, we can update the game and
+		 * move our current piece down.
+		 */
+		if(logicTimer.hasElapsedCycle()) {
+			updateGame();
+		}
+
+		//Decrement the drop cool down if necessary.
+		if(dropCooldown > 0) {
+			dropCooldown--;
+		}
+	}
+
+	/**
+	 * Gets how long the game can go without an input before calling
+	 * {@link #tick()} would change anything. A game loop can sleep through this
+	 * time, as long as it ticks through it afterwards.
+	 * @return The number of nanoseconds until the next change, 0 if the game
+	 * needs ticking every frame, or {@code Long.MAX_VALUE} if nothing will
+	 * change until there is an input (when the game is paused, over, or hasn't
+	 * started yet).
+	 */
+	public long getNanosUntilNextChange() {
+		//The drop cooldown counts down every frame.
+		if(dropCooldown > 0) {
+			return 0L;
+		}
+		return logicTimer.getNanosUntilNextCycle();
+	}
+
+	/**
+	 * Copies the state of the game into a snapshot and publishes it to the
+	 * renderer. This should be called by the game loop once per frame, after
+	 * the game has been updated.
+	 */
+	public void publishSnapshot() {
+		publishSnapshot(TimeSource.SYSTEM.nanoTime());
+	}
+
+	/**
+	 * Copies the state of the game into a snapshot and publishes it to the
+	 * renderer. This should be called by the game loop once per frame, after
+	 * the game has been updated.
+	 * @param tickTime The time in nanoseconds, on the system clock, that the
+	 * frame was due to start. The renderer moves the piece from where it was in
+	 * the previous snapshot over the {@code FRAME_TIME} after this.
+	 */
+	public void publishSnapshot(long tickTime) {
+		FrameSnapshot snapshot = snapshots.getBackBuffer();
+		snapshot.captureBoard(board);
+		if(currentType != null) {
+			snapshot.capturePiece(currentType, currentCol, currentRow, currentRotation, getGhostRow());
+
+			/*
+			 * Only a piece that has moved without rotating, locking or being
+			 * replaced can slide between its old and new positions.
+			 */
+			if(currentType == publishedType && currentRotation == publishedRotation && pieces == publishedPieces) {
+				snapshot.captureMotion(publishedCol, publishedRow, tickTime);
+			} else {
+				snapshot.captureMotion(currentCol, currentRow, tickTime);
+			}
+		} else {
+			snapshot.capturePiece(null, 0, 0, 0, 0);
+		}
+		this.publishedType = currentType;
+		this.publishedCol = currentCol;
+		this.publishedRow = currentRow;
+		this.publishedRotation = currentRotation;
+		this.publishedPieces = pieces;
+
+		snapshot.captureState(++frame, isPaused, isNewGame, isGameOver, score, level, lines, getNextPieceType());
+		snapshots.publish();
+	}
+
+	/**
+	 * Gets the latest snapshot published by the game loop. This must only be
+	 * called from one thread, normally the one that renders the game.
+	 * @return The latest snapshot.
+	 */
+	public FrameSnapshot getSnapshot() {
+		return snapshots.acquire();
+	}
+
+	/**
+	 * Handles an input from the player.
+	 * @param input The input.
+	 */
+	public void handleInput(Input input) {
+		/*
+		 * Until the first game starts there is no piece, so the only input
+		 * that can have any effect is starting the game.
+		 */
+		if(currentType == null && input != Input.START) {
+			return;
+		}
+
+		switch(input) {
+
+		/*
+		 * Drop - When pressed, we check to see that the game is not
+		 * paused and that there is no drop cooldown, then set the
+		 * logic timer to run at a speed of 25 cycles per second.
+		 */
+		case DROP_START:
+			if(!isPaused && dropCooldown == 0) {
+				logicTimer.setCyclesPerSecond(25.0f);
+			}
+			break;
+
+		/*
+		 * Drop - When released, we set the speed of the logic timer
+		 * back to whatever the current game speed is and clear out
+		 * any cycles that might still be elapsed.
+		 */
+		case DROP_STOP:
+			logicTimer.setCyclesPerSecond(gameSpeed);
+			logicTimer.reset();
+			break;
+
+		/*
+		 * Move Left - When pressed, we check to see that the game is
+		 * not paused and that the position to the left of the current
+		 * position is valid. If so, we decrement the current column by 1.
+		 */
+		case MOVE_LEFT:
+			if(!isPaused && board.isValidAndEmpty(currentType, currentCol - 1, currentRow, currentRotation)) {
+				currentCol--;
+				pieceVersion++;
+			}
+			break;
+
+		/*
+		 * Move Right - When pressed, we check to see that the game is
+		 * not paused and that the position to the right of the current
+		 * position is valid. If so, we increment the current column by 1.
+		 */
+		case MOVE_RIGHT:
+			if(!isPaused && board.isValidAndEmpty(currentType, currentCol + 1, currentRow, currentRotation)) {
+				currentCol++;
+				pieceVersion++;
+			}
+			break;
+
+		/*
+		 * Rotate Anticlockwise - When pressed, check to see that the game is not paused
+		 * and then attempt to rotate the piece anticlockwise. Because of the size and
+		 * complexity of the rotation code, as well as it's similarity to clockwise
+		 * rotation, the code for rotating the piece is handled in another method.
+		 */
+		case ROTATE_ANTICLOCKWISE:
+			if(!isPaused) {
+				rotatePiece((currentRotation == 0) ? 3 : currentRotation - 1);
+			}
+			break;
+
+		/*
+		 * Rotate Clockwise - When pressed, check to see that the game is not paused
+		 * and then attempt to rotate the piece clockwise. Because of the size and
+		 * complexity of the rotation code, as well as it's similarity to anticlockwise
+		 * rotation, the code for rotating the piece is handled in another method.
+		 */
+		case ROTATE_CLOCKWISE:
+			if(!isPaused) {
+				rotatePiece((currentRotation == 3) ? 0 : currentRotation + 1);
+			}
+			break;
+
+		/*
+		 * Hard Drop - When pressed, check to see that the game is being played and
+		 * that there is no drop cooldown, then move the piece straight to the row it
+		 * would land on and lock it in place.
+		 */
+		case HARD_DROP:
+			if(!isPaused && !isGameOver && !isNewGame && dropCooldown == 0) {
+				currentRow = getGhostRow();
+				updateGame();
+			}
+			break;
+
+		/*
+		 * Pause Game - When pressed, check to see that we're currently playing a game.
+		 * If so, toggle the pause variable and update the logic timer to reflect this
+		 * change, otherwise the game will execute a huge number of updates and essentially
+		 * cause an instant game over when we unpause if we stay paused for more than a
+		 * minute or so.
+		 */
+		case PAUSE:
+			if(!isGameOver && !isNewGame) {
+				isPaused = !isPaused;
+				logicTimer.setPaused(isPaused);
+				statsVersion++;
+				recordPause();
+			}
+			break;
+
+		/*
+		 * Start Game - When pressed, check to see that we're in either a game over or new
+		 * game state. If so, reset the game.
+		 */
+		case START:
+			if(isGameOver || isNewGame) {
+				resetGame();
+			}
+			break;
+
+		}
+	}
+
+	/**
+	 * Gets the row the current piece would land on if it were dropped straight
+	 * down. Searching for the row takes a collision check per row, so the result
+	 * is kept until the piece moves sideways, rotates, or the board changes.
+	 * Gravity alone never invalidates it, because a piece that has fallen part
+	 * of the way still lands on the same row.
+	 * @return The landing row of the current piece.
+	 */
+	public int getGhostRow() {
+		long boardVersion = board.getVersion();
+		if(currentType != ghostType || currentCol != ghostCol || currentRotation != ghostRotation
+				|| boardVersion != ghostBoardVersion || currentRow < ghostStartRow || currentRow > ghostRow) {
+			this.ghostRow = board.getDropRow(currentType, currentCol, currentRow, currentRotation);
+			this.ghostType = currentType;
+			this.ghostCol = currentCol;
+			this.ghostRotation = currentRotation;
+			this.ghostStartRow = currentRow;
+			this.ghostBoardVersion = boardVersion;
+		}
+		return ghostRow;
+	}
+
+	/**
+	 * Updates the game and handles the bulk of it's logic.
+	 */
+	private void updateGame() {
+		/*
+		 * Check to see if the piece's position can move down to the next row.
+		 */
+		if(board.isValidAndEmpty(currentType, currentCol, currentRow + 1, currentRotation)) {
+			//Increment the current row if it's safe to do so.
+			currentRow++;
+			pieceVersion++;
+		} else {
+			/*
+			 * We've either reached the bottom of the board, or landed on another piece, so
+			 * we need to add the piece to the board.
+			 */
+			lockEvent.begin();
+			board.addPiece(currentType, currentCol, currentRow, currentRotation);
+			pieces++;
+			lockEvent.end();
+			if(lockEvent.shouldCommit()) {
+				lockEvent.pieceType = currentType.name();
+				lockEvent.column = currentCol;
+				lockEvent.row = currentRow;
+				lockEvent.rotation = currentRotation;
+				lockEvent.commit();
+			}
+
+			/*
+			 * Check to see if adding the new piece resulted in any cleared lines. If so,
+			 * increase the player's score. (Up to 4 lines can be cleared in a single go;
+			 * [1 = 100pts, 2 = 200pts, 3 = 400pts, 4 = 800pts]).
+			 */
+			clearEvent.begin();
+			int cleared = board.checkLines();
+			if(cleared > 0) {
+				score += 50 << cleared;
+				lines += cleared;
+			}
+			clearEvent.end();
+			if(clearEvent.shouldCommit()) {
+				clearEvent.cleared = cleared;
+				clearEvent.lines = lines;
+				clearEvent.score = score;
+				clearEvent.commit();
+			}
+
+			/*
+			 * Increase the speed slightly for the next piece and update the game's timer
+			 * to reflect the increase.
+			 */
+			gameSpeed = gameSpeed + 0.035f;
+			logicTimer.setCyclesPerSecond(gameSpeed);
+			logicTimer.reset();
+
+			/*
+			 * Set the drop cooldown so the next piece doesn't automatically come flying
+			 * in from the heavens immediately after this piece hits if we've not reacted
+			 * yet. (~0.5 second buffer).
+			 */
+			dropCooldown = 25;
+
+			/*
+			 * Update the difficulty level. This has no effect on the game, and is only
+			 * used in the "Level" string in the SidePanel.
+			 */
+			level = (int)(gameSpeed * 1.70f);
+
+			/*
+			 * Spawn a new piece to control.
+			 */
+			spawnPiece();
+		}
+	}
+
+	/**
+	 * Resets the game variables to their default values at the start
+	 * of a new game.
+	 */
+	private void resetGame() {
+		this.level = 1;
+		this.score = 0;
+		this.lines = 0;
+		this.pieces = 0;
+		this.gameSpeed = 1.0f;
+		this.isNewGame = false;
+		this.isGameOver = false;
+		this.gameEvent = new GameOverEvent();
+		gameEvent.begin();
+		board.clear();
+		logicTimer.reset();
+		logicTimer.setCyclesPerSecond(gameSpeed);
+		spawnPiece();
+	}
+
+	/**
+	 * Spawns a new piece and resets our piece's variables to their default
+	 * values.
+	 */
+	private void spawnPiece() {
+		spawnEvent.begin();
+
+		/*
+		 * Poll the next piece from the preview queue and reset our position
+		 * and rotation to their default variables.
+		 */
+		this.currentType = preview.poll();
+		this.currentCol = currentType.getSpawnColumn();
+		this.currentRow = currentType.getSpawnRow();
+		this.currentRotation = 0;
+
+		/*
+		 * A new piece always means a new next piece, and usually a new score
+		 * and line count as well.
+		 */
+		pieceVersion++;
+		statsVersion++;
+
+		/*
+		 * If the spawn point is invalid, we need to pause the game and flag that we've lost
+		 * because it means that the pieces on the board have gotten too high.
+		 */
+		if(!board.isValidAndEmpty(currentType, currentCol, currentRow, currentRotation)) {
+			this.isGameOver = true;
+			logicTimer.setPaused(true);
+			recordGameOver();
+		}
+
+		spawnEvent.end();
+		if(spawnEvent.shouldCommit()) {
+			spawnEvent.pieceType = currentType.name();
+			spawnEvent.column = currentCol;
+			spawnEvent.row = currentRow;
+			spawnEvent.pieces = pieces;
+			spawnEvent.isGameOver = isGameOver;
+			spawnEvent.commit();
+		}
+	}
+
+	/**
+	 * Records the game that has just ended with Flight Recorder, if it was
+	 * started by {@link #resetGame}.
+	 */
+	private void recordGameOver() {
+		if(gameEvent != null && gameEvent.shouldCommit()) {
+			gameEvent.score = score;
+			gameEvent.level = level;
+			gameEvent.lines = lines;
+			gameEvent.pieces = pieces;
+			gameEvent.commit();
+		}
+		this.gameEvent = null;
+	}
+
+	/**
+	 * Starts timing a pause when the game has just been paused, or records it
+	 * with Flight Recorder when the game has just resumed.
+	 */
+	private void recordPause() {
+		if(isPaused) {
+			this.pauseEvent = new PauseEvent();
+			pauseEvent.begin();
+		} else if(pauseEvent != null) {
+			if(pauseEvent.shouldCommit()) {
+				pauseEvent.score = score;
+				pauseEvent.pieces = pieces;
+				pauseEvent.commit();
+			}
+			this.pauseEvent = null;
+		}
+	}
+
+	/**
+	 * Attempts to set the rotation of the current piece to newRotation.
+	 * @param newRotation The rotation of the new peice.
+	 */
+	private void rotatePiece(int newRotation) {
+		/*
+		 * Sometimes pieces will need to be moved when rotated to avoid clipping
+		 * out of the board (the I piece is a good example of this). Here we store
+		 * a temporary row and column in case we need to move the tile as well.
+		 */
+		int newColumn = currentCol;
+		int newRow = currentRow;
+
+		/*
+		 * Get the insets for each of the sides. These are used to determine how
+		 * many empty rows or columns there are on a given side.
+		 */
+		PieceShape shape = currentType.getShape(newRotation);
+		int left = shape.getLeftInset();
+		int right = shape.getRightInset();
+		int top = shape.getTopInset();
+		int bottom = shape.getBottomInset();
+
+		/*
+		 * If the current piece is too far to the left or right, move the piece away from the edges
+		 * so that the piece doesn't clip out of the map and automatically become invalid.
+		 */
+		if(currentCol <= -left) {
+			newColumn -= currentCol - left;
+		} else if(currentCol + currentType.getDimension() - right >= Board.COL_COUNT) {
+			newColumn -= (currentCol + currentType.getDimension() - right) - Board.COL_COUNT + 1;
+		}
+
+		/*
+		 * If the current piece is too far to the top or bottom, move the piece away from the edges
+		 * so that the piece doesn't clip out of the map and automatically become invalid.
+		 */
+		if(currentRow < -top) {
+			newRow -= currentRow - top;
+		} else if(currentRow + currentType.getDimension() - bottom >= Board.ROW_COUNT) {
+			newRow -= (currentRow + currentType.getDimension() - bottom) - Board.ROW_COUNT + 1;
+		}
+
+		/*
+		 * Check to see if the new position is acceptable. If it is, update the rotation and
+		 * position of the piece.
+		 */
+		if(board.isValidAndEmpty(currentType, newColumn, newRow, newRotation)) {
+			currentRotation = newRotation;
+			currentRow = newRow;
+			currentCol = newColumn;
+			pieceVersion++;
+		}
+	}
+
+	/**
+	 * Gets the board that the game is played on.
+	 * @return The board.
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Checks to see whether or not the game is paused.
+	 * @return Whether or not the game is paused.
+	 */
+	public boolean isPaused() {
+		return isPaused;
+	}
+
+	/**
+	 * Checks to see whether or not the game is over.
+	 * @return Whether or not the game is over.
+	 */
+	public boolean isGameOver() {
+		return isGameOver;
+	}
+
+	/**
+	 * Checks to see whether or not we're on a new game.
+	 * @return Whether or not this is a new game.
+	 */
+	public boolean isNewGame() {
+		return isNewGame;
+	}
+
+	/**
+	 * Gets the current score.
+	 * @return The score.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Gets the current level.
+	 * @return The level.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Gets the number of lines cleared this game.
+	 * @return The number of lines.
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Gets the number of pieces locked onto the board this game.
+	 * @return The number of pieces.
+	 */
+	public int getPieces() {
+		return pieces;
+	}
+
+	/**
+	 * Gets the number of times the current piece has changed. The piece has
+	 * moved, rotated or been replaced whenever this is different.
+	 * @return The piece version.
+	 */
+	public long getPieceVersion() {
+		return pieceVersion;
+	}
+
+	/**
+	 * Gets the number of times the stats shown beside the board have changed.
+	 * This covers the score, level, lines, next piece and the game state.
+	 * @return The stats version.
+	 */
+	public long getStatsVersion() {
+		return statsVersion;
+	}
+
+	/**
+	 * Gets the current type of piece we're using.
+	 * @return The piece type.
+	 */
+	public TileType getPieceType() {
+		return currentType;
+	}
+
+	/**
+	 * Gets the next type of piece we're using.
+	 * @return The next piece.
+	 */
+	public TileType getNextPieceType() {
+		return preview.peek(0);
+	}
+
+	/**
+	 * Gets the queue of upcoming pieces.
+	 * @return The preview queue.
+	 */
+	public PieceQueue getPreview() {
+		return preview;
+	}
+
+	/**
+	 * Gets the column of the current piece.
+	 * @return The column.
+	 */
+	public int getPieceCol() {
+		return currentCol;
+	}
+
+	/**
+	 * Gets the row of the current piece.
+	 * @return The row.
+	 */
+	public int getPieceRow() {
+		return currentRow;
+	}
+
+	/**
+	 * Gets the rotation of the current piece.
+	 * @return The rotation.
+	 */
+	public int getPieceRotation() {
+		return currentRotation;
+	}
+
+}
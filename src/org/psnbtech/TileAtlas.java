@@ -0,0 +1,144 @@
+package org.psnbtech;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The {@code TileAtlas} class is responsible for the pre-rendered images of each
+ * type of tile at a single size. Building a beveled tile takes a handful of fills
+ * and a loop of lines, so each tile and its ghost is drawn once when the atlas is
+ * created, and drawing a tile after that is a single {@code drawImage} call.
+ */
+public class TileAtlas {
+
+	/**
+	 * The size of a tile in pixels.
+	 */
+	private final int tileSize;
+
+	/**
+	 * The image of each type of tile, indexed by ordinal.
+	 */
+	private final Image[] tiles;
+
+	/**
+	 * The image of each type of ghost tile, indexed by ordinal.
+	 */
+	private final Image[] ghosts;
+
+	/**
+	 * Creates a new TileAtlas and draws every tile.
+	 * @param palette The palette to draw the tiles with.
+	 * @param tileSize The size of a tile in pixels.
+	 * @param shadeWidth The width of the shading on a tile in pixels.
+	 */
+	public TileAtlas(TilePalette palette, int tileSize, int shadeWidth) {
+		TileType[] types = TileType.values();
+		this.tileSize = tileSize;
+		this.tiles = new Image[types.length];
+		this.ghosts = new Image[types.length];
+		for(TileType type : types) {
+			tiles[type.ordinal()] = createTile(palette.getBaseColor(type), palette.getLightColor(type),
+					palette.getDarkColor(type), tileSize, shadeWidth);
+			ghosts[type.ordinal()] = createTile(palette.getGhostBaseColor(type), palette.getGhostLightColor(type),
+					palette.getGhostDarkColor(type), tileSize, shadeWidth);
+		}
+	}
+
+	/**
+	 * Gets the size of the tiles in this atlas.
+	 * @return The size of a tile in pixels.
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Gets the image of a type of tile.
+	 * @param type The type of tile.
+	 * @return The image.
+	 */
+	public Image getTile(TileType type) {
+		return tiles[type.ordinal()];
+	}
+
+	/**
+	 * Gets the image of a type of ghost tile.
+	 * @param type The type of tile.
+	 * @return The image.
+	 */
+	public Image getGhost(TileType type) {
+		return ghosts[type.ordinal()];
+	}
+
+	/**
+	 * Draws a tile into a new image. Where there is a screen, the image is
+	 * compatible with it so that Java2D can keep a copy in video memory.
+	 * @param base The base color of tile.
+	 * @param light The light color of the tile.
+	 * @param dark The dark color of the tile.
+	 * @param size The size of the tile.
+	 * @param shade The width of the shading on the tile.
+	 * @return The image.
+	 */
+	private static Image createTile(Color base, Color light, Color dark, int size, int shade) {
+		BufferedImage image;
+		if(GraphicsEnvironment.isHeadless()) {
+			image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		} else {
+			image = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+					.getDefaultConfiguration().createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+		}
+
+		Graphics2D g = image.createGraphics();
+		g.setComposite(AlphaComposite.SrcOver);
+		drawTile(base, light, dark, 0, 0, size, shade, g);
+		g.dispose();
+		return image;
+	}
+
+	/**
+	 * Draws a beveled tile.
+	 * @param base The base color of tile.
+	 * @param light The light color of the tile.
+	 * @param dark The dark color of the tile.
+	 * @param x The x coordinate of the tile.
+	 * @param y The y coordinate of the tile.
+	 * @param size The size of the tile.
+	 * @param shade The width of the shading on the tile.
+	 * @param g The graphics object.
+	 */
+	private static void drawTile(Color base, Color light, Color dark, int x, int y, int size, int shade, Graphics g) {
+		
+		/*
+		 * Fill the entire tile with the base color.
+		 */
+		g.setColor(base);
+		g.fillRect(x, y, size, size);
+		
+		/*
+		 * Fill the bottom and right edges of the tile with the dark shading color.
+		 */
+		g.setColor(dark);
+		g.fillRect(x, y + size - shade, size, shade);
+		g.fillRect(x + size - shade, y, shade, size);
+		
+		/*
+		 * Fill the top and left edges with the light shading. We draw a single line
+		 * for each row or column rather than a rectangle so that we can draw a nice
+		 * looking diagonal where the light and dark shading meet.
+		 */
+		g.setColor(light);
+		for(int i = 0; i < shade; i++) {
+			g.drawLine(x, y + i, x + size - i - 1, y + i);
+			g.drawLine(x + i, y, x + i, y + size - i - 1);
+		}
+	}
+
+}
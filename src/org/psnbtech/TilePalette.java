@@ -0,0 +1,144 @@
+package org.psnbtech;
+
+import java.awt.Color;
+
+/**
+ * The {@code TilePalette} class is responsible for the colors that each type of
+ * tile is drawn in. Keeping the colors out of {@code TileType} means that only
+ * the rendering code ever loads AWT, and that palettes can be swapped without
+ * touching the geometry of the pieces.
+ */
+public class TilePalette {
+
+	/**
+	 * The default palette, with a distinct color for each type of tile.
+	 */
+	public static final TilePalette DEFAULT = new TilePalette(
+		new Color(BoardPanel.COLOR_MIN, BoardPanel.COLOR_MAX, BoardPanel.COLOR_MAX),	//TypeI
+		new Color(BoardPanel.COLOR_MIN, BoardPanel.COLOR_MIN, BoardPanel.COLOR_MAX),	//TypeJ
+		new Color(BoardPanel.COLOR_MAX, 127, BoardPanel.COLOR_MIN),						//TypeL
+		new Color(BoardPanel.COLOR_MAX, BoardPanel.COLOR_MAX, BoardPanel.COLOR_MIN),	//TypeO
+		new Color(BoardPanel.COLOR_MIN, BoardPanel.COLOR_MAX, BoardPanel.COLOR_MIN),	//TypeS
+		new Color(128, BoardPanel.COLOR_MIN, 128),										//TypeT
+		new Color(BoardPanel.COLOR_MAX, BoardPanel.COLOR_MIN, BoardPanel.COLOR_MIN)		//TypeZ
+	);
+
+	/**
+	 * The alpha of the ghost piece's colors.
+	 */
+	public static final int GHOST_ALPHA = 20;
+
+	/**
+	 * The base color of each type of tile, indexed by ordinal.
+	 */
+	private final Color[] baseColors;
+
+	/**
+	 * The light shading color of each type of tile, indexed by ordinal.
+	 */
+	private final Color[] lightColors;
+
+	/**
+	 * The dark shading color of each type of tile, indexed by ordinal.
+	 */
+	private final Color[] darkColors;
+
+	/**
+	 * The base color of each type of ghost tile, indexed by ordinal.
+	 */
+	private final Color[] ghostBaseColors;
+
+	/**
+	 * The light shading color of each type of ghost tile, indexed by ordinal.
+	 */
+	private final Color[] ghostLightColors;
+
+	/**
+	 * The dark shading color of each type of ghost tile, indexed by ordinal.
+	 */
+	private final Color[] ghostDarkColors;
+
+	/**
+	 * Creates a new TilePalette. The light and dark shading colors, and the
+	 * translucent colors of the ghost piece, are derived from the base colors.
+	 * @param baseColors The base color of each type of tile, in the order the
+	 * types are declared in {@code TileType}.
+	 * @throws IllegalArgumentException If there isn't one color per type of tile.
+	 */
+	public TilePalette(Color... baseColors) {
+		if(baseColors.length != TileType.values().length) {
+			throw new IllegalArgumentException("Expected " + TileType.values().length + " colors, got " + baseColors.length);
+		}
+
+		this.baseColors = baseColors.clone();
+		this.lightColors = new Color[baseColors.length];
+		this.darkColors = new Color[baseColors.length];
+		this.ghostBaseColors = new Color[baseColors.length];
+		this.ghostLightColors = new Color[baseColors.length];
+		this.ghostDarkColors = new Color[baseColors.length];
+		for(int i = 0; i < baseColors.length; i++) {
+			lightColors[i] = baseColors[i].brighter();
+			darkColors[i] = baseColors[i].darker();
+
+			Color base = baseColors[i];
+			ghostBaseColors[i] = new Color(base.getRed(), base.getGreen(), base.getBlue(), GHOST_ALPHA);
+			ghostLightColors[i] = ghostBaseColors[i].brighter();
+			ghostDarkColors[i] = ghostBaseColors[i].darker();
+		}
+	}
+
+	/**
+	 * Gets the base color of a type.
+	 * @param type The type of tile.
+	 * @return The base color.
+	 */
+	public Color getBaseColor(TileType type) {
+		return baseColors[type.ordinal()];
+	}
+
+	/**
+	 * Gets the light shading color of a type.
+	 * @param type The type of tile.
+	 * @return The light color.
+	 */
+	public Color getLightColor(TileType type) {
+		return lightColors[type.ordinal()];
+	}
+
+	/**
+	 * Gets the dark shading color of a type.
+	 * @param type The type of tile.
+	 * @return The dark color.
+	 */
+	public Color getDarkColor(TileType type) {
+		return darkColors[type.ordinal()];
+	}
+
+	/**
+	 * Gets the base color of a type's ghost.
+	 * @param type The type of tile.
+	 * @return The translucent base color.
+	 */
+	public Color getGhostBaseColor(TileType type) {
+		return ghostBaseColors[type.ordinal()];
+	}
+
+	/**
+	 * Gets the light shading color of a type's ghost.
+	 * @param type The type of tile.
+	 * @return The translucent light color.
+	 */
+	public Color getGhostLightColor(TileType type) {
+		return ghostLightColors[type.ordinal()];
+	}
+
+	/**
+	 * Gets the dark shading color of a type's ghost.
+	 * @param type The type of tile.
+	 * @return The translucent dark color.
+	 */
+	public Color getGhostDarkColor(TileType type) {
+		return ghostDarkColors[type.ordinal()];
+	}
+
+}
@@ -1,9 +1,9 @@
 package org.psnbtech;
 
-import java.awt.Color;
-
 /**
  * The {@code PieceType} enum describes the properties of the various pieces that can be used in the game.
+ * Only the geometry of the pieces is described here, the colors they are drawn in are supplied by a
+ * {@link TilePalette} so that the game logic never needs to load AWT.
  * @author Brendan Jones
  *
  */
@@ -12,7 +12,7 @@ public enum TileType {
 	/**
 	 * Piece TypeI.
 	 */
-	TypeI(new Color(BoardPanel.COLOR_MIN, BoardPanel.COLOR_MAX, BoardPanel.COLOR_MAX), 4, 4, 1, new boolean[][] {
+	TypeI(4, 4, 1, new boolean[][] {
 		{
 			false,	false,	false,	false,
 			true,	true,	true,	true,
@@ -42,7 +42,7 @@ public enum TileType {
 	/**
 	 * Piece TypeJ.
 	 */
-	TypeJ(new Color(BoardPanel.COLOR_MIN, BoardPanel.COLOR_MIN, BoardPanel.COLOR_MAX), 3, 3, 2, new boolean[][] {
+	TypeJ(3, 3, 2, new boolean[][] {
 		{
 			true,	false,	false,
 			true,	true,	true,
@@ -68,7 +68,7 @@ public enum TileType {
 	/**
 	 * Piece TypeL.
 	 */
-	TypeL(new Color(BoardPanel.COLOR_MAX, 127, BoardPanel.COLOR_MIN), 3, 3, 2, new boolean[][] {
+	TypeL(3, 3, 2, new boolean[][] {
 		{
 			false,	false,	true,
 			true,	true,	true,
@@ -94,7 +94,7 @@ public enum TileType {
 	/**
 	 * Piece TypeO.
 	 */
-	TypeO(new Color(BoardPanel.COLOR_MAX, BoardPanel.COLOR_MAX, BoardPanel.COLOR_MIN), 2, 2, 2, new boolean[][] {
+	TypeO(2, 2, 2, new boolean[][] {
 		{
 			true,	true,
 			true,	true,
@@ -116,7 +116,7 @@ public enum TileType {
 	/**
 	 * Piece TypeS.
 	 */
-	TypeS(new Color(BoardPanel.COLOR_MIN, BoardPanel.COLOR_MAX, BoardPanel.COLOR_MIN), 3, 3, 2, new boolean[][] {
+	TypeS(3, 3, 2, new boolean[][] {
 		{
 			false,	true,	true,
 			true,	true,	false,
@@ -142,7 +142,7 @@ public enum TileType {
 	/**
 	 * Piece TypeT.
 	 */
-	TypeT(new Color(128, BoardPanel.COLOR_MIN, 128), 3, 3, 2, new boolean[][] {
+	TypeT(3, 3, 2, new boolean[][] {
 		{
 			false,	true,	false,
 			true,	true,	true,
@@ -168,7 +168,7 @@ public enum TileType {
 	/**
 	 * Piece TypeZ.
 	 */
-	TypeZ(new Color(BoardPanel.COLOR_MAX, BoardPanel.COLOR_MIN, BoardPanel.COLOR_MIN), 3, 3, 2, new boolean[][] {
+	TypeZ(3, 3, 2, new boolean[][] {
 		{
 			true,	true,	false,
 			false,	true,	true,
@@ -191,21 +191,6 @@ public enum TileType {
 		}
 	});
 		
-	/**
-	 * The base color of tiles of this type.
-	 */
-	private Color baseColor;
-	
-	/**
-	 * The light shading color of tiles of this type.
-	 */
-	private Color lightColor;
-	
-	/**
-	 * The dark shading color of tiles of this type.
-	 */
-	private Color darkColor;
-	
 	/**
 	 * The column that this type spawns in.
 	 */
@@ -240,51 +225,37 @@ public enum TileType {
 	 */
 	private boolean[][] tiles;
 	
+	/**
+	 * The precompiled geometry of each rotation of this piece.
+	 */
+	private PieceShape[] shapes;
+	
 	/**
 	 * Creates a new TileType.
-	 * @param color The base color of the tile.
 	 * @param dimension The dimensions of the tiles array.
 	 * @param cols The number of columns.
 	 * @param rows The number of rows.
 	 * @param tiles The tiles.
 	 */
-	private TileType(Color color, int dimension, int cols, int rows, boolean[][] tiles) {
-		this.baseColor = color;
-		this.lightColor = color.brighter();
-		this.darkColor = color.darker();
+	private TileType(int dimension, int cols, int rows, boolean[][] tiles) {
 		this.dimension = dimension;
 		this.tiles = tiles;
 		this.cols = cols;
 		this.rows = rows;
 		
+		/*
+		 * Compile the geometry of every rotation up front so that the insets,
+		 * masks and tile offsets never need to be recomputed.
+		 */
+		this.shapes = new PieceShape[tiles.length];
+		for(int rotation = 0; rotation < tiles.length; rotation++) {
+			shapes[rotation] = new PieceShape(tiles[rotation], dimension);
+		}
+		
 		this.spawnCol = 5 - (dimension >> 1);
 		this.spawnRow = getTopInset(0);
 	}
 	
-	/**
-	 * Gets the base color of this type.
-	 * @return The base color.
-	 */
-	public Color getBaseColor() {
-		return baseColor;
-	}
-	
-	/**
-	 * Gets the light shading color of this type.
-	 * @return The light color.
-	 */
-	public Color getLightColor() {
-		return lightColor;
-	}
-	
-	/**
-	 * Gets the dark shading color of this type.
-	 * @return The dark color.
-	 */
-	public Color getDarkColor() {
-		return darkColor;
-	}
-	
 	/**
 	 * Gets the dimension of this type.
 	 * @return The dimension.
@@ -338,6 +309,26 @@ public enum TileType {
 		return tiles[rotation][y * dimension + x];
 	}
 	
+	/**
+	 * Gets the precompiled geometry of this piece in the given rotation.
+	 * @param rotation The rotation.
+	 * @return The shape of the rotation.
+	 */
+	public PieceShape getShape(int rotation) {
+		return shapes[rotation];
+	}
+	
+	/**
+	 * Gets the occupancy bit mask of a row of this piece. Bit {@code n} of the
+	 * mask is set if column {@code n} of the row contains a tile.
+	 * @param rotation The rotation to check in.
+	 * @param y The row of the piece.
+	 * @return The row mask.
+	 */
+	public int getRowMask(int rotation, int y) {
+		return shapes[rotation].getRowMask(y);
+	}
+	
 	/**
 	 * The left inset is represented by the number of empty columns on the left
 	 * side of the array for the given rotation.
@@ -345,18 +336,7 @@ public enum TileType {
 	 * @return The left inset.
 	 */
 	public int getLeftInset(int rotation) {
-		/*
-		 * Loop through from left to right until we find a tile then return
-		 * the column.
-		 */
-		for(int x = 0; x < dimension; x++) {
-			for(int y = 0; y < dimension; y++) {
-				if(isTile(x, y, rotation)) {
-					return x;
-				}
-			}
-		}
-		return -1;
+		return shapes[rotation].getLeftInset();
 	}
 	
 	/**
@@ -366,18 +346,7 @@ public enum TileType {
 	 * @return The right inset.
 	 */
 	public int getRightInset(int rotation) {
-		/*
-		 * Loop through from right to left until we find a tile then return
-		 * the column.
-		 */
-		for(int x = dimension - 1; x >= 0; x--) {
-			for(int y = 0; y < dimension; y++) {
-				if(isTile(x, y, rotation)) {
-					return dimension - x;
-				}
-			}
-		}
-		return -1;
+		return shapes[rotation].getRightInset();
 	}
 	
 	/**
@@ -387,18 +356,7 @@ public enum TileType {
 	 * @return The top inset.
 	 */
 	public int getTopInset(int rotation) {
-		/*
-		 * Loop through from top to bottom until we find a tile then return
-		 * the row.
-		 */
-		for(int y = 0; y < dimension; y++) {
-			for(int x = 0; x < dimension; x++) {
-				if(isTile(x, y, rotation)) {
-					return y;
-				}
-			}
-		}
-		return -1;
+		return shapes[rotation].getTopInset();
 	}
 	
 	/**
@@ -408,18 +366,7 @@ public enum TileType {
 	 * @return The bottom inset.
 	 */
 	public int getBottomInset(int rotation) {
-		/*
-		 * Loop through from bottom to top until we find a tile then return
-		 * the row.
-		 */
-		for(int y = dimension - 1; y >= 0; y--) {
-			for(int x = 0; x < dimension; x++) {
-				if(isTile(x, y, rotation)) {
-					return dimension - y;
-				}
-			}
-		}
-		return -1;
+		return shapes[rotation].getBottomInset();
 	}
 	
 }
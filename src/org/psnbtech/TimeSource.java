@@ -0,0 +1,23 @@
+package org.psnbtech;
+
+/**
+ * The {@code TimeSource} interface supplies the time that a {@code Clock} counts
+ * cycles against. Swapping the source lets the same clock run on the system's
+ * high resolution timer, on a manually advanced virtual timeline, or sped up
+ * and slowed down.
+ */
+public interface TimeSource {
+
+	/**
+	 * The computer's high resolution clock.
+	 */
+	TimeSource SYSTEM = System::nanoTime;
+
+	/**
+	 * Gets the current time. Only the difference between two readings is
+	 * meaningful; the origin is arbitrary.
+	 * @return The current time in nanoseconds.
+	 */
+	long nanoTime();
+
+}
@@ -0,0 +1,74 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class BatchSimulatorTest {
+
+    /**
+     * Tests that every game in the batch is played and counted.
+     */
+    @Test
+    void runPlaysEveryGame() {
+        BatchSimulator simulator = new BatchSimulator(BatchSimulator.getPolicy("random"), 2, 500);
+        BatchResult result = simulator.run(0, 10);
+
+        assertEquals(10, result.getGames());
+        assertTrue(result.getTotalPieces() > 0);
+        assertTrue(result.getElapsedNanos() > 0);
+    }
+
+    /**
+     * Tests that a batch is reproducible from its seeds regardless of the thread count.
+     */
+    @Test
+    void runIsDeterministicAcrossThreadCounts() {
+        BatchResult single = new BatchSimulator(BatchSimulator.getPolicy("bot"), 1, 200).run(42, 8);
+        BatchResult parallel = new BatchSimulator(BatchSimulator.getPolicy("bot"), 4, 200).run(42, 8);
+
+        assertEquals(single.getTotalScore(), parallel.getTotalScore());
+        assertEquals(single.getTotalLines(), parallel.getTotalLines());
+        assertEquals(single.getTotalPieces(), parallel.getTotalPieces());
+    }
+
+    /**
+     * Tests that the bot clears lines, which the random policy practically never does.
+     */
+    @Test
+    void botClearsLines() {
+        BatchResult result = new BatchSimulator(BatchSimulator.getPolicy("bot"), 2, 200).run(0, 4);
+        assertTrue(result.getTotalLines() > 0);
+    }
+
+    /**
+     * Tests that the scripted policy places pieces across the whole board,
+     * rather than piling them against one wall, and so clears lines.
+     */
+    @Test
+    void scriptedClearsLines() {
+        BatchResult result = new BatchSimulator(BatchSimulator.getPolicy("scripted"), 2, 1000).run(0, 100);
+        assertTrue(result.getTotalLines() > 0);
+    }
+
+    /**
+     * Tests that a game stops once it reaches the piece limit.
+     */
+    @Test
+    void gameStopsAtPieceLimit() {
+        BatchSimulator simulator = new BatchSimulator(BatchSimulator.getPolicy("bot"), 1, 5);
+        BatchResult result = new BatchResult();
+        simulator.playGame(7, result);
+
+        assertEquals(1, result.getGames());
+        assertTrue(result.getTotalPieces() <= 5);
+    }
+
+    /**
+     * Tests that an unknown policy name is rejected.
+     */
+    @Test
+    void unknownPolicyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BatchSimulator.getPolicy("human"));
+    }
+}
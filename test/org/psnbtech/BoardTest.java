@@ -0,0 +1,329 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BoardTest {
+
+    private Board board;
+
+    // We use the 2×2 'O' piece because its insets are all zero
+    private static final TileType O = TileType.TypeO;
+
+    @BeforeEach
+    void init() {
+        board = new Board();
+    }
+
+    /**
+     * Tests isValidAndEmpty on somewhere inside the boundaries. Asserts true if valid and empty.
+     */
+    @Test
+    void emptyBoardAcceptsPiece() {
+        assertTrue(board.isValidAndEmpty(O, 4, 0, 0));
+    }
+
+    /**
+     * Tests isValidAndEmpty on somewhere outside the boundary in x-dir. Should always assert False since it's not valid.
+     */
+    @Test
+    void invalidColumnIsRejected() {
+        assertFalse(board.isValidAndEmpty(O, -1, 0, 0));
+    }
+
+    /**
+     * Tests isValidAndEmpty on somewhere outside the boundary in y-dir. Should always assert False since it's not valid.
+     */
+    @Test
+    void invalidRowIsRejected() {
+        assertFalse(board.isValidAndEmpty(O, 0, -3, 0));
+    }
+
+    /**
+     * Tests existence of added piece. Should assert false since the piece exists at the location provided.
+     */
+    @Test
+    void addPieceOccupiesTiles() {
+        board.addPiece(O, 0, 0, 0);
+        assertFalse(board.isValidAndEmpty(O, 0, 0, 0));
+    }
+
+    /**
+     * Tests empty board after placing a piece. Should always assert true since the board should be cleared.
+     */
+    @Test
+    void clearEmptiesBoard() {
+        board.addPiece(O, 0, 0, 0);
+        board.clear();
+        assertTrue(board.isValidAndEmpty(O, 0, 0, 0));
+    }
+
+    /**
+     * Tests checkLines on an empty board. No rows are full, so no lines should be cleared.
+     */
+    @Test
+    void emptyBoardShouldHaveZeroClearedLines() {
+        int cleared = board.checkLines();
+        assertEquals(0, cleared, "checkLine should not count rows that aren't full");
+    }
+
+    /**
+     * Tests if a row was completely filled in the game. If so, assert True.
+     */
+    @Test
+    void fullLineGetsCleared() {
+        /* fill one visible row completely */
+        for (int col_index = 0; col_index < Board.COL_COUNT; col_index++) {
+            board.setTileForTest(col_index, 2, O);  // helper added in Board
+        }
+        assertTrue(board.checkLines() >= 1, "At least one line should clear");
+    }
+
+    /**
+     * Tests that clearing a line moves the rows above it down. The tile above the cleared
+     * row should now block the cleared row, and its old row should be empty.
+     */
+    @Test
+    void clearedLineShiftsRowsDown() {
+        for (int col_index = 0; col_index < Board.COL_COUNT; col_index++) {
+            board.setTileForTest(col_index, 21, O);
+        }
+        board.setTileForTest(0, 20, O);
+        assertEquals(1, board.checkLines());
+        assertFalse(board.isValidAndEmpty(O, 0, 20, 0));
+        assertTrue(board.isValidAndEmpty(O, 0, 19, 0));
+        assertTrue(board.isValidAndEmpty(O, 1, 20, 0));
+    }
+
+    /**
+     * Tests clearing two lines that are separated by a partial row. The partial row should
+     * drop two rows into the bottom of the board and every row above it should be empty.
+     */
+    @Test
+    void separatedLinesAreClearedTogether() {
+        for (int col_index = 0; col_index < Board.COL_COUNT; col_index++) {
+            board.setTileForTest(col_index, 21, O);
+            board.setTileForTest(col_index, 19, O);
+        }
+        board.setTileForTest(0, 20, O);
+        assertEquals(2, board.checkLines());
+        assertFalse(board.isValidAndEmpty(O, 0, 20, 0));
+        assertTrue(board.isValidAndEmpty(O, 1, 20, 0));
+        assertTrue(board.isValidAndEmpty(O, 0, 19, 0));
+    }
+
+    /**
+     * Tests that clearing a single line near the top of the board, which moves
+     * the rows above it down, leaves every other tile exactly where it should be.
+     */
+    @Test
+    void singleLineNearTopKeepsEveryTile() {
+        TileType[][] expected = new TileType[Board.ROW_COUNT][Board.COL_COUNT];
+        place(expected, 0, 0, TileType.TypeI);
+        place(expected, 1, 1, TileType.TypeT);
+        place(expected, 2, 2, TileType.TypeS);
+        fillRow(expected, 3, TileType.TypeO);
+        place(expected, 4, 4, TileType.TypeZ);
+        place(expected, 9, 21, TileType.TypeJ);
+
+        assertEquals(1, board.checkLines());
+        assertEquals(1, removeFullRows(expected));
+        assertBoardMatches(expected);
+        assertEquals(TileType.TypeI, board.getTile(0, 1));
+        assertEquals(TileType.TypeS, board.getTile(2, 3));
+        assertEquals(TileType.TypeZ, board.getTile(4, 4));
+        assertEquals(0, board.getRowMask(0));
+    }
+
+    /**
+     * Tests clearing two lines near the top that are separated by a partial row.
+     * The rows between and above them should move down by one and two rows, and
+     * the rows below them should not move.
+     */
+    @Test
+    void separatedLinesNearTopKeepEveryTile() {
+        TileType[][] expected = new TileType[Board.ROW_COUNT][Board.COL_COUNT];
+        place(expected, 0, 0, TileType.TypeI);
+        place(expected, 5, 1, TileType.TypeT);
+        fillRow(expected, 2, TileType.TypeO);
+        place(expected, 3, 3, TileType.TypeS);
+        place(expected, 7, 3, TileType.TypeZ);
+        fillRow(expected, 4, TileType.TypeO);
+        place(expected, 6, 5, TileType.TypeL);
+        place(expected, 9, 21, TileType.TypeJ);
+
+        assertEquals(2, board.checkLines());
+        assertEquals(2, removeFullRows(expected));
+        assertBoardMatches(expected);
+        assertEquals(TileType.TypeI, board.getTile(0, 2));
+        assertEquals(TileType.TypeT, board.getTile(5, 3));
+        assertEquals(TileType.TypeS, board.getTile(3, 4));
+        assertEquals(TileType.TypeL, board.getTile(6, 5));
+        assertEquals(0, board.getRowMask(0));
+        assertEquals(0, board.getRowMask(1));
+    }
+
+    /**
+     * Tests many clears in a row in the lower half of the board, which move the
+     * rows below the line up and move the head of the row buffer back, until the
+     * head has wrapped around more than once. The rows below the line should
+     * never change, and the rows above it should move down one at a time.
+     */
+    @Test
+    void repeatedClearsWrapRowBuffer() {
+        TileType[][] expected = new TileType[Board.ROW_COUNT][Board.COL_COUNT];
+        TileType[] types = TileType.values();
+        for (int y = 16; y < Board.ROW_COUNT; y++) {
+            place(expected, y % Board.COL_COUNT, y, types[y % types.length]);
+        }
+
+        for (int i = 0; i < Board.ROW_COUNT * 2 + 3; i++) {
+            place(expected, i % Board.COL_COUNT, 5, types[i % types.length]);
+            fillRow(expected, 15, types[(i + 1) % types.length]);
+
+            assertEquals(1, board.checkLines(), "clear " + i);
+            assertEquals(1, removeFullRows(expected));
+            assertBoardMatches(expected);
+        }
+        for (int y = 16; y < Board.ROW_COUNT; y++) {
+            assertEquals(types[y % types.length], board.getTile(y % Board.COL_COUNT, y), "row " + y);
+        }
+    }
+
+    /**
+     * Tests that lines completed by a locked piece are cleared. The bottom row is filled except
+     * for the two columns that the O piece then drops into.
+     */
+    @Test
+    void lineCompletedByPieceGetsCleared() {
+        for (int col_index = 2; col_index < Board.COL_COUNT; col_index++) {
+            board.setTileForTest(col_index, 21, O);
+        }
+        assertEquals(0, board.checkLines());
+        board.addPiece(O, 0, 20, 0);
+        assertEquals(1, board.checkLines());
+        assertFalse(board.isValidAndEmpty(O, 0, 20, 0));
+        assertTrue(board.isValidAndEmpty(O, 2, 20, 0));
+    }
+
+    /**
+     * Tests that a row with a single gap is not cleared.
+     */
+    @Test
+    void partialLineIsNotCleared() {
+        for (int col_index = 1; col_index < Board.COL_COUNT; col_index++) {
+            board.setTileForTest(col_index, 21, O);
+        }
+        assertEquals(0, board.checkLines());
+        assertFalse(board.isValidAndEmpty(O, 1, 20, 0));
+    }
+
+    /**
+     * Tests collision for a piece whose box hangs off the left edge of the board. The I piece
+     * in rotation 1 has two empty columns on its left, so column -2 is still a valid position.
+     */
+    @Test
+    void pieceWithInsetCollidesAtLeftEdge() {
+        TileType i = TileType.TypeI;
+        assertTrue(board.isValidAndEmpty(i, -2, 10, 1));
+        board.setTileForTest(0, 13, O);
+        assertFalse(board.isValidAndEmpty(i, -2, 10, 1));
+        assertTrue(board.isValidAndEmpty(i, -1, 10, 1));
+    }
+
+    /**
+     * Tests that the version only changes when tiles are added or removed.
+     */
+    @Test
+    void versionChangesOnlyWhenTilesChange() {
+        long version = board.getVersion();
+        board.isValidAndEmpty(O, 0, 20, 0);
+        board.checkLines();
+        assertEquals(version, board.getVersion());
+
+        board.addPiece(O, 0, 20, 0);
+        assertNotEquals(version, board.getVersion());
+
+        version = board.getVersion();
+        board.clear();
+        assertNotEquals(version, board.getVersion());
+    }
+
+    /**
+     * Tests that a copied board has the same tiles, keeps clearing lines the same
+     * way, and is independent of the board it was copied from.
+     */
+    @Test
+    void copyFromMatchesOriginal() {
+        for (int x = 0; x < Board.COL_COUNT - 2; x++) {
+            board.setTileForTest(x, Board.ROW_COUNT - 1, O);
+        }
+        board.checkLines();
+        board.addPiece(O, 0, 10, 0);
+
+        Board copy = new Board();
+        copy.copyFrom(board);
+        for (int y = 0; y < Board.ROW_COUNT; y++) {
+            assertEquals(board.getRowMask(y), copy.getRowMask(y), "row " + y);
+            for (int x = 0; x < Board.COL_COUNT; x++) {
+                assertEquals(board.getTile(x, y), copy.getTile(x, y));
+            }
+        }
+
+        copy.addPiece(O, Board.COL_COUNT - 2, Board.ROW_COUNT - 2, 0);
+        assertEquals(1, copy.checkLines());
+        assertEquals(0, board.getRowMask(Board.ROW_COUNT - 2));
+    }
+
+    // === Private Helpers ===
+
+    /** Places a tile on both the board and the expected grid. */
+    private void place(TileType[][] expected, int x, int y, TileType type) {
+        board.setTileForTest(x, y, type);
+        expected[y][x] = type;
+    }
+
+    /** Fills a row on both the board and the expected grid. */
+    private void fillRow(TileType[][] expected, int y, TileType type) {
+        for (int x = 0; x < Board.COL_COUNT; x++) {
+            place(expected, x, y, type);
+        }
+    }
+
+    /**
+     * Clears the full rows of the expected grid the simple way, by moving every
+     * row above each one down, so that the board can be compared against it.
+     */
+    private static int removeFullRows(TileType[][] expected) {
+        int cleared = 0;
+        for (int y = Board.ROW_COUNT - 1; y >= 0; y--) {
+            boolean isFull = true;
+            for (TileType tile : expected[y]) {
+                isFull &= (tile != null);
+            }
+            if (isFull) {
+                System.arraycopy(expected, 0, expected, 1, y);
+                expected[0] = new TileType[Board.COL_COUNT];
+                cleared++;
+                y++;
+            }
+        }
+        return cleared;
+    }
+
+    /** Asserts that every tile and row mask of the board matches the expected grid. */
+    private void assertBoardMatches(TileType[][] expected) {
+        for (int y = 0; y < Board.ROW_COUNT; y++) {
+            int mask = 0;
+            for (int x = 0; x < Board.COL_COUNT; x++) {
+                assertEquals(expected[y][x], board.getTile(x, y), "tile " + x + ", " + y);
+                if (expected[y][x] != null) {
+                    mask |= 1 << x;
+                }
+            }
+            assertEquals(mask, board.getRowMask(y), "row " + y);
+        }
+    }
+}
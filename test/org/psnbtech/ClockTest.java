@@ -9,9 +9,10 @@ class ClockTest {
      * has at least once cycle, and assert false after it was consumed.
      */
     @Test
-    void testSingleCycle() throws InterruptedException {
-        Clock c = new Clock(100);        // 10 ms per cycle
-        Thread.sleep(15);
+    void testSingleCycle() {
+        ManualTimeSource time = new ManualTimeSource();
+        Clock c = new Clock(100, time);  // 10 ms per cycle
+        time.advanceMillis(15);
         c.update();
         assertTrue(c.hasElapsedCycle());
         assertFalse(c.hasElapsedCycle());   // consumed the only cycle
@@ -22,10 +23,11 @@ class ClockTest {
      * existing, and Assert True if the Clock was paused.
      */
     @Test
-    void testPauseStopsCounting() throws InterruptedException {
-        Clock c = new Clock(50);         // 20 ms per cycle
+    void testPauseStopsCounting() {
+        ManualTimeSource time = new ManualTimeSource();
+        Clock c = new Clock(50, time);   // 20 ms per cycle
         c.setPaused(true);
-        Thread.sleep(30);
+        time.advanceMillis(30);
         c.update();
         assertFalse(c.peekElapsedCycle());
         assertTrue(c.isPaused());
@@ -37,29 +39,121 @@ class ClockTest {
      * present after pausing. Then asserts True on cycles present after resuming.
      */
     @Test
-    void testResumeAfterPause() throws InterruptedException {
-        Clock c = new Clock(20);         // 50 ms per cycle
+    void testResumeAfterPause() {
+        ManualTimeSource time = new ManualTimeSource();
+        Clock c = new Clock(20, time);   // 50 ms per cycle
         c.setPaused(true);
-        Thread.sleep(60);
+        time.advanceMillis(60);
         c.update();                      // still paused
         assertFalse(c.peekElapsedCycle());
 
         c.setPaused(false);
-        Thread.sleep(60);
+        time.advanceMillis(60);
         c.update();                      // now running
         assertTrue(c.peekElapsedCycle());  // at least one cycle elapsed
     }
 
     /**
-     * Reveals bug: cyclesPerSecond == 0 leaves millisPerCycle == Infinity
+     * Tests that advancing by simulated time elapses cycles without waiting,
+     * carrying the excess over to the next advance.
+     */
+    @Test
+    void testAdvanceCountsSimulatedTime() {
+        Clock c = new Clock(25);         // 40 ms per cycle
+        c.advance(20);
+        assertFalse(c.peekElapsedCycle());
+        c.advance(20);
+        assertTrue(c.hasElapsedCycle());
+        assertFalse(c.hasElapsedCycle());
+
+        c.setPaused(true);
+        c.advance(1000);
+        assertFalse(c.peekElapsedCycle());
+    }
+
+    /**
+     * Tests that a clock whose cycle isn't a whole number of milliseconds
+     * doesn't drift over a long session. 3 cycles per second is 333,333,333 ns
+     * per cycle, so an hour of 20 ms frames elapses exactly 10,800 cycles.
+     */
+    @Test
+    void testNoDriftOverLongSession() {
+        ManualTimeSource time = new ManualTimeSource();
+        Clock c = new Clock(3, time);
+        int cycles = 0;
+        for (int frame = 0; frame < 180_000; frame++) {
+            time.advanceMillis(20);
+            c.update();
+            while (c.hasElapsedCycle()) {
+                cycles++;
+            }
+        }
+        assertEquals(10_800, cycles);
+    }
+
+    /**
+     * Tests that a scaled source runs faster than its source, and that changing
+     * the scale keeps the time that has already passed.
+     */
+    @Test
+    void testScaledTimeSource() {
+        ManualTimeSource time = new ManualTimeSource(1_000L);
+        ScaledTimeSource scaled = new ScaledTimeSource(time, 4.0);
+        long start = scaled.nanoTime();
+
+        time.advance(100);
+        assertEquals(start + 400, scaled.nanoTime());
+
+        scaled.setScale(0.5);
+        time.advance(100);
+        assertEquals(start + 450, scaled.nanoTime());
+    }
+
+    /**
+     * Reveals bug: cyclesPerSecond == 0 gives a cycle that never ends,
      * so the clock never ticks. We expect an exception, but none is thrown.
      */
     @Test
-    void testZeroCyclesPerSecondBug() throws InterruptedException {
-        Clock c = new Clock(0);          // should be invalid
-        Thread.sleep(40);
+    void testZeroCyclesPerSecondBug() {
+        ManualTimeSource time = new ManualTimeSource();
+        Clock c = new Clock(0, time);    // should be invalid
+        time.advanceMillis(40);
         c.update();
         assertFalse(c.peekElapsedCycle(),
                 "Bug: clock created with 0 CPS should not silently ignore cycles");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the clock reports when its next cycle will elapse, so that a
+     * caller can sleep until then.
+     */
+    @Test
+    void testNextCycleTime() {
+        ManualTimeSource time = new ManualTimeSource(1_000L);
+        Clock c = new Clock(100, time);  // 10 ms per cycle
+        assertEquals(10_000_000L, c.getNanosUntilNextCycle());
+        assertEquals(1_000L + 10_000_000L, c.getNextCycleTime());
+
+        time.advanceMillis(4);
+        c.update();
+        assertEquals(6_000_000L, c.getNanosUntilNextCycle());
+        assertEquals(1_000L + 10_000_000L, c.getNextCycleTime());
+
+        time.advanceMillis(6);
+        c.update();
+        assertEquals(0L, c.getNanosUntilNextCycle());
+    }
+
+    /**
+     * Tests that a paused clock, or one that never cycles, has no next cycle.
+     */
+    @Test
+    void testNoNextCycleWhenPaused() {
+        Clock c = new Clock(100, new ManualTimeSource());
+        c.setPaused(true);
+        assertEquals(Long.MAX_VALUE, c.getNanosUntilNextCycle());
+        assertEquals(Long.MAX_VALUE, c.getNextCycleTime());
+
+        assertEquals(Long.MAX_VALUE, new Clock(0, new ManualTimeSource()).getNextCycleTime());
+    }
+}
@@ -0,0 +1,73 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+class FlightRecorderEventsTest {
+
+    /**
+     * Tests that a game played while recording produces an event for every
+     * piece spawned, locked and checked for lines, one for the pause and one
+     * for the end of the game, carrying the engine's own counts.
+     */
+    @Test
+    void gameIsRecorded() throws Exception {
+        Path file = Files.createTempFile("tetris", ".jfr");
+        TetrisEngine engine = new TetrisEngine(7L, new ManualTimeSource());
+        try (Recording recording = new Recording()) {
+            recording.enable(PieceSpawnEvent.class);
+            recording.enable(PieceLockEvent.class);
+            recording.enable(LineClearEvent.class);
+            recording.enable(GameOverEvent.class);
+            recording.enable(PauseEvent.class);
+            recording.start();
+
+            BotPolicy bot = new BotPolicy();
+            engine.stepVirtual(Input.START);
+            engine.stepVirtual(Input.PAUSE);
+            engine.stepVirtual(Input.PAUSE);
+            while (!engine.isGameOver()) {
+                engine.stepVirtual(bot.nextInput(engine));
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(engine.getPieces() + 1, count(events, "org.psnbtech.PieceSpawn"));
+        assertEquals(engine.getPieces(), count(events, "org.psnbtech.PieceLock"));
+        assertEquals(engine.getPieces(), count(events, "org.psnbtech.LineClear"));
+        assertEquals(1, count(events, "org.psnbtech.Pause"));
+
+        int cleared = 0;
+        RecordedEvent gameOver = null;
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals("org.psnbtech.LineClear")) {
+                cleared += event.getInt("cleared");
+            } else if (event.getEventType().getName().equals("org.psnbtech.GameOver")) {
+                assertNull(gameOver, "Only one game was played");
+                gameOver = event;
+            }
+        }
+        assertEquals(engine.getLines(), cleared);
+        assertNotNull(gameOver);
+        assertEquals(engine.getScore(), gameOver.getInt("score"));
+        assertEquals(engine.getPieces(), gameOver.getInt("pieces"));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+}
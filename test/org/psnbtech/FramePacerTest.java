@@ -0,0 +1,59 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class FramePacerTest {
+
+    /** 500 frames per second, so each frame is 2ms apart. */
+    private static final int FPS = 500;
+    private static final long PERIOD = 2000000L;
+
+    /** Each read of the clock moves it forward by this much. */
+    private static final long STEP = 100000L;
+
+    /**
+     * Tests that every wait ends on its deadline, and that the deadlines stay a
+     * fixed period apart instead of drifting with the time the waits end.
+     */
+    @Test
+    void testWaitsUntilEachDeadline() {
+        ManualTimeSource time = new ManualTimeSource();
+        TimeSource ticking = () -> {
+            time.advance(STEP);
+            return time.nanoTime();
+        };
+        FramePacer pacer = new FramePacer(FPS, ticking);
+        long start = time.nanoTime();
+
+        for (int frame = 1; frame <= 5; frame++) {
+            long woke = pacer.awaitNextFrame();
+            long due = start + frame * PERIOD;
+            assertTrue(woke >= due, "frame " + frame + " woke early");
+            assertTrue(woke < due + STEP, "frame " + frame + " woke late");
+            assertEquals(due + PERIOD, pacer.getDeadline());
+        }
+    }
+
+    /**
+     * Tests that a caller that has fallen behind isn't made to wait, and that the
+     * frames it missed are skipped.
+     */
+    @Test
+    void testSkipsMissedFrames() {
+        ManualTimeSource time = new ManualTimeSource();
+        FramePacer pacer = new FramePacer(FPS, time);
+
+        time.advance(PERIOD * 5);
+        long woke = pacer.awaitNextFrame();
+
+        assertEquals(time.nanoTime(), woke);
+        assertEquals(woke + PERIOD, pacer.getDeadline());
+    }
+
+    @Test
+    void testRejectsNonPositiveFrameRate() {
+        assertThrows(IllegalArgumentException.class, () -> new FramePacer(0));
+    }
+}
@@ -0,0 +1,71 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class FrameStatsTest {
+
+    /**
+     * Tests that an input's latency runs from when it was queued until the end of
+     * the first frame drawn after the snapshot showing it was published.
+     */
+    @Test
+    void inputLatencyEndsWithTheFirstFrameShowingIt() {
+        FrameStats stats = new FrameStats();
+        stats.inputHandled(1000);
+        stats.frameDrawn(1500, 2000);
+        assertEquals(0, stats.getInputLatencies().getCount(), "The snapshot hasn't been published yet");
+
+        stats.snapshotPublished();
+        stats.frameDrawn(3000, 5000);
+        stats.frameDrawn(6000, 7000);
+
+        assertEquals(1, stats.getInputLatencies().getCount());
+        assertEquals(4000, stats.getInputLatencies().getMax());
+        assertEquals(3, stats.getRenderTimes().getCount());
+        assertEquals(2000, stats.getRenderTimes().getMax());
+    }
+
+    /**
+     * Tests that when several inputs are shown by the same frame, the latency is
+     * measured from the oldest of them.
+     */
+    @Test
+    void inputLatencyIsMeasuredFromTheOldestInput() {
+        FrameStats stats = new FrameStats();
+        stats.inputHandled(1000);
+        stats.inputHandled(2000);
+        stats.snapshotPublished();
+        stats.inputHandled(3000);
+        stats.snapshotPublished();
+        stats.frameDrawn(4000, 5000);
+
+        assertEquals(1, stats.getInputLatencies().getCount());
+        assertEquals(4000, stats.getInputLatencies().getMax());
+    }
+
+    /**
+     * Tests that the JMX summaries report what was recorded, and that reset
+     * clears every histogram.
+     */
+    @Test
+    void summariesAndReset() {
+        FrameStats stats = new FrameStats();
+        stats.recordTick(100);
+        stats.recordTick(300);
+        stats.recordSleepOvershoot(50);
+        stats.frameDrawn(0, 200);
+
+        assertEquals(2, stats.getTickTime().getCount());
+        assertEquals(300, stats.getTickTime().getMax());
+        assertEquals(50, stats.getSleepOvershoot().getMax());
+        assertEquals(200, stats.getRenderTime().getMax());
+        assertEquals(0, stats.getInputLatency().getCount());
+
+        stats.reset();
+        assertEquals(0, stats.getTickTime().getCount());
+        assertEquals(0, stats.getRenderTime().getCount());
+        assertEquals(0, stats.getSleepOvershoot().getCount());
+    }
+}
@@ -0,0 +1,90 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HitchRecorderTest {
+
+    /**
+     * Tests that only frames over the budget are kept, with the phase that
+     * took the longest.
+     */
+    @Test
+    void onlySlowFramesAreRecorded() {
+        HitchRecorder recorder = new HitchRecorder(1000, 4);
+        recorder.recordFrame(0, 400, 400, 200, 1000);
+        recorder.recordFrame(2000, 100, 1500, 0, 3600);
+        recorder.recordFrame(4000, 0, 100, 2000, 6100);
+
+        List<Hitch> hitches = recorder.getHitches();
+        assertEquals(2, hitches.size());
+        assertEquals(Hitch.RENDER, hitches.get(0).getSlowestPhase());
+        assertEquals(Hitch.SLEEP, hitches.get(1).getSlowestPhase());
+        assertEquals(2, recorder.dump().length);
+    }
+
+    /**
+     * Tests that once the ring buffer is full, the oldest frames are dropped
+     * but still counted.
+     */
+    @Test
+    void oldestFramesAreDropped() {
+        HitchRecorder recorder = new HitchRecorder(0, 2);
+        for (int i = 1; i <= 5; i++) {
+            recorder.recordFrame(i * 100, i, 0, 0, i * 100 + i);
+        }
+
+        List<Hitch> hitches = recorder.getHitches();
+        assertEquals(5, recorder.getHitchCount());
+        assertEquals(2, hitches.size());
+        assertEquals(400, hitches.get(0).getStartTime());
+        assertEquals(500, hitches.get(1).getStartTime());
+    }
+
+    /**
+     * Tests that a collection is matched to the frames it overlapped, even
+     * when it is reported after the frame was recorded, and only the part of
+     * it within each frame is counted.
+     */
+    @Test
+    void pausesAreMatchedToOverlappingFrames() {
+        HitchRecorder recorder = new HitchRecorder(1000, 4);
+        recorder.recordFrame(0, 0, 1500, 0, 1500);
+        recorder.recordFrame(2000, 1500, 0, 0, 3500);
+        recorder.recordPause(1000, 2500, "G1 Young Generation (G1 Evacuation Pause)");
+
+        List<Hitch> hitches = recorder.getHitches();
+        assertEquals(500, hitches.get(0).getPauseNanos());
+        assertEquals(500, hitches.get(1).getPauseNanos());
+        assertEquals("G1 Young Generation (G1 Evacuation Pause)", hitches.get(1).getPauses());
+        assertTrue(hitches.get(1).toString().contains("in GC"));
+
+        recorder.reset();
+        recorder.recordFrame(4000, 1500, 0, 0, 5500);
+        assertEquals("", recorder.getHitches().get(0).getPauses());
+        assertTrue(recorder.getHitches().get(0).toString().contains("no GC"));
+    }
+
+    /**
+     * Tests that the collections the JVM reports are picked up once the
+     * recorder has started listening.
+     */
+    @Test
+    void collectionsAreReported() throws Exception {
+        HitchRecorder recorder = new HitchRecorder(0, 16);
+        recorder.start();
+        try {
+            long start = System.nanoTime();
+            System.gc();
+            Thread.sleep(200);
+            recorder.recordFrame(start, 1, 0, 0, System.nanoTime());
+        } finally {
+            recorder.stop();
+        }
+
+        assertFalse(recorder.getHitches().get(0).getPauses().isEmpty(), "System.gc() should overlap the frame");
+    }
+}
@@ -0,0 +1,147 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class InputQueueTest {
+
+    /**
+     * Tests that inputs come out in the order they went in, across the wrap-around
+     * point of the ring.
+     */
+    @Test
+    void pollReturnsInputsInOrder() {
+        InputQueue queue = new InputQueue(4);
+        Input[] values = Input.values();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(queue.offer(values[i % values.length]));
+            assertTrue(queue.offer(values[(i + 1) % values.length]));
+            assertEquals(values[i % values.length], queue.poll());
+            assertEquals(values[(i + 1) % values.length], queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    /**
+     * Tests that a full queue drops new inputs instead of blocking.
+     */
+    @Test
+    void offerFailsWhenFull() {
+        InputQueue queue = new InputQueue(2);
+        assertTrue(queue.offer(Input.MOVE_LEFT));
+        assertTrue(queue.offer(Input.MOVE_RIGHT));
+        assertFalse(queue.offer(Input.PAUSE));
+        assertEquals(2, queue.size());
+
+        assertEquals(Input.MOVE_LEFT, queue.poll());
+        assertTrue(queue.offer(Input.PAUSE));
+    }
+
+    /**
+     * Tests that each input polled reports when it was offered, so that the time
+     * it spent in the queue can be counted towards its latency.
+     */
+    @Test
+    void pollReportsWhenEachInputWasOffered() {
+        InputQueue queue = new InputQueue(4);
+        long before = System.nanoTime();
+        queue.offer(Input.MOVE_LEFT);
+        long between = System.nanoTime();
+        queue.offer(Input.MOVE_RIGHT);
+        long after = System.nanoTime();
+
+        queue.poll();
+        long first = queue.getPolledTime();
+        assertTrue(first - before >= 0 && between - first >= 0);
+        queue.poll();
+        long second = queue.getPolledTime();
+        assertTrue(second - between >= 0 && after - second >= 0);
+    }
+
+    /**
+     * Tests that a capacity that isn't a power of two is rejected.
+     */
+    @Test
+    void capacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new InputQueue(3));
+        assertThrows(IllegalArgumentException.class, () -> new InputQueue(0));
+    }
+
+    /**
+     * Tests that every input offered by one thread is polled, in order, by another.
+     */
+    @Test
+    void producerAndConsumerOnSeparateThreads() throws InterruptedException {
+        InputQueue queue = new InputQueue(8);
+        Input[] values = Input.values();
+        int count = 20_000;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(values[i % values.length])) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.setDaemon(true);
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            Input input;
+            while ((input = queue.poll()) == null) {
+                Thread.yield();
+            }
+            assertEquals(values[i % values.length], input);
+        }
+        producer.join();
+        assertNull(queue.poll());
+    }
+
+    /**
+     * Tests that waiting returns straight away if there is already an input, and
+     * gives up once the time runs out if there isn't.
+     */
+    @Test
+    void awaitTimesOutWhenEmpty() {
+        InputQueue queue = new InputQueue(4);
+        assertFalse(queue.await(1_000_000L));
+
+        queue.offer(Input.START);
+        assertTrue(queue.await(Long.MAX_VALUE));
+    }
+
+    /**
+     * Tests that a consumer waiting without a time limit is woken by an input
+     * offered on another thread.
+     */
+    @Test
+    void awaitIsWokenByOffer() throws InterruptedException {
+        InputQueue queue = new InputQueue(4);
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.offer(Input.PAUSE);
+        });
+        producer.setDaemon(true);
+        producer.start();
+
+        assertTrue(queue.await(Long.MAX_VALUE));
+        assertEquals(Input.PAUSE, queue.poll());
+        producer.join();
+    }
+
+    /**
+     * Tests that wake ends a wait without an input, and only ends one wait.
+     */
+    @Test
+    void wakeEndsOneWait() {
+        InputQueue queue = new InputQueue(4);
+        queue.wake();
+        assertFalse(queue.await(Long.MAX_VALUE));
+        assertFalse(queue.await(1_000_000L));
+    }
+}
@@ -0,0 +1,110 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    /** The most that a percentile may be rounded up by, as a fraction of the time. */
+    private static final double PRECISION = 1.0 / 64;
+
+    /**
+     * Tests that small times are counted exactly.
+     */
+    @Test
+    void smallTimesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getValueAtPercentile(50.0));
+        assertEquals(99, histogram.getValueAtPercentile(99.0));
+        assertEquals(100, histogram.getValueAtPercentile(99.9));
+        assertEquals(100, histogram.getMax());
+    }
+
+    /**
+     * Tests that the percentiles of times spread from microseconds to seconds
+     * are never below the true value, and never above it by more than the
+     * precision of the buckets.
+     */
+    @Test
+    void percentilesAreWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int count = 100000;
+        for (int i = 1; i <= count; i++) {
+            histogram.record(i * 12345L);
+        }
+
+        for (double percentile : new double[] {10.0, 50.0, 90.0, 99.0, 99.9, 99.99}) {
+            long expected = (long) Math.ceil(percentile / 100.0 * count) * 12345L;
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected, percentile + ": " + actual + " < " + expected);
+            assertTrue(actual <= expected * (1 + PRECISION), percentile + ": " + actual + " > " + expected);
+        }
+        assertEquals(count * 12345L, histogram.getMax());
+        assertEquals(count * 12345L, histogram.getValueAtPercentile(100.0));
+    }
+
+    /**
+     * Tests that a percentile is never reported as longer than the longest time
+     * recorded, even though it is rounded up to the end of its bucket.
+     */
+    @Test
+    void percentilesNeverExceedMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000001);
+
+        assertEquals(1000001, histogram.getValueAtPercentile(50.0));
+    }
+
+    /**
+     * Tests that times outside of the trackable range are clamped rather than
+     * being lost or throwing.
+     */
+    @Test
+    void outOfRangeTimesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50.0));
+        assertEquals(LatencyHistogram.HIGHEST_TRACKABLE_VALUE, histogram.getMax());
+    }
+
+    /**
+     * Tests that reset forgets everything, and that an empty histogram reports zero.
+     */
+    @Test
+    void resetForgetsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99.0));
+    }
+
+    /**
+     * Tests that the summary matches the histogram it was taken from.
+     */
+    @Test
+    void summaryMatchesHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        LatencySummary summary = histogram.getSummary();
+        assertEquals(1000, summary.getCount());
+        assertEquals(histogram.getValueAtPercentile(50.0), summary.getP50());
+        assertEquals(histogram.getValueAtPercentile(99.0), summary.getP99());
+        assertEquals(histogram.getValueAtPercentile(99.9), summary.getP999());
+        assertEquals(999000, summary.getMax());
+    }
+}
@@ -0,0 +1,88 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+class PieceGeneratorTest {
+
+    /**
+     * Tests that every run of seven pieces from the bag contains each type exactly once.
+     */
+    @Test
+    void bagDealsEachTypeOncePerBag() {
+        BagPieceGenerator generator = new BagPieceGenerator(12345L);
+        for (int bag = 0; bag < 100; bag++) {
+            EnumSet<TileType> seen = EnumSet.noneOf(TileType.class);
+            for (int i = 0; i < TileType.values().length; i++) {
+                assertTrue(seen.add(generator.next()), "Type dealt twice in bag " + bag);
+            }
+        }
+    }
+
+    /**
+     * Tests that the same seed always deals the same pieces.
+     */
+    @Test
+    void sameSeedDealsSameSequence() {
+        assertArrayEquals(deal(new BagPieceGenerator(7L), 50), deal(new BagPieceGenerator(7L), 50));
+        assertArrayEquals(deal(new RandomPieceGenerator(7L), 50), deal(new RandomPieceGenerator(7L), 50));
+    }
+
+    /**
+     * Tests that split generators are reproducible, and differ from their parent.
+     */
+    @Test
+    void splitIsReproducible() {
+        RandomPieceGenerator first = new RandomPieceGenerator(99L);
+        RandomPieceGenerator second = new RandomPieceGenerator(99L);
+
+        TileType[] child = deal(first.split(), 50);
+        assertArrayEquals(child, deal(second.split(), 50));
+        assertFalse(Arrays.equals(child, deal(first, 50)));
+    }
+
+    /**
+     * Tests that the preview queue hands out pieces in the order they were dealt,
+     * and that peeking doesn't take them.
+     */
+    @Test
+    void queuePreviewsPiecesInOrder() {
+        TileType[] expected = deal(new BagPieceGenerator(3L), 20);
+        PieceQueue queue = new PieceQueue(new BagPieceGenerator(3L), 5);
+
+        assertEquals(5, queue.size());
+        for (int i = 0; i < 15; i++) {
+            for (int ahead = 0; ahead < queue.size(); ahead++) {
+                assertEquals(expected[i + ahead], queue.peek(ahead));
+            }
+            assertEquals(expected[i], queue.poll());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.peek(5));
+    }
+
+    /**
+     * Tests that an engine's pieces come from its generator.
+     */
+    @Test
+    void engineSpawnsFromPreview() {
+        TileType[] expected = deal(new BagPieceGenerator(11L), 4);
+        TetrisEngine engine = new TetrisEngine(new BagPieceGenerator(11L), 3, TimeSource.SYSTEM);
+        engine.handleInput(Input.START);
+
+        assertEquals(expected[0], engine.getPieceType());
+        assertEquals(expected[1], engine.getNextPieceType());
+        assertEquals(expected[3], engine.getPreview().peek(2));
+    }
+
+    private static TileType[] deal(PieceGenerator generator, int count) {
+        TileType[] pieces = new TileType[count];
+        for (int i = 0; i < count; i++) {
+            pieces[i] = generator.next();
+        }
+        return pieces;
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.*;
 
@@ -15,6 +16,8 @@ import org.junit.jupiter.api.*;
  *  • TC-1 shows a known bug (disabled for now)
  *  • TC-2 covers the “null next piece” path
  *  • TC-3 covers the normal preview path and executes drawTile()
+ *  • TC-5 covers writing the level and score into their lines
+ *  • TC-6 covers the frame times overlay
  */
 class SidePanelTest {
 
@@ -31,10 +34,12 @@ class SidePanelTest {
     @Disabled("Fails until SidePanel stops querying getNextPieceType() when the game is over")
     @Test
     void paint_shouldNotQueryNextPiece_ifGameIsOver() {
-        Tetris tetris = mock(Tetris.class);
-        when(tetris.isGameOver()).thenReturn(true);
-        when(tetris.getNextPieceType())
+        FrameSnapshot frame = mock(FrameSnapshot.class);
+        when(frame.isGameOver()).thenReturn(true);
+        when(frame.getNextPieceType())
                 .thenThrow(new IllegalStateException("BUG – should not be called"));
+        Tetris tetris = mock(Tetris.class);
+        when(tetris.getSnapshot()).thenReturn(frame);
 
         SidePanel panel = new SidePanel(tetris);
 
@@ -45,9 +50,11 @@ class SidePanelTest {
     /** TC-2 – game running, but next piece is null. */
     @Test
     void paint_handlesNullNextPiece_gracefully() {
+        FrameSnapshot frame = mock(FrameSnapshot.class);
+        when(frame.isGameOver()).thenReturn(false);
+        when(frame.getNextPieceType()).thenReturn(null);
         Tetris tetris = mock(Tetris.class);
-        when(tetris.isGameOver()).thenReturn(false);
-        when(tetris.getNextPieceType()).thenReturn(null);
+        when(tetris.getSnapshot()).thenReturn(frame);
 
         SidePanel panel = new SidePanel(tetris);
 
@@ -68,17 +75,58 @@ class SidePanelTest {
                 .thenAnswer(inv -> inv.<Integer>getArgument(0) == 0
                         && inv.<Integer>getArgument(1) == 0);
 
-        // Colours so drawTile() can call setColor safely.
-        when(mockType.getBaseColor()).thenReturn(Color.BLUE);
-        when(mockType.getDarkColor()).thenReturn(Color.DARK_GRAY);
-        when(mockType.getLightColor()).thenReturn(Color.CYAN);
+        // Colours are looked up in the panel's palette by the type's ordinal, so
+        // drawTile() can call setColor safely without any stubbing.
 
+        FrameSnapshot frame = mock(FrameSnapshot.class);
+        when(frame.isGameOver()).thenReturn(false);
+        when(frame.getNextPieceType()).thenReturn(mockType);
         Tetris tetris = mock(Tetris.class);
-        when(tetris.isGameOver()).thenReturn(false);
-        when(tetris.getNextPieceType()).thenReturn(mockType);
+        when(tetris.getSnapshot()).thenReturn(frame);
 
         SidePanel panel = new SidePanel(tetris);
 
         assertDoesNotThrow(() -> panel.paintComponent(g));
     }
+
+    /** TC-4 – active rendering hands the snapshot over instead of the panel acquiring one. */
+    @Test
+    void drawFrame_usesGivenSnapshot() {
+        FrameSnapshot frame = mock(FrameSnapshot.class);
+        when(frame.isNewGame()).thenReturn(true);
+        Tetris tetris = mock(Tetris.class);
+
+        SidePanel panel = new SidePanel(tetris);
+        panel.drawFrame(g, frame);
+
+        verify(frame).getScore();
+        verify(tetris, never()).getSnapshot();
+    }
+
+    /** TC-5 – the level and score are written in place, exactly as Integer.toString would. */
+    @Test
+    void writeNumber_matchesToString() {
+        char[] text = "Score: ".toCharArray();
+        text = Arrays.copyOf(text, text.length + 11);
+        for (int value : new int[] {0, 7, 10, 12345, 999999, -42, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            int length = SidePanel.writeNumber(text, 7, value);
+            assertEquals("Score: " + value, new String(text, 0, length));
+        }
+    }
+
+    /** TC-6 – the frame times overlay replaces the controls when it is shown. */
+    @Test
+    void drawFrame_drawsOverlayOverControls() {
+        FrameSnapshot frame = mock(FrameSnapshot.class);
+        FrameStats stats = new FrameStats();
+        stats.recordTick(1500000);
+        SidePanel panel = new SidePanel(null);
+        panel.drawFrame(g, frame);
+        int[] controls = canvas.getRGB(0, 280, 200, 120, null, 0, 200);
+
+        panel.setOverlayStats(stats);
+        panel.drawFrame(g, frame);
+
+        assertFalse(Arrays.equals(controls, canvas.getRGB(0, 280, 200, 120, null, 0, 200)));
+    }
 }
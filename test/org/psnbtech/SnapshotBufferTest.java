@@ -0,0 +1,103 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SnapshotBufferTest {
+
+    /**
+     * Tests that the reader sees the latest published snapshot, and keeps seeing
+     * it until something newer is published.
+     */
+    @Test
+    void acquireReturnsLatestPublished() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+
+        buffer.getBackBuffer().captureState(1L, false, false, false, 100, 1, 0, null);
+        buffer.publish();
+        buffer.getBackBuffer().captureState(2L, false, false, false, 200, 1, 0, null);
+        buffer.publish();
+
+        FrameSnapshot latest = buffer.acquire();
+        assertEquals(2L, latest.getFrame());
+        assertEquals(200, latest.getScore());
+        assertSame(latest, buffer.acquire());
+    }
+
+    /**
+     * Tests that the writer is never handed the buffer the reader is drawing.
+     */
+    @Test
+    void writerNeverGetsReadersBuffer() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        for (int i = 0; i < 10; i++) {
+            buffer.publish();
+            FrameSnapshot front = buffer.acquire();
+            assertNotSame(front, buffer.getBackBuffer());
+            buffer.publish();
+            assertNotSame(front, buffer.getBackBuffer());
+        }
+    }
+
+    /**
+     * Tests that the engine's snapshot matches the state of the game.
+     */
+    @Test
+    void engineSnapshotMatchesGame() {
+        TetrisEngine engine = new TetrisEngine(5L);
+        assertTrue(engine.getSnapshot().isNewGame());
+
+        engine.handleInput(Input.START);
+        engine.publishSnapshot();
+        FrameSnapshot frame = engine.getSnapshot();
+
+        assertFalse(frame.isNewGame());
+        assertEquals(engine.getPieceType(), frame.getPieceType());
+        assertEquals(engine.getPieceCol(), frame.getPieceCol());
+        assertEquals(engine.getPieceRow(), frame.getPieceRow());
+        assertEquals(engine.getNextPieceType(), frame.getNextPieceType());
+        assertEquals(engine.getBoard().getDropRow(engine.getPieceType(), engine.getPieceCol(),
+                engine.getPieceRow(), engine.getPieceRotation()), frame.getGhostRow());
+    }
+
+    /**
+     * Tests that a piece that moved is drawn sliding from where it was in the
+     * previous snapshot, over a single frame.
+     */
+    @Test
+    void movedPieceSlidesFromPreviousPosition() {
+        TetrisEngine engine = new TetrisEngine(5L);
+        engine.handleInput(Input.START);
+        engine.publishSnapshot(0L);
+        int col = engine.getPieceCol();
+
+        engine.handleInput(Input.MOVE_LEFT);
+        engine.publishSnapshot(1000L);
+        FrameSnapshot frame = engine.getSnapshot();
+
+        assertEquals(col - 1, frame.getPieceCol());
+        assertEquals(col, frame.getPreviousCol());
+        assertEquals(0.0f, frame.getInterpolation(1000L));
+        assertEquals(0.5f, frame.getInterpolation(1000L + TetrisEngine.FRAME_NANOS / 2));
+        assertEquals(1.0f, frame.getInterpolation(1000L + TetrisEngine.FRAME_NANOS * 2));
+    }
+
+    /**
+     * Tests that a new piece doesn't slide from where the last one locked.
+     */
+    @Test
+    void newPieceDoesNotSlide() {
+        TetrisEngine engine = new TetrisEngine(5L);
+        engine.handleInput(Input.START);
+        engine.publishSnapshot(0L);
+
+        engine.handleInput(Input.HARD_DROP);
+        engine.publishSnapshot(1000L);
+        FrameSnapshot frame = engine.getSnapshot();
+
+        assertEquals(1, engine.getPieces());
+        assertEquals(frame.getPieceCol(), frame.getPreviousCol());
+        assertEquals(frame.getPieceRow(), frame.getPreviousRow());
+    }
+}
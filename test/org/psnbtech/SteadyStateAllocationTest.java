@@ -0,0 +1,153 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that once the game has warmed up, a frame of the game loop (handling
+ * an input, ticking the engine, publishing a snapshot and drawing both panels)
+ * allocates nothing at all, so the garbage collector never has to run mid-game.
+ * <p>
+ * The frames are played in a fresh JVM. Other tests mock classes such as Board
+ * and Clock, and Mockito's inline mock maker instruments those classes for the
+ * rest of the run, which would add allocations that the real game never makes.
+ */
+class SteadyStateAllocationTest {
+
+    /**
+     * Frames played before measuring, so that classes are loaded and the JIT has compiled the loop.
+     * The frame itself only becomes hot enough for C2 after about 15000 frames, and the Java2D
+     * methods it calls can take thousands more; until then they run as C1 code, which allocates.
+     */
+    private static final int WARMUP_FRAMES = 40000;
+
+    /** Frames that are measured in each window; a minute of play at 50 frames a second. */
+    private static final int MEASURED_FRAMES = 3000;
+
+    /**
+     * Windows that may be measured. When the JIT deoptimizes a method, objects it
+     * had optimized away are created for real, once; a later window is measured
+     * when that happens. Anything that allocates every frame fails every window.
+     */
+    private static final int MEASURED_WINDOWS = 3;
+
+    /**
+     * Tests that thousands of frames of a bot playing the game, with pieces
+     * moving, rotating, locking and clearing lines, allocate zero bytes. The
+     * bot's own decisions aren't counted, since they aren't part of the game.
+     */
+    @Test
+    void steadyStateFramesAllocateNothing() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = locationOf(TetrisEngine.class) + File.pathSeparator + locationOf(GameLoop.class);
+        Process process = new ProcessBuilder(java, "-Djava.awt.headless=true", "-cp", classPath, GameLoop.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.waitFor(), output);
+
+        String[] results = output.split(" ");
+        assumeTrue(!results[0].equals("unsupported"), "This JVM can't count allocated bytes");
+        assertEquals(4, results.length, output);
+        assertEquals("false", results[3], "The measured frames should all be in play");
+        assertTrue(Integer.parseInt(results[1]) > 0, "Pieces should have locked while measuring");
+        assertTrue(Integer.parseInt(results[2]) > 0, "Lines should have been cleared while measuring");
+        assertEquals(0, Long.parseLong(results[0]), "Bytes allocated over " + MEASURED_FRAMES + " frames");
+    }
+
+    private static String locationOf(Class<?> type) throws URISyntaxException {
+        return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    /**
+     * Plays the game with a bot and prints the bytes allocated over the first
+     * measured window that allocated nothing (or the last one, if none did),
+     * then the pieces locked and lines cleared in it, then whether the game ended.
+     */
+    static class GameLoop {
+
+        private final TetrisEngine engine = new TetrisEngine(7L, new ManualTimeSource());
+        private final BotPolicy bot = new BotPolicy();
+        private final BoardPanel boardPanel = new BoardPanel(null);
+        private final SidePanel sidePanel = new SidePanel(null);
+        private final Graphics2D boardGraphics = new BufferedImage(BoardPanel.PANEL_WIDTH,
+                BoardPanel.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+        private final Graphics2D sideGraphics = new BufferedImage(SidePanel.PANEL_WIDTH,
+                BoardPanel.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+        private long frame;
+
+        public static void main(String[] args) {
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+                System.out.println("unsupported");
+                return;
+            }
+            new GameLoop().play(threads);
+        }
+
+        private void play(com.sun.management.ThreadMXBean threads) {
+            //The warm up plays through several games, title and game over screens included.
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                runFrame(engine.isNewGame() || engine.isGameOver() ? Input.START : bot.nextInput(engine));
+            }
+
+            String results = null;
+            for (int window = 0; window < MEASURED_WINDOWS; window++) {
+                if (engine.isGameOver()) {
+                    runFrame(Input.START);
+                }
+                results = measure(threads);
+                if (results.startsWith("0 ")) {
+                    break;
+                }
+            }
+            System.out.println(results);
+        }
+
+        /**
+         * Measures a window of frames.
+         * @param threads The bean that counts the bytes the thread allocates.
+         * @return The bytes allocated, pieces locked, lines cleared and whether the game ended.
+         */
+        private String measure(com.sun.management.ThreadMXBean threads) {
+            int firstPiece = engine.getPieces();
+            int firstLines = engine.getLines();
+            long allocated = 0;
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                Input input = bot.nextInput(engine);
+                long before = threads.getCurrentThreadAllocatedBytes();
+                runFrame(input);
+                allocated += threads.getCurrentThreadAllocatedBytes() - before;
+            }
+
+            return allocated + " " + (engine.getPieces() - firstPiece) + " "
+                    + (engine.getLines() - firstLines) + " " + engine.isGameOver();
+        }
+
+        /**
+         * Runs a single frame of the loop, the way the game loop and the renderer
+         * do between them.
+         * @param input The input for this frame, or null if there is none.
+         */
+        private void runFrame(Input input) {
+            engine.stepVirtual(input);
+            engine.publishSnapshot(frame++ * TetrisEngine.FRAME_NANOS);
+            FrameSnapshot snapshot = engine.getSnapshot();
+            boardPanel.drawFrame(boardGraphics, snapshot);
+            sidePanel.drawFrame(sideGraphics, snapshot);
+        }
+
+    }
+
+}
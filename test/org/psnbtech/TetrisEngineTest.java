@@ -0,0 +1,689 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+@ExtendWith(MockitoExtension.class)
+public class TetrisEngineTest {
+
+    private TetrisEngine engine;
+
+    @Mock
+    private Board board;
+
+    @Mock
+    private Clock logicTimer;
+
+
+    private Method updateGameMethod;
+    private Method rotatePieceMethod; // For calling rotatePiece
+    private Method resetGameMethod;   // For calling resetGame
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new TetrisEngine();
+
+        // Inject mocks into private fields
+        setPrivateField(engine, "board", board);
+        setPrivateField(engine, "logicTimer", logicTimer);
+
+
+        // Initialize other necessary fields
+        setPrivateField(engine, "currentType", TileType.TypeI);
+        setPrivateField(engine, "currentCol", 5);
+        setPrivateField(engine, "currentRow", 10);
+        setPrivateField(engine, "currentRotation", 0);
+        setPrivateField(engine, "gameSpeed", 1.0f);
+        setPrivateField(engine, "dropCooldown", 0);
+        setPrivateField(engine, "level", 1);
+        setPrivateField(engine, "score", 0);
+        setPrivateField(engine, "preview", queueOf(TileType.TypeO));
+        setPrivateField(engine, "isPaused", false);
+        setPrivateField(engine, "isGameOver", false);
+        setPrivateField(engine, "isNewGame", false); // Assume game is ongoing unless specified
+
+        // Access private methods needed for testing
+        updateGameMethod = TetrisEngine.class.getDeclaredMethod("updateGame");
+        updateGameMethod.setAccessible(true);
+
+        rotatePieceMethod = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePieceMethod.setAccessible(true);
+
+        resetGameMethod = TetrisEngine.class.getDeclaredMethod("resetGame");
+        resetGameMethod.setAccessible(true);
+    }
+
+    /*----------updateGame() Tests--------------*/
+    @Test
+    void testPieceMovingDown() throws Exception {
+        // Test Path 1 for PPC (refer to cfg): [1, 2, 6]
+        when(board.isValidAndEmpty(any(TileType.class), anyInt(), anyInt(), anyInt())).thenReturn(true);
+
+        int initialRow = (int) getPrivateField(engine, "currentRow");
+
+        updateGameMethod.invoke(engine);
+
+        int newRow = (int) getPrivateField(engine, "currentRow");
+        assertEquals(initialRow + 1, newRow);
+
+        verify(board, never()).addPiece(any(TileType.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testPieceLandingWithLineClearance() throws Exception {
+        // Test Path 2 for PPC (refer to cfg): [1, 3, 4, 5, 6]
+        when(board.isValidAndEmpty(any(TileType.class), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        when(board.checkLines()).thenReturn(1);
+
+        int initialScore = (int) getPrivateField(engine, "score");
+        float initialSpeed = (float) getPrivateField(engine, "gameSpeed");
+
+        updateGameMethod.invoke(engine);
+
+        verify(board).addPiece(any(TileType.class), anyInt(), anyInt(), anyInt());
+        verify(board).checkLines();
+
+        int newScore = (int) getPrivateField(engine, "score");
+        assertEquals(initialScore + 100, newScore);
+
+        float newSpeed = (float) getPrivateField(engine, "gameSpeed");
+        assertTrue(newSpeed > initialSpeed);
+
+        verify(logicTimer).setCyclesPerSecond(anyFloat());
+        verify(logicTimer).reset();
+
+        int cooldown = (int) getPrivateField(engine, "dropCooldown");
+        assertEquals(25, cooldown);
+
+        int level = (int) getPrivateField(engine, "level");
+        assertEquals((int) (newSpeed * 1.70f), level);
+    }
+
+    @Test
+    void testPieceLandingWithoutLineClearance() throws Exception {
+        // Test Path 3 for PPC (refer to cfg): [1, 3, 5, 6]
+        when(board.isValidAndEmpty(any(TileType.class), anyInt(), anyInt(), anyInt())).thenReturn(false);
+        when(board.checkLines()).thenReturn(0);
+
+        int initialScore = (int) getPrivateField(engine, "score");
+        float initialSpeed = (float) getPrivateField(engine, "gameSpeed");
+
+        updateGameMethod.invoke(engine);
+
+        verify(board).addPiece(any(TileType.class), anyInt(), anyInt(), anyInt());
+        verify(board).checkLines();
+
+        int newScore = (int) getPrivateField(engine, "score");
+        assertEquals(initialScore, newScore);
+
+        float newSpeed = (float) getPrivateField(engine, "gameSpeed");
+        assertTrue(newSpeed > initialSpeed);
+
+        verify(logicTimer).setCyclesPerSecond(anyFloat());
+        verify(logicTimer).reset();
+
+        int cooldown = (int) getPrivateField(engine, "dropCooldown");
+        assertEquals(25, cooldown);
+
+        int level = (int) getPrivateField(engine, "level");
+        assertEquals((int) (newSpeed * 1.70f), level);
+    }
+    /*-----------------------------------------------*/
+
+    /*---------- rotatePiece() Tests--------------*/
+    @Test
+    void testRotatePieceValidPosition() throws Exception {
+        /**
+         * Tests normal rotation where the new position is already valid.
+         * This exercises the simplest path through rotatePiece where no shifting is needed.
+         * Important for basic functionality and ensures that piece updates happen when possible.
+         */
+        when(board.isValidAndEmpty(any(TileType.class), eq(5), eq(10), eq(1))).thenReturn(true);
+
+        setPrivateField(engine,"currentRotation", 0);
+        setPrivateField(engine,"currentCol", 5);
+        setPrivateField(engine,"currentRow", 10);
+        setPrivateField(engine,"currentType", TileType.TypeI);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        assertEquals(1, getPrivateField(engine, "currentRotation"));
+        assertEquals(5, getPrivateField(engine, "currentCol"));
+        assertEquals(10, getPrivateField(engine, "currentRow"));
+    }
+
+    @Test
+    void testRotatePieceLeftShift() throws Exception {
+        /**
+         * Tests left wall kick logic where the piece is partially outside the left boundary.
+         * After correcting the source code to <=, adjustment moves the piece to column 2.
+         */
+        TileType type = TileType.TypeI;
+
+        // Only stub the real call that happens
+        when(board.isValidAndEmpty(eq(type), eq(2), eq(10), eq(1))).thenReturn(true);
+
+        setPrivateField(engine,"currentRotation", 0);
+        setPrivateField(engine,"currentCol", -2);
+        setPrivateField(engine,"currentRow", 10);
+        setPrivateField(engine,"currentType", type);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        assertEquals(1, getPrivateField(engine, "currentRotation"));
+        assertEquals(2, getPrivateField(engine, "currentCol")); // Adjusted to column 2
+    }
+
+
+    @Test
+    void testRotatePieceRightShift() throws Exception {
+        /**
+         * Tests right wall kick logic where the piece would extend past the right board edge.
+         * This activates the right inset shift logic.
+         * Important to validate wall kick functionality near right edge.
+         */
+        TileType type = TileType.TypeI;
+        int startCol = Board.COL_COUNT - 1;
+        int expectedCol = Board.COL_COUNT - type.getDimension() + type.getRightInset(1) - 1;
+
+        when(board.isValidAndEmpty(eq(type), eq(expectedCol), eq(10), eq(1))).thenReturn(true);
+
+        setPrivateField(engine,"currentRotation", 0);
+        setPrivateField(engine,"currentCol", startCol);
+        setPrivateField(engine,"currentRow", 10);
+        setPrivateField(engine,"currentType", type);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        assertEquals(1, getPrivateField(engine, "currentRotation"));
+        assertEquals(expectedCol, getPrivateField(engine, "currentCol"));
+    }
+
+    @Test
+    void testRotatePieceInvalidAfterAdjustment() throws Exception {
+        /**
+         * Tests the case where rotation results in an invalid position even after adjustments.
+         * The piece should not rotate in this case.
+         * Important for ensuring game stability and rule adherence.
+         */
+        TileType type = TileType.TypeI;
+        when(board.isValidAndEmpty(any(TileType.class), anyInt(), anyInt(), anyInt())).thenReturn(false);
+
+        setPrivateField(engine,"currentRotation", 0);
+        setPrivateField(engine,"currentCol", 5);
+        setPrivateField(engine,"currentRow", 10);
+        setPrivateField(engine,"currentType", type);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        assertEquals(0, getPrivateField(engine, "currentRotation")); // Rotation should remain unchanged
+        assertEquals(5, getPrivateField(engine, "currentCol"));
+        assertEquals(10, getPrivateField(engine, "currentRow"));
+    }
+
+    @Test
+    void testRotatePieceTopShift() throws Exception {
+        /**
+         * Tests vertical adjustment logic when the piece would extend past the top board edge.
+         * This activates the top inset shift logic.
+         * Important to validate wall kick functionality near top edge.
+         */
+        TileType type = TileType.TypeI;
+        int topInset = type.getTopInset(1);
+        int startRow = -4; // Place the piece beyond the top border
+        int expectedRow = -topInset; // Should adjust to this position
+
+        // Only stub the call that will be made after adjustment
+        when(board.isValidAndEmpty(eq(type), eq(5), eq(expectedRow), eq(1))).thenReturn(true);
+
+        setPrivateField(engine, "currentRotation", 0);
+        setPrivateField(engine, "currentCol", 5);
+        setPrivateField(engine, "currentRow", startRow);
+        setPrivateField(engine, "currentType", type);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        // Verify that position was adjusted properly
+        assertEquals(1, getPrivateField(engine, "currentRotation"));
+        assertEquals(5, getPrivateField(engine, "currentCol")); // Column unchanged
+        assertEquals(expectedRow, getPrivateField(engine, "currentRow")); // Row shifted down
+
+        // Verify the board was checked with the adjusted position
+        verify(board).isValidAndEmpty(eq(type), eq(5), eq(expectedRow), eq(1));
+    }
+
+    @Test
+    void testRotatePieceBottomShift() throws Exception {
+        /**
+         * Tests vertical adjustment logic when the piece would extend past the bottom board edge.
+         * This activates the bottom inset shift logic.
+         * Important to validate wall kick functionality near bottom edge.
+         */
+        TileType type = TileType.TypeI;
+        int dimension = type.getDimension();
+        int bottomInset = type.getBottomInset(1);
+
+        // Calculate a starting row that puts the piece beyond the bottom boundary after rotation
+        int startRow = Board.ROW_COUNT - dimension + bottomInset + 2;
+        int expectedRow = Board.ROW_COUNT - dimension + bottomInset - 1;
+
+        // Only stub the call that will be made after adjustment
+        when(board.isValidAndEmpty(eq(type), eq(5), eq(expectedRow), eq(1))).thenReturn(true);
+
+        setPrivateField(engine, "currentRotation", 0);
+        setPrivateField(engine, "currentCol", 5);
+        setPrivateField(engine, "currentRow", startRow);
+        setPrivateField(engine, "currentType", type);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        // Verify that position was adjusted properly
+        assertEquals(1, getPrivateField(engine, "currentRotation"));
+        assertEquals(5, getPrivateField(engine, "currentCol")); // Column unchanged
+        assertEquals(expectedRow, getPrivateField(engine, "currentRow")); // Row shifted up
+
+        // Verify the board was checked with the adjusted position
+        verify(board).isValidAndEmpty(eq(type), eq(5), eq(expectedRow), eq(1));
+    }
+
+    @Test
+    void testRotatePieceTopAndLeftShift() throws Exception {
+        /**
+         * Tests combined vertical and horizontal adjustment logic.
+         * This tests when the piece needs adjustment in both X and Y coordinates.
+         * Important to validate that both adjustments happen correctly together.
+         */
+        TileType type = TileType.TypeI;
+
+        // Place the piece beyond both left and top edges
+        int startCol = -2;
+        int startRow = -3;
+
+        // Instead of trying to pre-calculate exact adjustment values,
+        // we'll use lenient stubbing to allow any valid position
+        when(board.isValidAndEmpty(any(TileType.class), anyInt(), anyInt(), anyInt())).thenReturn(true);
+
+        setPrivateField(engine, "currentRotation", 0);
+        setPrivateField(engine, "currentCol", startCol);
+        setPrivateField(engine, "currentRow", startRow);
+        setPrivateField(engine, "currentType", type);
+
+        Method rotatePiece = TetrisEngine.class.getDeclaredMethod("rotatePiece", int.class);
+        rotatePiece.setAccessible(true);
+        rotatePiece.invoke(engine, 1);
+
+        // After rotation, verify positions changed from starting values
+        int newCol = (int) getPrivateField(engine, "currentCol");
+        int newRow = (int) getPrivateField(engine, "currentRow");
+        assertEquals(1, getPrivateField(engine, "currentRotation"));
+
+        // The piece should have moved to valid coordinates
+        assertTrue(newCol > startCol, "Column should have been adjusted rightward");
+        assertTrue(newRow > startRow, "Row should have been adjusted downward");
+
+        // Capture the actual arguments passed to isValidAndEmpty
+        ArgumentCaptor<Integer> colCaptor = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> rowCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(board).isValidAndEmpty(eq(type), colCaptor.capture(), rowCaptor.capture(), eq(1));
+
+        // Assert that the captured values match the new position
+        assertEquals(newCol, colCaptor.getValue().intValue());
+        assertEquals(newRow, rowCaptor.getValue().intValue());
+    }
+    /*-----------------------------------------------*/
+
+    /*---------- spawnPiece() Tests--------------*/
+    @Test
+    void testSpawnPieceValidPosition() throws Exception {
+        /**
+         * Tests spawnPiece() when the new piece spawns in a valid position.
+         * Covers the branch where the board allows the spawn, so the game continues normally.
+         */
+        TileType type = TileType.TypeO;
+
+        setPrivateField(engine, "preview", queueOf(type));
+        when(board.isValidAndEmpty(eq(type), eq(type.getSpawnColumn()), eq(type.getSpawnRow()), eq(0)))
+                .thenReturn(true);
+
+        Method spawnPiece = TetrisEngine.class.getDeclaredMethod("spawnPiece");
+        spawnPiece.setAccessible(true);
+        spawnPiece.invoke(engine);
+
+        // Confirm piece was spawned correctly
+        assertEquals(type, getPrivateField(engine, "currentType"));
+        assertEquals(0, getPrivateField(engine, "currentRotation"));
+        assertEquals(type.getSpawnColumn(), getPrivateField(engine, "currentCol"));
+        assertEquals(type.getSpawnRow(), getPrivateField(engine, "currentRow"));
+
+        // Game should not be over
+        assertFalse((boolean) getPrivateField(engine, "isGameOver"));
+        verify(logicTimer, never()).setPaused(true);
+    }
+
+    @Test
+    void testSpawnPieceInvalidPosition() throws Exception {
+        /**
+         * Tests spawnPiece() when the new piece cannot be placed on the board.
+         * Covers the branch where isValidAndEmpty is false, triggering a game over and pausing the game.
+         */
+        TileType type = TileType.TypeT;
+
+        setPrivateField(engine, "preview", queueOf(type));
+        when(board.isValidAndEmpty(eq(type), eq(type.getSpawnColumn()), eq(type.getSpawnRow()), eq(0)))
+                .thenReturn(false);
+
+        Method spawnPiece = TetrisEngine.class.getDeclaredMethod("spawnPiece");
+        spawnPiece.setAccessible(true);
+        spawnPiece.invoke(engine);
+
+        // Game should now be over
+        assertTrue((boolean) getPrivateField(engine, "isGameOver"));
+        verify(logicTimer).setPaused(true);
+    }
+
+    @Test
+    void testResetGameWithValidSpawn() throws Exception {
+        /**
+         * Ensures resetGame sets the correct fields and spawns a piece when valid.
+         * Covers the full reset path including a successful spawn.
+         */
+        TileType next = TileType.TypeL;
+
+        setPrivateField(engine, "preview", queueOf(next));
+        when(board.isValidAndEmpty(eq(next), eq(next.getSpawnColumn()), eq(next.getSpawnRow()), eq(0)))
+                .thenReturn(true);
+
+        Method resetGame = TetrisEngine.class.getDeclaredMethod("resetGame");
+        resetGame.setAccessible(true);
+        resetGame.invoke(engine);
+
+        assertEquals(1, getPrivateField(engine, "level"));
+        assertEquals(0, getPrivateField(engine, "score"));
+        assertEquals(1.0f, getPrivateField(engine, "gameSpeed"));
+        assertFalse((boolean) getPrivateField(engine, "isNewGame"));
+        assertFalse((boolean) getPrivateField(engine, "isGameOver"));
+        assertEquals(next, getPrivateField(engine, "currentType"));
+        assertEquals(next, engine.getNextPieceType());
+
+        verify(board).clear();
+        verify(logicTimer).reset();
+        verify(logicTimer).setCyclesPerSecond(1.0f);
+    }
+
+    @Test
+    void testResetGameWithInvalidSpawn() throws Exception {
+        /**
+         * Tests resetGame where the spawned piece is invalid.
+         * This ensures isGameOver is set and logicTimer is paused.
+         */
+        TileType next = TileType.TypeT;
+
+        setPrivateField(engine, "preview", queueOf(next));
+
+        when(board.isValidAndEmpty(eq(next), eq(next.getSpawnColumn()), eq(next.getSpawnRow()), eq(0)))
+                .thenReturn(false); // Trigger game over
+
+        Method resetGame = TetrisEngine.class.getDeclaredMethod("resetGame");
+        resetGame.setAccessible(true);
+        resetGame.invoke(engine);
+
+        assertTrue((boolean) getPrivateField(engine, "isGameOver"));
+        verify(logicTimer).setPaused(true); // Game over branch is hit
+    }
+    /*-----------------------------------------------*/
+
+    /*---------- step() Tests--------------*/
+    @Test
+    void testStepHandlesInputThenUpdates() throws Exception {
+        // A new game is started by the input, and the frame is then advanced
+        setPrivateField(engine, "isNewGame", true);
+        when(board.isValidAndEmpty(any(), anyInt(), anyInt(), anyInt())).thenReturn(true);
+
+        engine.step(Input.START);
+
+        assertFalse(engine.isNewGame());
+        verify(board).clear();
+        verify(logicTimer).update();
+    }
+
+    @Test
+    void testStepWithoutInputDecrementsCooldown() throws Exception {
+        setPrivateField(engine, "dropCooldown", 3);
+
+        engine.step(null);
+
+        assertEquals(2, getPrivateField(engine, "dropCooldown"));
+        verify(logicTimer).update();
+    }
+
+    @Test
+    void testPieceInputsIgnoredBeforeFirstGame() {
+        // There is no piece until the game starts, so moving it must not throw
+        TetrisEngine fresh = new TetrisEngine(1L);
+        for (Input input : Input.values()) {
+            if (input != Input.START) {
+                assertDoesNotThrow(() -> fresh.step(input));
+            }
+        }
+        assertTrue(fresh.isNewGame());
+    }
+
+    /*----------Version Tests--------------*/
+    @Test
+    void testPieceVersionCountsMoves() {
+        when(board.isValidAndEmpty(any(TileType.class), anyInt(), anyInt(), anyInt())).thenReturn(true);
+        long pieceVersion = engine.getPieceVersion();
+        long statsVersion = engine.getStatsVersion();
+
+        engine.handleInput(Input.MOVE_LEFT);
+        engine.handleInput(Input.ROTATE_CLOCKWISE);
+
+        assertEquals(pieceVersion + 2, engine.getPieceVersion());
+        assertEquals(statsVersion, engine.getStatsVersion());
+    }
+
+    @Test
+    void testStatsVersionCountsPauses() {
+        long pieceVersion = engine.getPieceVersion();
+        long statsVersion = engine.getStatsVersion();
+
+        engine.handleInput(Input.PAUSE);
+
+        assertEquals(pieceVersion, engine.getPieceVersion());
+        assertEquals(statsVersion + 1, engine.getStatsVersion());
+    }
+
+    @Test
+    void testFailedMoveKeepsPieceVersion() {
+        long pieceVersion = engine.getPieceVersion();
+
+        engine.handleInput(Input.MOVE_RIGHT);
+
+        assertEquals(pieceVersion, engine.getPieceVersion());
+    }
+
+    @Test
+    void testIdleUntilInputBeforeFirstGame() {
+        TetrisEngine fresh = new TetrisEngine(1L, new ManualTimeSource());
+        assertEquals(Long.MAX_VALUE, fresh.getNanosUntilNextChange());
+
+        fresh.step(Input.START);
+        assertTrue(fresh.getNanosUntilNextChange() < Long.MAX_VALUE);
+    }
+
+    @Test
+    void testNotIdleDuringDropCooldown() throws Exception {
+        setPrivateField(engine, "dropCooldown", 3);
+        assertEquals(0L, engine.getNanosUntilNextChange());
+
+        setPrivateField(engine, "dropCooldown", 0);
+        when(logicTimer.getNanosUntilNextCycle()).thenReturn(500L);
+        assertEquals(500L, engine.getNanosUntilNextChange());
+    }
+
+    /*----------Ghost Row and Hard Drop Tests--------------*/
+    @Test
+    void testGhostRowCachedWhilePieceFalls() throws Exception {
+        when(board.getDropRow(TileType.TypeI, 5, 10, 0)).thenReturn(18);
+
+        assertEquals(18, engine.getGhostRow());
+        setPrivateField(engine, "currentRow", 12);
+        assertEquals(18, engine.getGhostRow());
+
+        verify(board, times(1)).getDropRow(any(TileType.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGhostRowRecomputedWhenPieceMoves() throws Exception {
+        when(board.getDropRow(TileType.TypeI, 5, 10, 0)).thenReturn(18);
+        when(board.getDropRow(TileType.TypeI, 5, 10, 1)).thenReturn(16);
+        assertEquals(18, engine.getGhostRow());
+
+        setPrivateField(engine, "currentRotation", 1);
+        assertEquals(16, engine.getGhostRow());
+    }
+
+    @Test
+    void testGhostRowRecomputedWhenBoardChanges() {
+        when(board.getDropRow(TileType.TypeI, 5, 10, 0)).thenReturn(18, 17);
+        when(board.getVersion()).thenReturn(1L, 2L);
+
+        assertEquals(18, engine.getGhostRow());
+        assertEquals(17, engine.getGhostRow());
+    }
+
+    @Test
+    void testHardDropLocksPieceOnGhostRow() {
+        when(board.getDropRow(TileType.TypeI, 5, 10, 0)).thenReturn(18);
+
+        engine.handleInput(Input.HARD_DROP);
+
+        verify(board).addPiece(TileType.TypeI, 5, 18, 0);
+        assertEquals(1, engine.getPieces());
+    }
+
+    @Test
+    void testHardDropIgnoredDuringCooldown() throws Exception {
+        setPrivateField(engine, "dropCooldown", 5);
+
+        engine.handleInput(Input.HARD_DROP);
+
+        verify(board, never()).addPiece(any(TileType.class), anyInt(), anyInt(), anyInt());
+        assertEquals(10, engine.getPieceRow());
+    }
+
+    @Test
+    void testStepVirtualAdvancesClockByOneFrame() throws Exception {
+        when(logicTimer.hasElapsedCycle()).thenReturn(true);
+        when(board.isValidAndEmpty(any(), anyInt(), anyInt(), anyInt())).thenReturn(true);
+
+        engine.stepVirtual(null);
+
+        // The simulated frame moves the piece down without reading the system time
+        assertEquals(11, getPrivateField(engine, "currentRow"));
+        verify(logicTimer).advance(TetrisEngine.FRAME_TIME);
+        verify(logicTimer, never()).update();
+    }
+
+    @Test
+    void testStepVirtualPlaysWholeGame() {
+        // A real engine with no input must eventually lose, one simulated frame at a time
+        TetrisEngine real = new TetrisEngine(1L);
+        real.stepVirtual(Input.START);
+        int frames = 0;
+        while (!real.isGameOver() && frames < 1_000_000) {
+            real.stepVirtual(null);
+            frames++;
+        }
+
+        assertTrue(real.isGameOver());
+        assertTrue(real.getPieces() > 0);
+    }
+    /*-----------------------------------------------*/
+
+    /*----------Getters Tests--------------*/
+    @Test
+    void testGetterMethods() throws Exception {
+        setPrivateField(engine,"isPaused", true);
+        setPrivateField(engine,"isNewGame", true);
+        setPrivateField(engine,"isGameOver", true);
+        setPrivateField(engine,"score", 150);
+        setPrivateField(engine,"level", 3);
+        setPrivateField(engine,"currentType", TileType.TypeL);
+        setPrivateField(engine,"preview", queueOf(TileType.TypeS));
+        setPrivateField(engine,"currentCol", 4);
+        setPrivateField(engine,"currentRow", 12);
+        setPrivateField(engine,"currentRotation", 2);
+
+        assertTrue(engine.isPaused(), "isPaused should return true");
+        assertTrue(engine.isNewGame(), "isNewGame should return true");
+        assertTrue(engine.isGameOver(), "isGameOver should return true");
+
+        assertEquals(150, engine.getScore(), "Score should match");
+        assertEquals(3, engine.getLevel(), "Level should match");
+
+        assertEquals(TileType.TypeL, engine.getPieceType(), "Piece type should be TypeL");
+        assertEquals(TileType.TypeS, engine.getNextPieceType(), "Next piece should be TypeS");
+
+        assertEquals(4, engine.getPieceCol(), "Piece column should be 4");
+        assertEquals(12, engine.getPieceRow(), "Piece row should be 12");
+        assertEquals(2, engine.getPieceRotation(), "Piece rotation should be 2");
+    }
+    /*-----------------------------------------------*/
+
+    // === Private Helpers ===
+
+    private static PieceQueue queueOf(TileType type) {
+        return new PieceQueue(() -> type, 1);
+    }
+
+    private void setPrivateField(Object target, String fieldName, Object value) throws Exception {
+        Field field = findField(target.getClass(), fieldName);
+        if (field != null) {
+            field.setAccessible(true);
+            field.set(target, value);
+        }
+    }
+
+    private Object getPrivateField(Object target, String fieldName) throws Exception {
+        Field field = findField(target.getClass(), fieldName);
+        if (field != null) {
+            field.setAccessible(true);
+            return field.get(target);
+        }
+        return null;
+    }
+
+    private Field findField(Class<?> clazz, String fieldName) {
+        try {
+            return clazz.getDeclaredField(fieldName);
+        } catch (NoSuchFieldException e) {
+            if (clazz.getSuperclass() != null) {
+                return findField(clazz.getSuperclass(), fieldName);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+class TileAtlasTest {
+
+    /**
+     * Tests that each tile is drawn at the atlas size with the palette's shading:
+     * light on the top-left edge, base in the middle and dark on the bottom-right edge.
+     */
+    @Test
+    void tilesUsePaletteShading() {
+        TileAtlas atlas = new TileAtlas(TilePalette.DEFAULT, 24, 4);
+        for (TileType type : TileType.values()) {
+            BufferedImage tile = (BufferedImage) atlas.getTile(type);
+            assertEquals(24, tile.getWidth());
+            assertEquals(24, tile.getHeight());
+            assertEquals(TilePalette.DEFAULT.getLightColor(type).getRGB(), tile.getRGB(0, 0));
+            assertEquals(TilePalette.DEFAULT.getBaseColor(type).getRGB(), tile.getRGB(12, 12));
+            assertEquals(TilePalette.DEFAULT.getDarkColor(type).getRGB(), tile.getRGB(23, 23));
+        }
+    }
+
+    /**
+     * Tests that the ghost tiles are see-through and the normal tiles are not.
+     */
+    @Test
+    void ghostTilesAreTranslucent() {
+        TileAtlas atlas = new TileAtlas(TilePalette.DEFAULT, 12, 2);
+        for (TileType type : TileType.values()) {
+            int ghostAlpha = ((BufferedImage) atlas.getGhost(type)).getRGB(6, 6) >>> 24;
+            int tileAlpha = ((BufferedImage) atlas.getTile(type)).getRGB(6, 6) >>> 24;
+            assertTrue(ghostAlpha > 0 && ghostAlpha < 255);
+            assertEquals(255, tileAlpha);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.psnbtech;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TileTypeTest {
+
+    /**
+     * Tests that every precompiled row mask matches the tiles reported by isTile.
+     */
+    @Test
+    void rowMasksMatchTiles() {
+        for (TileType type : TileType.values()) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                PieceShape shape = type.getShape(rotation);
+                for (int row = 0; row < type.getDimension(); row++) {
+                    for (int col = 0; col < type.getDimension(); col++) {
+                        boolean inMask = (shape.getRowMask(row) & (1 << col)) != 0;
+                        assertEquals(type.isTile(col, row, rotation), inMask, type + " r" + rotation);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that the cell offsets list each occupied tile exactly once.
+     */
+    @Test
+    void cellOffsetsListEveryTile() {
+        for (TileType type : TileType.values()) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                PieceShape shape = type.getShape(rotation);
+                assertEquals(4, shape.getCellCount(), type + " r" + rotation);
+                for (int cell = 0; cell < shape.getCellCount(); cell++) {
+                    assertTrue(type.isTile(shape.getCellCol(cell), shape.getCellRow(cell), rotation));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the insets, bottom profile and legal ranges of the I piece standing upright
+     * (rotation 1), which occupies column 2 of its 4x4 box.
+     */
+    @Test
+    void verticalIPieceGeometry() {
+        PieceShape shape = TileType.TypeI.getShape(1);
+        assertEquals(2, shape.getLeftInset());
+        assertEquals(2, shape.getRightInset());
+        assertEquals(0, shape.getTopInset());
+        assertEquals(1, shape.getBottomInset());
+
+        assertEquals(-1, shape.getBottom(0));
+        assertEquals(3, shape.getBottom(2));
+
+        assertEquals(-2, shape.getMinCol());
+        assertEquals(BoardPanel.COL_COUNT - 3, shape.getMaxCol());
+        assertEquals(0, shape.getMinRow());
+        assertEquals(BoardPanel.ROW_COUNT - 4, shape.getMaxRow());
+    }
+
+    /**
+     * Tests that TileType's inset getters read from the precompiled shapes.
+     */
+    @Test
+    void insetsComeFromShape() {
+        for (TileType type : TileType.values()) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                PieceShape shape = type.getShape(rotation);
+                assertEquals(shape.getLeftInset(), type.getLeftInset(rotation));
+                assertEquals(shape.getRightInset(), type.getRightInset(rotation));
+                assertEquals(shape.getTopInset(), type.getTopInset(rotation));
+                assertEquals(shape.getBottomInset(), type.getBottomInset(rotation));
+            }
+        }
+    }
+}